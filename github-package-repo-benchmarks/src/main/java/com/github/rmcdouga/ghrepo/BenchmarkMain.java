@@ -0,0 +1,22 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Runs the JMH benchmarks, writing the results as JSON (to target/jmh-result.json) unless another result format or file is specified.
+// Takes the same arguments as org.openjdk.jmh.Main, e.g. -h for help or a regular expression to select benchmarks.
+public class BenchmarkMain {
+	private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+	public static void main(String[] args) throws Exception {
+		List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+		if (!jmhArgs.contains("-rf")) {
+			jmhArgs.addAll(List.of("-rf", "json"));
+		}
+		if (!jmhArgs.contains("-rff")) {
+			jmhArgs.addAll(List.of("-rff", DEFAULT_RESULT_FILE));
+		}
+		org.openjdk.jmh.Main.main(jmhArgs.toArray(String[]::new));
+	}
+}
@@ -0,0 +1,58 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// Sample files used by the benchmarks (the library's test sampleFiles, see pom.xml), plus generated files for sizes that are not worth keeping in the repository.
+final class BenchmarkResources {
+	private BenchmarkResources() {
+	}
+
+	static byte[] read(String name) {
+		try (InputStream is = BenchmarkResources.class.getResourceAsStream("/" + name)) {
+			if (is == null) {
+				throw new IllegalArgumentException("Unable to find resource '%s'.".formatted(name));
+			}
+			return is.readAllBytes();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// maven-metadata.xml for a long lived SNAPSHOT with the given number of snapshot builds, each with a jar, a pom and their checksums.
+	static byte[] largeMetadata(int builds) {
+		StringBuilder xml = new StringBuilder("""
+				<?xml version="1.0" encoding="UTF-8"?>
+				<metadata modelVersion="1.1.0">
+				  <groupId>com.example</groupId>
+				  <artifactId>large-artifact</artifactId>
+				  <version>1.0.0-SNAPSHOT</version>
+				  <versioning>
+				    <snapshot>
+				      <timestamp>20230616.134656</timestamp>
+				      <buildNumber>%d</buildNumber>
+				    </snapshot>
+				    <lastUpdated>20230616134805</lastUpdated>
+				    <snapshotVersions>
+				""".formatted(builds));
+		for (int build = 1; build <= builds; build++) {
+			for (String extension : new String[] { "jar", "jar.sha1", "jar.md5", "pom", "pom.sha1", "pom.md5" }) {
+				xml.append("""
+						      <snapshotVersion>
+						        <extension>%s</extension>
+						        <value>1.0.0-20230616.134656-%d</value>
+						        <updated>20230616134805</updated>
+						      </snapshotVersion>
+						""".formatted(extension, build));
+			}
+		}
+		xml.append("""
+				    </snapshotVersions>
+				  </versioning>
+				</metadata>
+				""");
+		return xml.toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,91 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+// End-to-end copyTo() against a local WireMock server standing in for GitHub Packages.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CopyToBenchmark {
+	private static final String USER_ORG = "org";
+	private static final String REPO = "repo";
+	private static final String GROUP_ID = "com.example";
+	private static final String ARTIFACT_ID = "artifact";
+	private static final String VERSION = "1.0.0";
+	private static final String JAR_PATH = "/org/repo/com/example/artifact/1.0.0/artifact-1.0.0.jar";
+
+	@Param({ "1048576", "33554432" })		// 1 MB, 32 MB
+	public int size;
+
+	@Param({ "JERSEY", "JDK" })
+	public RestClientFactory.Type client;
+
+	private WireMockServer server;
+	private GithubPackages githubPackages;
+	private Path tempDir;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		byte[] jar = new byte[size];
+		new Random(42).nextBytes(jar);
+		server = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+		server.start();
+		server.stubFor(WireMock.get(WireMock.urlEqualTo(JAR_PATH))
+							   .willReturn(WireMock.aResponse().withHeader("ETag", "\"benchmark\"").withBody(jar)));
+		githubPackages = new GithubPackages(RestClientFactory.create(client, server.baseUrl(), "benchmark_token"));
+		tempDir = Files.createTempDirectory("copyToBenchmark");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		server.stop();
+		try (var files = Files.list(tempDir)) {
+			for (Path file : files.toList()) {
+				Files.deleteIfExists(file);
+			}
+		}
+		Files.deleteIfExists(tempDir);
+	}
+
+	// Reports bytes/second alongside copies/second.
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Bytes {
+		public long bytes;
+	}
+
+	@Benchmark
+	public long copyTo(Bytes bytes) throws IOException {
+		long copied = githubPackages.repo(USER_ORG, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(VERSION)
+									.copyTo(tempDir.resolve("artifact.jar"), StandardCopyOption.REPLACE_EXISTING);
+		bytes.bytes += copied;
+		return copied;
+	}
+}
@@ -0,0 +1,60 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MavenMetadataBenchmark {
+	// "large" is a generated file with 1000 snapshot builds (6000 snapshotVersion entries)
+	@Param({ "maven-metadata.xml", "maven-metadata_zip.xml", "large" })
+	public String file;
+
+	private byte[] xml;
+	private String artifactId;
+	private String extension;
+	private MavenMetadata metadata;
+
+	@Setup
+	public void setUp() {
+		switch (file) {
+			case "maven-metadata.xml" -> setUp(BenchmarkResources.read(file), "watched-folder-poster", "jar");
+			case "maven-metadata_zip.xml" -> setUp(BenchmarkResources.read(file), "watched-folder-poster", "zip");
+			case "large" -> setUp(BenchmarkResources.largeMetadata(1000), "large-artifact", "jar");
+			default -> throw new IllegalArgumentException("Unknown metadata file '%s'.".formatted(file));
+		}
+	}
+
+	private void setUp(byte[] xml, String artifactId, String extension) {
+		this.xml = xml;
+		this.artifactId = artifactId;
+		this.extension = extension;
+		this.metadata = MavenMetadata.from(xml, extension);
+	}
+
+	// Parse and resolve, which is what happens for each SNAPSHOT download without a MetadataCache.
+	@Benchmark
+	public String parseAndGetLatestArtifactName() {
+		return MavenMetadata.from(xml, extension).getLatestArtifactName(artifactId);
+	}
+
+	@Benchmark
+	public String getLatestArtifactName() {
+		return metadata.getLatestArtifactName(artifactId);
+	}
+}
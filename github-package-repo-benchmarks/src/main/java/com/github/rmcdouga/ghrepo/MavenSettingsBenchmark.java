@@ -0,0 +1,54 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.rmcdouga.ghrepo.MavenSettings.Credentials;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MavenSettingsBenchmark {
+	private Path settingsFile;
+	private MavenSettings settings;
+
+	@Setup
+	public void setUp() throws IOException {
+		settingsFile = Files.createTempFile("settings", ".xml");
+		Files.write(settingsFile, BenchmarkResources.read("settings_1_2_0.xml"));
+		settings = MavenSettings.from(settingsFile);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(settingsFile);
+	}
+
+	@Benchmark
+	public Credentials credentials() {
+		return settings.credentials("github");
+	}
+
+	// Reading the settings file as well, which is what GithubPackages.create() does.
+	@Benchmark
+	public Credentials fromAndCredentials() throws IOException {
+		return MavenSettings.from(settingsFile).credentials("github");
+	}
+}
@@ -0,0 +1,76 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.net.httpserver.HttpServer;
+
+// Cold start - the time a fresh JVM takes to create a client (construct) and to create one and fetch its first artifact
+// (firstGet), as a short-lived CLI job would.  construct shows what is (and isn't) done before the first request, e.g. whether
+// the Jersey client and its injection container are built eagerly.  Each fork measures a single call, so class loading and static
+// initialization are included.  The server is the JDK's own
+// HttpServer rather than WireMock so that it shares as few classes as possible with the clients being measured.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+	private static final String JAR_PATH = "/org/repo/com/example/artifact/1.0.0/artifact-1.0.0.jar";
+	private static final byte[] JAR = new byte[64 * 1024];
+
+	@Param({ "JERSEY", "JDK" })
+	public RestClientFactory.Type client;
+
+	private HttpServer server;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext(JAR_PATH, exchange->{
+			exchange.sendResponseHeaders(200, JAR.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(JAR);
+			}
+		});
+		server.start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	// Returned so that the construction isn't optimized away.
+	@Benchmark
+	public GithubPackages construct() {
+		return new GithubPackages(RestClientFactory.create(client, "http://localhost:%d".formatted(server.getAddress().getPort()), "benchmark_token"));
+	}
+
+	@Benchmark
+	public long firstGet() throws IOException {
+		String baseUrl = "http://localhost:%d".formatted(server.getAddress().getPort());
+		GithubPackages githubPackages = new GithubPackages(RestClientFactory.create(client, baseUrl, "benchmark_token"));
+		try (InputStream is = githubPackages.repo("org", "repo").group("com.example").artifact("artifact").version("1.0.0").get()) {
+			return is.transferTo(OutputStream.nullOutputStream());
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XmlDocumentBenchmark {
+	private static final String EXTENSIONS_XPATH = "/metadata/versioning/snapshotVersions/snapshotVersion/extension/text()";
+
+	@Param({ "maven-metadata.xml", "maven-metadata_zip.xml" })
+	public String file;
+
+	private byte[] xml;
+	private XmlDocument document;
+
+	@Setup
+	public void setUp() {
+		xml = BenchmarkResources.read(file);
+		document = XmlDocument.create(xml);
+	}
+
+	@Benchmark
+	public XmlDocument create() {
+		return XmlDocument.create(xml);
+	}
+
+	@Benchmark
+	public List<String> getStrings() {
+		return document.getStrings(EXTENSIONS_XPATH);
+	}
+
+	@Benchmark
+	public List<String> createAndGetStrings() {
+		return XmlDocument.create(xml).getStrings(EXTENSIONS_XPATH);
+	}
+}
@@ -0,0 +1,551 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
+
+// On-disk cache of files downloaded from a GitHub Package Repository.
+//
+// Files are stored in a Maven repository style layout underneath the cache root.  Release artifacts are immutable and are
+// served straight from disk, mutable files (SNAPSHOT artifacts and maven-metadata.xml files) are revalidated using conditional
+// requests.  All writes are atomic so that multiple threads, and multiple processes on the same host, can share a cache
+// directory.
+public class ArtifactCache {
+	private static final long DEFAULT_MAX_SIZE = 2L * 1024 * 1024 * 1024;	// 2 GB
+	private static final String METADATA_NAME = "maven-metadata.xml";
+	private static final String HIDDEN_PREFIX = ".";
+	private static final String CACHE_INFO_SUFFIX = ".cacheinfo";
+	private static final String ETAG_KEY = "etag";
+	private static final String LAST_MODIFIED_KEY = "lastModified";
+	private static final int BUFFER_SIZE = 64 * 1024;
+	// Files being streamed into a cache, shared by all the ArtifactCaches in this JVM as several may use the same directory.
+	private static final ConcurrentMap<Path, Download> DOWNLOADS = new ConcurrentHashMap<>();
+	// How many open streams each cached file has in this JVM.  Eviction leaves files that are being read (or downloaded) alone.
+	private static final ConcurrentMap<Path, Integer> READERS = new ConcurrentHashMap<>();
+
+	private final Path root;
+	private final long maxSize;
+
+	private ArtifactCache(Path root, long maxSize) {
+		this.root = root.toAbsolutePath().normalize();
+		this.maxSize = maxSize;
+	}
+
+	public static ArtifactCache at(Path root) {
+		return new ArtifactCache(root, DEFAULT_MAX_SIZE);
+	}
+
+	public static ArtifactCache defaultLocation() {
+		Path homeDir = Path.of(System.getProperty("user.home"));
+		return at(homeDir.resolve(Path.of(".m2", "github-package-cache")));
+	}
+
+	// Maximum number of bytes the cache may hold before least recently used entries are evicted (0 or less means unbounded).
+	public ArtifactCache maxSize(long maxSize) {
+		return new ArtifactCache(root, maxSize);
+	}
+
+	public Path root() {
+		return root;
+	}
+
+	InputStream get(String path, RestClient restClient) throws IOException {
+		return get(path, restClient, GithubPackagesListener.NONE);
+	}
+
+	// Revalidated files that have not changed (304) count as hits.
+	InputStream get(String path, RestClient restClient, GithubPackagesListener listener) throws IOException {
+		Path file = location(path);
+		boolean cached = Files.exists(file);
+		if (cached && !isMutable(file)) {
+			try {
+				InputStream result = serve(file);
+				listener.cacheHit(GithubPackagesListener.Cache.ARTIFACT, path);
+				return result;
+			} catch (NoSuchFileException e) {
+				cached = false;		// Evicted by another thread or process since we checked
+			}
+		}
+		Map<String, String> conditionalHeaders = cached ? conditionalHeaders(file) : Map.of();
+		Response response = restClient.get(path, conditionalHeaders);
+		if (cached && response.status() == 304) {
+			response.body().close();
+			try {
+				InputStream result = serve(file);
+				listener.cacheHit(GithubPackagesListener.Cache.ARTIFACT, path);
+				return result;
+			} catch (NoSuchFileException e) {
+				response = restClient.get(path, Map.of());	// Evicted by another thread or process since we checked
+			}
+		}
+		if (response.status() != 200) {
+			response.body().close();
+			throw new RestClientException(response.status(), "Unable to retrieve '%s', status code %d returned.".formatted(path, response.status()));
+		}
+		listener.cacheMiss(GithubPackagesListener.Cache.ARTIFACT, path);
+		InputStream result = storeAndServe(file, response);
+		evict(file);
+		return result;
+	}
+
+	// How stream() served a file.
+	enum Source {
+		CACHE,		// Already in the cache (including revalidated files that had not changed)
+		UPSTREAM,	// Downloaded for this request
+		IN_FLIGHT,	// Being downloaded for another request, which this one reads along with
+		;
+	}
+
+	// length is -1 if it is not known yet (the file is still downloading and the server did not report its size).
+	record Streamed(InputStream body, long length, Source source) {}
+
+	// Like get(), except that a file that has to be downloaded is returned straight away and read as it is written to the cache,
+	// rather than once it has all arrived.  Requests for a file that is already being downloaded read along with that download
+	// instead of starting another.  The download runs on the executor (which should not be a bounded one, as the caller waits for it),
+	// so it completes (and is cached) even if the caller stops reading.
+	Streamed stream(String path, RestClient restClient, GithubPackagesListener listener, Executor executor) throws IOException {
+		Path file = location(path);
+		Download inFlight = DOWNLOADS.get(file);
+		if (inFlight != null) {
+			listener.cacheHit(GithubPackagesListener.Cache.ARTIFACT, path);
+			return new Streamed(inFlight.reader(), inFlight.length, Source.IN_FLIGHT);
+		}
+		boolean cached = Files.exists(file);
+		if (cached && !isMutable(file)) {
+			try {
+				return fromCache(file, path, listener);
+			} catch (NoSuchFileException e) {
+				cached = false;		// Evicted by another thread or process since we checked
+			}
+		}
+		Map<String, String> conditionalHeaders = cached ? conditionalHeaders(file) : Map.of();
+		Response response = restClient.get(path, conditionalHeaders);
+		if (cached && response.status() == 304) {
+			response.body().close();
+			try {
+				return fromCache(file, path, listener);
+			} catch (NoSuchFileException e) {
+				response = restClient.get(path, Map.of());	// Evicted by another thread or process since we checked
+			}
+		}
+		if (response.status() != 200) {
+			response.body().close();
+			throw new RestClientException(response.status(), "Unable to retrieve '%s', status code %d returned.".formatted(path, response.status()));
+		}
+		Files.createDirectories(file.getParent());
+		Download download = new Download(path, file, Files.createTempFile(file.getParent(), HIDDEN_PREFIX + file.getFileName() + ".", ".tmp"), contentLength(response));
+		Download existing = DOWNLOADS.putIfAbsent(file, download);
+		if (existing != null) {
+			// Another thread started the same download while we were waiting for the server, so use that one instead.
+			response.body().close();
+			Files.deleteIfExists(download.temp);
+			listener.cacheHit(GithubPackagesListener.Cache.ARTIFACT, path);
+			return new Streamed(existing.reader(), existing.length, Source.IN_FLIGHT);
+		}
+		listener.cacheMiss(GithubPackagesListener.Cache.ARTIFACT, path);
+		InputStream reader = download.reader();		// Opened before the download can complete and move the file
+		Response started = response;
+		try {
+			executor.execute(()->download.run(started));
+		} catch (RejectedExecutionException e) {
+			reader.close();
+			started.body().close();
+			download.failed(e);
+			throw new IOException("Unable to start downloading '%s'.".formatted(path), e);
+		}
+		return new Streamed(reader, download.length, Source.UPSTREAM);
+	}
+
+	private Streamed fromCache(Path file, String path, GithubPackagesListener listener) throws IOException {
+		long length = Files.size(file);
+		InputStream result = serve(file);
+		listener.cacheHit(GithubPackagesListener.Cache.ARTIFACT, path);
+		return new Streamed(result, length, Source.CACHE);
+	}
+
+	private static long contentLength(Response response) {
+		try {
+			return response.header("Content-Length").map(String::trim).map(Long::parseLong).orElse(-1L);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	// A file being written to the cache, which any number of readers follow as it grows.
+	private class Download {
+		private final String path;
+		private final Path file;
+		private final Path temp;
+		private final long length;
+		private long written = 0;		// Guarded by this
+		private boolean completed = false;
+		private Throwable failure;
+
+		private Download(String path, Path file, Path temp, long length) {
+			this.path = path;
+			this.file = file;
+			this.temp = temp;
+			this.length = length;
+		}
+
+		private void run(Response response) {
+			try {
+				try (InputStream body = response.body(); FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+					byte[] buffer = new byte[BUFFER_SIZE];
+					int read;
+					while ((read = body.read(buffer)) >= 0) {
+						ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+						while (chunk.hasRemaining()) {
+							out.write(chunk);
+						}
+						progressed(read);
+					}
+				}
+				synchronized (this) {
+					moveIntoPlace(temp, file);		// Readers that already have the temporary file open carry on reading it
+					completed = true;
+					notifyAll();
+				}
+				storeCacheInfo(file, response);
+				DOWNLOADS.remove(file, this);
+				evict(file);
+			} catch (IOException | RuntimeException e) {
+				failed(e);
+			}
+		}
+
+		private synchronized void progressed(int bytes) {
+			written += bytes;
+			notifyAll();
+		}
+
+		private void failed(Throwable t) {
+			synchronized (this) {
+				failure = t;
+				notifyAll();
+			}
+			DOWNLOADS.remove(file, this);
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException e) {
+				// Only a temporary file, the next download of the same file uses a new one.
+			}
+		}
+
+		private synchronized InputStream reader() throws IOException {
+			return new DownloadInputStream(openReader(file, completed ? file : temp));
+		}
+
+		// Waits until there is something past position to read, returns how much has been written or -1 at the end of the file.
+		private synchronized long awaitData(long position) throws IOException {
+			while (written <= position && !completed && failure == null) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while waiting for '%s' to download.".formatted(path));
+				}
+			}
+			if (failure != null) {
+				throw new IOException("Download of '%s' failed.".formatted(path), failure);
+			}
+			return written > position ? written : -1;
+		}
+
+		private class DownloadInputStream extends InputStream {
+			private final FileChannel channel;
+			private long position = 0;
+			private boolean closed = false;
+
+			private DownloadInputStream(FileChannel channel) {
+				this.channel = channel;
+			}
+
+			@Override
+			public int read() throws IOException {
+				byte[] b = new byte[1];
+				return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				Objects.checkFromIndexSize(off, len, b.length);
+				if (len == 0) {
+					return 0;
+				}
+				long available = awaitData(position);
+				if (available < 0) {
+					return -1;
+				}
+				int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, available - position)), position);
+				if (read > 0) {
+					position += read;
+				}
+				return read;
+			}
+
+			@Override
+			public void close() throws IOException {
+				try {
+					channel.close();
+				} finally {
+					if (!closed) {
+						closed = true;
+						closeReader(file);
+					}
+				}
+			}
+		}
+	}
+
+	// The size of a cached file that doesn't need revalidating (i.e. a release file), empty if it isn't in the cache.
+	OptionalLong cachedLength(String path) {
+		Path file = location(path);
+		if (isMutable(file)) {
+			return OptionalLong.empty();
+		}
+		try {
+			return OptionalLong.of(Files.size(file));
+		} catch (IOException e) {
+			return OptionalLong.empty();	// Not cached (or evicted since)
+		}
+	}
+
+	// Discards a cached file, e.g. because it failed verification.
+	void remove(String path) throws IOException {
+		delete(location(path));
+	}
+
+	public long size() throws IOException {
+		return entries().mapToLong(ArtifactCache::sizeOf).sum();
+	}
+
+	public void clear() throws IOException {
+		for (Path entry : entries().toList()) {
+			delete(entry);
+		}
+	}
+
+	// Release artifacts never change once published, anything else needs to be revalidated with the server.  That includes the
+	// checksums of metadata (maven-metadata.xml.sha1 etc.), which change along with it.
+	private static boolean isMutable(Path file) {
+		String name = file.getFileName().toString();
+		return name.startsWith(METADATA_NAME) || name.contains("SNAPSHOT");
+	}
+
+	private Path location(String path) {
+		String relativePath = path.startsWith("/") ? path.substring(1) : path;
+		Path file = root.resolve(relativePath).normalize();
+		if (!file.startsWith(root) || file.equals(root)) {
+			throw new IllegalArgumentException("Path '%s' is not a valid artifact location.".formatted(path));
+		}
+		return file;
+	}
+
+	private static Path cacheInfo(Path file) {
+		return file.resolveSibling(HIDDEN_PREFIX + file.getFileName() + CACHE_INFO_SUFFIX);
+	}
+
+	private static Map<String, String> conditionalHeaders(Path file) {
+		Properties info = new Properties();
+		try (InputStream is = Files.newInputStream(cacheInfo(file))) {
+			info.load(is);
+		} catch (IOException e) {
+			return Map.of();	// No validators available, so do an unconditional request
+		}
+		Map<String, String> headers = new HashMap<>();
+		if (info.containsKey(ETAG_KEY)) {
+			headers.put("If-None-Match", info.getProperty(ETAG_KEY));
+		}
+		if (info.containsKey(LAST_MODIFIED_KEY)) {
+			headers.put("If-Modified-Since", info.getProperty(LAST_MODIFIED_KEY));
+		}
+		return headers;
+	}
+
+	// The stream is opened before the file is moved into place, so that another thread or process evicting it in the meantime
+	// can't fail a download that succeeded.
+	private static InputStream storeAndServe(Path file, Response response) throws IOException {
+		Files.createDirectories(file.getParent());
+		Path temp = Files.createTempFile(file.getParent(), HIDDEN_PREFIX + file.getFileName() + ".", ".tmp");
+		try {
+			try (InputStream body = response.body(); OutputStream out = Files.newOutputStream(temp)) {
+				body.transferTo(out);
+			}
+			InputStream result = open(file, temp);
+			try {
+				moveIntoPlace(temp, file);
+				storeCacheInfo(file, response);
+			} catch (IOException | RuntimeException e) {
+				result.close();
+				throw e;
+			}
+			return result;
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	// The cache info is written after the content so a concurrent reader never pairs new validators with old content.
+	private static void storeCacheInfo(Path file, Response response) throws IOException {
+		Properties info = new Properties();
+		response.header("ETag").ifPresent(etag->info.setProperty(ETAG_KEY, etag));
+		response.header("Last-Modified").ifPresent(lastModified->info.setProperty(LAST_MODIFIED_KEY, lastModified));
+		writeAtomically(cacheInfo(file), out->info.store(out, null));
+	}
+
+	@FunctionalInterface
+	private interface Writer {
+		void write(OutputStream out) throws IOException;
+	}
+
+	private static void writeAtomically(Path target, Writer writer) throws IOException {
+		Path temp = Files.createTempFile(target.getParent(), HIDDEN_PREFIX + target.getFileName() + ".", ".tmp");
+		try {
+			try (OutputStream out = Files.newOutputStream(temp)) {
+				writer.write(out);
+			}
+			moveIntoPlace(temp, target);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private static void moveIntoPlace(Path temp, Path target) throws IOException {
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	// Serving a file marks it as recently used.
+	private static InputStream serve(Path file) throws IOException {
+		try {
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException e) {
+			// Not being able to update the access time only affects eviction order.
+		}
+		return open(file, file);
+	}
+
+	// Opens contents (file itself, or the temporary file that is about to become it) as a reader of file.  Backed by the
+	// FileChannel so that copies out of the cache can use FileChannel.transferTo().
+	private static InputStream open(Path file, Path contents) throws IOException {
+		FileChannel channel = openReader(file, contents);
+		return ByteChannels.asInputStream(channel, ()->closeReader(file));
+	}
+
+	// Registered before the file is opened, so that it can't be evicted between being opened and being registered.
+	private static FileChannel openReader(Path file, Path contents) throws IOException {
+		READERS.merge(file, 1, Integer::sum);
+		try {
+			return FileChannel.open(contents);
+		} catch (IOException | RuntimeException e) {
+			closeReader(file);
+			throw e;
+		}
+	}
+
+	private static void closeReader(Path file) {
+		READERS.computeIfPresent(file, (f, count)->count == 1 ? null : count - 1);
+	}
+
+	// Remove least recently used entries until the cache is back under the maximum size.
+	private void evict(Path keep) throws IOException {
+		if (maxSize <= 0) {
+			return;
+		}
+		record Entry(Path path, long size, FileTime lastUsed) {}
+		List<Entry> entries = entries().map(p->new Entry(p, sizeOf(p), lastUsed(p)))
+									   .sorted(Comparator.comparing(Entry::lastUsed))
+									   .toList();
+		long total = entries.stream().mapToLong(Entry::size).sum();
+		for (Entry entry : entries) {
+			if (total <= maxSize) {
+				break;
+			}
+			if (!entry.path().equals(keep) && !READERS.containsKey(entry.path()) && !DOWNLOADS.containsKey(entry.path())) {
+				delete(entry.path());
+				total -= entry.size();
+			}
+		}
+	}
+
+	private Stream<Path> entries() throws IOException {
+		if (!Files.isDirectory(root)) {
+			return Stream.empty();
+		}
+		List<Path> entries = new ArrayList<>();
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				if (attrs.isRegularFile() && !file.getFileName().toString().startsWith(HIDDEN_PREFIX)) {
+					entries.add(file);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException exc) {
+				return FileVisitResult.CONTINUE;	// Temporary files come and go while other threads/processes write to the cache.
+			}
+		});
+		return entries.stream();
+	}
+
+	private static void delete(Path file) throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(cacheInfo(file));
+	}
+
+	private static long sizeOf(Path file) {
+		try {
+			return Files.size(file);
+		} catch (NoSuchFileException e) {
+			return 0;	// Removed by another process
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static FileTime lastUsed(Path file) {
+		try {
+			return Files.getLastModifiedTime(file);
+		} catch (NoSuchFileException e) {
+			return FileTime.fromMillis(0);	// Removed by another process
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
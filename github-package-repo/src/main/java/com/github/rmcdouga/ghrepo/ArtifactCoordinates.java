@@ -0,0 +1,35 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.util.Objects;
+
+public record ArtifactCoordinates(String userOrg, String repo, String groupId, String artifactId, String version, String extension) {
+	private static final String DEFAULT_ARTIFACT_EXTENSION = "jar";
+
+	public ArtifactCoordinates {
+		Objects.requireNonNull(userOrg, "userOrg");
+		Objects.requireNonNull(repo, "repo");
+		Objects.requireNonNull(groupId, "groupId");
+		Objects.requireNonNull(artifactId, "artifactId");
+		Objects.requireNonNull(version, "version");
+		Objects.requireNonNull(extension, "extension");
+	}
+
+	public static ArtifactCoordinates of(String userOrg, String repo, String groupId, String artifactId, String version) {
+		return new ArtifactCoordinates(userOrg, repo, groupId, artifactId, version, DEFAULT_ARTIFACT_EXTENSION);
+	}
+
+	// Parses "groupId:artifactId:version" or "groupId:artifactId:version:extension" within the given repository.
+	public static ArtifactCoordinates parse(String userOrg, String repo, String coordinates) {
+		String[] parts = coordinates.split(":");
+		return switch (parts.length) {
+			case 3 -> new ArtifactCoordinates(userOrg, repo, parts[0], parts[1], parts[2], DEFAULT_ARTIFACT_EXTENSION);
+			case 4 -> new ArtifactCoordinates(userOrg, repo, parts[0], parts[1], parts[2], parts[3]);
+			default -> throw new IllegalArgumentException("Invalid artifact coordinates '%s', expected groupId:artifactId:version[:extension].".formatted(coordinates));
+		};
+	}
+
+	@Override
+	public String toString() {
+		return "%s/%s/%s:%s:%s:%s".formatted(userOrg, repo, groupId, artifactId, version, extension);
+	}
+}
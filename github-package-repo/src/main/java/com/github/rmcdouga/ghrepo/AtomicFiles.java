@@ -0,0 +1,47 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+// Writes files into a uniquely named hidden sibling that is moved into place once it is complete, so that readers never see half a
+// file, concurrent writes to the same target don't trip over each other and a failed write leaves the target as it was.
+final class AtomicFiles {
+
+	private AtomicFiles() {
+	}
+
+	@FunctionalInterface
+	interface Writer<T> {
+		T write(Path temp) throws IOException;
+	}
+
+	// The writer is given a path that does not exist yet and has to create it (e.g. with CREATE_NEW).  Not Files.createTempFile(), as
+	// that creates the file readable by its owner only and the target should get the same permissions as any other new file.
+	static <T> T write(Path target, boolean replaceExisting, Writer<T> writer) throws IOException {
+		Path temp = target.toAbsolutePath().resolveSibling(".%s.%s.tmp".formatted(target.getFileName(), UUID.randomUUID()));
+		try {
+			T result = writer.write(temp);
+			move(temp, target, replaceExisting);
+			return result;
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	// Replaces the target in one step where the file system allows it.
+	static void move(Path source, Path target, boolean replaceExisting) throws IOException {
+		if (!replaceExisting) {
+			Files.move(source, target);
+			return;
+		}
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
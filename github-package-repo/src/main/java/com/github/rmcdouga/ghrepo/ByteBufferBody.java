@@ -0,0 +1,184 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Response body used by RestClientJdkImpl.  It hands over the HttpClient's own buffers as they arrive, rather than copying them
+// through a byte[] the way BodySubscribers.ofInputStream() does, and can be read as an InputStream or a ReadableByteChannel.
+// Only one buffer list is requested at a time, so a slow reader holds back the connection rather than buffering the body in memory.
+final class ByteBufferBody extends InputStream implements ReadableByteChannel, BodySubscriber<InputStream> {
+	private static final List<ByteBuffer> END = new ArrayList<>(0);	// Compared by identity
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	private final BlockingQueue<List<ByteBuffer>> received = new LinkedBlockingQueue<>();
+	private volatile Flow.Subscription subscription;
+	private volatile Throwable failure;
+	private volatile boolean closed = false;
+
+	// Only used by the reading thread
+	private Iterator<ByteBuffer> buffers = Collections.emptyIterator();
+	private ByteBuffer current = EMPTY;
+	private boolean ended = false;
+
+	@Override
+	public CompletionStage<InputStream> getBody() {
+		return CompletableFuture.completedStage(this);
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		this.subscription = subscription;
+		if (closed) {
+			subscription.cancel();
+		} else {
+			subscription.request(1);
+		}
+	}
+
+	@Override
+	public void onNext(List<ByteBuffer> item) {
+		received.add(item);
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		failure = throwable;
+		received.add(END);
+	}
+
+	@Override
+	public void onComplete() {
+		received.add(END);
+	}
+
+	// Returns the next buffer with data remaining, or null at the end of the body.  The buffer is only valid until the next call.
+	ByteBuffer nextBuffer() throws IOException {
+		ensureOpen();
+		while (!current.hasRemaining()) {
+			if (buffers.hasNext()) {
+				current = buffers.next();
+				continue;
+			}
+			if (ended) {
+				throwIfFailed();
+				return null;
+			}
+			List<ByteBuffer> next;
+			try {
+				next = received.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while reading the response body.");
+			}
+			if (next == END) {
+				ended = true;
+			} else {
+				buffers = next.iterator();
+				subscription.request(1);
+			}
+		}
+		return current;
+	}
+
+	@Override
+	public int read(ByteBuffer dst) throws IOException {
+		if (!dst.hasRemaining()) {
+			ensureOpen();
+			return 0;
+		}
+		ByteBuffer src = nextBuffer();
+		if (src == null) {
+			return -1;
+		}
+		int length = Math.min(src.remaining(), dst.remaining());
+		dst.put(src.slice(src.position(), length));
+		src.position(src.position() + length);
+		return length;
+	}
+
+	@Override
+	public int read() throws IOException {
+		ByteBuffer src = nextBuffer();
+		return src == null ? -1 : src.get() & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		return len == 0 ? 0 : read(ByteBuffer.wrap(b, off, len));
+	}
+
+	// Writes the buffers straight out, without copying them into an intermediate array where possible.
+	@Override
+	public long transferTo(OutputStream out) throws IOException {
+		long transferred = 0;
+		ByteBuffer src;
+		while ((src = nextBuffer()) != null) {
+			int length = src.remaining();
+			if (src.hasArray()) {
+				out.write(src.array(), src.arrayOffset() + src.position(), length);
+			} else {
+				byte[] bytes = new byte[length];
+				src.get(src.position(), bytes);
+				out.write(bytes);
+			}
+			src.position(src.limit());
+			transferred += length;
+		}
+		return transferred;
+	}
+
+	@Override
+	public int available() throws IOException {
+		ensureOpen();
+		return current.remaining();
+	}
+
+	@Override
+	public boolean isOpen() {
+		return !closed;
+	}
+
+	// Closing before the end of the body abandons the rest of the response.
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		Flow.Subscription s = subscription;
+		if (s != null) {
+			s.cancel();
+		}
+		received.clear();
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new ClosedChannelException();
+		}
+	}
+
+	private void throwIfFailed() throws IOException {
+		Throwable t = failure;
+		if (t instanceof IOException ioe) {
+			throw new IOException(ioe.getMessage(), ioe);
+		} else if (t != null) {
+			throw new IOException("Unable to read the response body.", t);
+		}
+	}
+}
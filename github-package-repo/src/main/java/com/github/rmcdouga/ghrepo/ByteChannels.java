@@ -0,0 +1,174 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+// Copies between channels using the cheapest route available - FileChannel.transferTo()/transferFrom() (which the OS can usually
+// do without copying through the JVM at all), the HttpClient's own buffers for RestClientJdkImpl bodies, or a direct buffer.
+final class ByteChannels {
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final long TRANSFER_SIZE = 8L * 1024 * 1024;
+
+	private ByteChannels() {
+	}
+
+	// A channel that passes everything through to another, e.g. to count what is read.  transfer() copies straight from the other
+	// channel, so that its fast paths still apply, and then tells the wrapper how many bytes were copied.
+	interface ChannelWrapper extends ReadableByteChannel {
+		ReadableByteChannel unwrap();
+
+		// Called once the wrapped channel has been read to the end.
+		void transferred(long bytes);
+	}
+
+	// The stream as a channel, unwrapping it if it is already backed by one.
+	static ReadableByteChannel readable(InputStream in) {
+		if (in instanceof ChannelInputStream cis) {
+			return cis.channel;
+		}
+		return in instanceof ReadableByteChannel channel ? channel : Channels.newChannel(in);
+	}
+
+	// The channel as a stream that readable() can turn back into the channel.
+	static InputStream asInputStream(ReadableByteChannel channel) {
+		return new ChannelInputStream(channel, ()->{});
+	}
+
+	// As above, and runs onClose (once) when the stream is closed.
+	static InputStream asInputStream(ReadableByteChannel channel, Runnable onClose) {
+		return new ChannelInputStream(channel, onClose);
+	}
+
+	// Copies a stream into the channel.  Streams that are not backed by a channel are left to their own transferTo(), which is at
+	// least as good as wrapping them.
+	static long copy(InputStream in, WritableByteChannel out) throws IOException {
+		if (in instanceof ChannelInputStream || in instanceof ReadableByteChannel) {
+			return transfer(readable(in), out);
+		}
+		return in.transferTo(Channels.newOutputStream(out));
+	}
+
+	// Copies everything remaining in the input to the output, returns the number of bytes copied.
+	static long transfer(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+		if (in instanceof ChannelWrapper wrapper) {
+			long transferred = transfer(wrapper.unwrap(), out);
+			wrapper.transferred(transferred);
+			return transferred;
+		}
+		if (out instanceof FileChannel file) {
+			long start = file.position();
+			long transferred = transfer(in, file, start);
+			file.position(start + transferred);
+			return transferred;
+		}
+		if (in instanceof FileChannel file) {
+			long start = file.position();
+			long size = file.size();
+			long transferred = 0;
+			long count;
+			while (start + transferred < size && (count = file.transferTo(start + transferred, size - start - transferred, out)) > 0) {
+				transferred += count;
+			}
+			file.position(start + transferred);
+			return transferred;
+		}
+		if (in instanceof ByteBufferBody body) {
+			long transferred = 0;
+			ByteBuffer buffer;
+			while ((buffer = body.nextBuffer()) != null) {
+				transferred += writeFully(buffer, out);
+			}
+			return transferred;
+		}
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		long transferred = 0;
+		while (in.read(buffer) >= 0) {
+			buffer.flip();
+			transferred += writeFully(buffer, out);
+			buffer.clear();
+		}
+		return transferred;
+	}
+
+	// Writes everything remaining in the input into the file at the given position, without changing the file's position.
+	static long transfer(ReadableByteChannel in, FileChannel out, long position) throws IOException {
+		if (in instanceof ChannelWrapper wrapper) {
+			long transferred = transfer(wrapper.unwrap(), out, position);
+			wrapper.transferred(transferred);
+			return transferred;
+		}
+		long transferred = 0;
+		if (in instanceof ByteBufferBody body) {
+			ByteBuffer buffer;
+			while ((buffer = body.nextBuffer()) != null) {
+				while (buffer.hasRemaining()) {
+					transferred += out.write(buffer, position + transferred);
+				}
+			}
+			return transferred;
+		}
+		// transferFrom() returns 0 once the input is exhausted (our channels are all blocking).
+		long count;
+		while ((count = out.transferFrom(in, position + transferred, TRANSFER_SIZE)) > 0) {
+			transferred += count;
+		}
+		return transferred;
+	}
+
+	private static int writeFully(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+		int written = 0;
+		while (buffer.hasRemaining()) {
+			written += out.write(buffer);
+		}
+		return written;
+	}
+
+	private static class ChannelInputStream extends InputStream {
+		private final ReadableByteChannel channel;
+		private final Runnable onClose;
+		private boolean closed = false;
+
+		private ChannelInputStream(ReadableByteChannel channel, Runnable onClose) {
+			this.channel = channel;
+			this.onClose = onClose;
+		}
+
+		@Override
+		public int read() throws IOException {
+			ByteBuffer b = ByteBuffer.allocate(1);
+			int read;
+			do {
+				read = channel.read(b);
+			} while (read == 0);
+			return read < 0 ? -1 : b.get(0) & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return len == 0 ? 0 : channel.read(ByteBuffer.wrap(b, off, len));
+		}
+
+		@Override
+		public long transferTo(OutputStream out) throws IOException {
+			return ByteChannels.transfer(channel, Channels.newChannel(out));
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				channel.close();
+			} finally {
+				if (!closed) {
+					closed = true;
+					onClose.run();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// Checksums that Maven repositories publish alongside each file, e.g. foo-1.0.jar.sha1
+public enum ChecksumAlgorithm {
+	SHA1("SHA-1", "sha1"),
+	MD5("MD5", "md5"),
+	;
+
+	private final String digestAlgorithm;
+	private final String extension;
+
+	private ChecksumAlgorithm(String digestAlgorithm, String extension) {
+		this.digestAlgorithm = digestAlgorithm;
+		this.extension = extension;
+	}
+
+	// Extension of the checksum file, appended to the name of the file it describes.
+	public String extension() {
+		return extension;
+	}
+
+	MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(digestAlgorithm);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("%s is not available in this JVM.".formatted(digestAlgorithm), e);
+		}
+	}
+
+	// Thrown when a download does not match its published checksum, or the checksum could not be retrieved.
+	@SuppressWarnings("serial")
+	public static class ChecksumException extends IOException {
+		public ChecksumException(String message) {
+			super(message);
+		}
+
+		public ChecksumException(String message, Throwable cause) {
+			super(message, cause);
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.github.rmcdouga.ghrepo.ChecksumAlgorithm.ChecksumException;
+
+// Checks the content of one download against its published checksum.  The content is hashed as it streams past, while the
+// expected checksum is fetched concurrently.  Not thread-safe, each download uses its own instance.
+final class ChecksumVerifier {
+	private final ChecksumAlgorithm algorithm;
+	private final String path;
+	private final CompletableFuture<String> expected;
+	private final MessageDigest digest;
+
+	ChecksumVerifier(ChecksumAlgorithm algorithm, String path, CompletableFuture<String> expected) {
+		this.algorithm = algorithm;
+		this.path = path;
+		this.expected = expected;
+		this.digest = algorithm.newDigest();
+	}
+
+	// Parses the contents of a checksum file, which may be followed by a filename (as written by sha1sum and friends).
+	static String parse(byte[] checksumFile) {
+		String contents = new String(checksumFile, StandardCharsets.US_ASCII).strip();
+		int end = 0;
+		while (end < contents.length() && !Character.isWhitespace(contents.charAt(end))) {
+			end++;
+		}
+		return contents.substring(0, end).toLowerCase();
+	}
+
+	// Starts again, for when a download restarts from the beginning.
+	void reset() {
+		digest.reset();
+	}
+
+	// Returns a stream that adds everything read through it to the digest.
+	InputStream digesting(InputStream in) {
+		return new DigestInputStream(in, digest);
+	}
+
+	// Returns a channel that adds everything written through it to the digest.
+	WritableByteChannel digesting(WritableByteChannel out) {
+		return new WritableByteChannel() {
+			@Override
+			public int write(ByteBuffer src) throws IOException {
+				ByteBuffer written = src.duplicate();
+				int count = out.write(src);
+				digest.update(written.limit(written.position() + count));
+				return count;
+			}
+
+			@Override
+			public boolean isOpen() {
+				return out.isOpen();
+			}
+
+			@Override
+			public void close() throws IOException {
+				out.close();
+			}
+		};
+	}
+
+	// Adds the contents of a file (e.g. the part of a download that was completed earlier) to the digest.
+	void update(Path file) throws IOException {
+		try (InputStream in = digesting(Files.newInputStream(file))) {
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+	}
+
+	// Compares the digest of everything seen so far with the published checksum.
+	void verify() throws IOException {
+		String actual = HexFormat.of().formatHex(digest.digest());
+		String published = published();
+		if (!published.equals(actual)) {
+			throw new ChecksumException("Checksum mismatch for '%s', expected %s %s but was %s.".formatted(path, algorithm, published, actual));
+		}
+	}
+
+	// Verifies a complete file, for downloads that were not written sequentially.
+	void verify(Path file) throws IOException {
+		reset();
+		update(file);
+		verify();
+	}
+
+	// Returns a stream that verifies the checksum once the end of the content is reached, failing the final read on a mismatch.
+	InputStream verifying(InputStream in, Cleanup onFailure) {
+		return new VerifyingInputStream(digesting(in), onFailure);
+	}
+
+	@FunctionalInterface
+	interface Cleanup {
+		void run() throws IOException;
+	}
+
+	private String published() throws IOException {
+		try {
+			return expected.join();
+		} catch (CompletionException e) {
+			throw new ChecksumException("Unable to retrieve the %s checksum for '%s'.".formatted(algorithm, path), e.getCause());
+		}
+	}
+
+	private class VerifyingInputStream extends FilterInputStream {
+		private final Cleanup onFailure;
+		private boolean verified = false;
+
+		private VerifyingInputStream(InputStream in, Cleanup onFailure) {
+			super(in);
+			this.onFailure = onFailure;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int result = super.read();
+			if (result < 0) {
+				endOfStream();
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int result = super.read(b, off, len);
+			if (result < 0) {
+				endOfStream();
+			}
+			return result;
+		}
+
+		// Skipped bytes still need to be hashed.
+		@Override
+		public long skip(long n) throws IOException {
+			byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+			long skipped = 0;
+			while (skipped < n) {
+				int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+				if (read < 0) {
+					break;
+				}
+				skipped += read;
+			}
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		private void endOfStream() throws IOException {
+			if (verified) {
+				return;
+			}
+			verified = true;
+			try {
+				verify();
+			} catch (ChecksumException e) {
+				onFailure.run();
+				throw e;
+			}
+		}
+	}
+}
@@ -0,0 +1,246 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// RestClient decorator that coalesces concurrent identical requests ("single flight").
+//
+// The first caller for a path (and set of request headers) sends the request, while any callers that ask for the same thing
+// before the response arrives wait for it rather than sending their own request.  If nobody has joined by then, the first caller
+// reads the body straight from the delegate.  Otherwise the whole body is read and every caller gets its own stream over the same
+// bytes.  Bodies are held in memory up to a threshold and in a temporary file above it, the file is deleted once every caller has
+// closed its stream.
+//
+// Nothing is kept once a request completes, so this is not a cache.  It turns a burst of identical downloads (e.g. many threads
+// starting up at once) into a single transfer, e.g.
+//   GithubPackages.create().restClient(CoalescingRestClient::wrap)
+public final class CoalescingRestClient implements RestClient {
+	private static final long DEFAULT_MEMORY_THRESHOLD = 8L * 1024 * 1024;	// 8 MB
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final RestClient delegate;
+	private final long memoryThreshold;
+	private final Path tempDir;		// null means the default temporary-file directory
+	private final ConcurrentMap<Key, Flight> inFlight;
+
+	private CoalescingRestClient(RestClient delegate, long memoryThreshold, Path tempDir, ConcurrentMap<Key, Flight> inFlight) {
+		this.delegate = Objects.requireNonNull(delegate, "delegate");
+		this.memoryThreshold = memoryThreshold;
+		this.tempDir = tempDir;
+		this.inFlight = inFlight;
+	}
+
+	public static CoalescingRestClient wrap(RestClient delegate) {
+		return new CoalescingRestClient(delegate, DEFAULT_MEMORY_THRESHOLD, null, new ConcurrentHashMap<>());
+	}
+
+	// Bodies larger than this are buffered in a temporary file rather than in memory.
+	public CoalescingRestClient memoryThreshold(long memoryThreshold) {
+		return new CoalescingRestClient(delegate, memoryThreshold, tempDir, new ConcurrentHashMap<>());
+	}
+
+	// Where bodies larger than the memory threshold are buffered.
+	public CoalescingRestClient tempDir(Path tempDir) {
+		return new CoalescingRestClient(delegate, memoryThreshold, Objects.requireNonNull(tempDir, "tempDir"), new ConcurrentHashMap<>());
+	}
+
+	@Override
+	public InputStream get(String path) {
+		return send(new Key("GET", path, Map.of(), false), ()->new Response(200, Map.of(), delegate.get(path))).body();
+	}
+
+	@Override
+	public Response get(String path, Map<String, String> headers) {
+		return send(new Key("GET", path, new TreeMap<>(headers), true), ()->delegate.get(path, headers));
+	}
+
+	@Override
+	public Response head(String path) {
+		return send(new Key("HEAD", path, Map.of(), true), ()->delegate.head(path));
+	}
+
+	// withStatus distinguishes get(path), which has no status, from get(path, Map.of()) as their results can't be shared.
+	private record Key(String method, String path, Map<String, String> headers, boolean withStatus) {}
+
+	@FunctionalInterface
+	private interface Request {
+		Response send();
+	}
+
+	private Response send(Key key, Request request) {
+		Flight flight = new Flight();
+		Flight existing = inFlight.compute(key, (k, f)->{
+			if (f == null) {
+				return flight;
+			}
+			f.references.incrementAndGet();		// Joins under the map's lock, so it can't miss the flight ending
+			return f;
+		});
+		if (existing != flight) {
+			return existing.await();
+		}
+		try {
+			Response response = request.send();
+			// Nobody joined (later callers send their own request from now on), so there's no need to buffer the body.
+			if (inFlight.computeIfPresent(key, (k, f)->f == flight && f.references.get() == 1 ? null : f) == null) {
+				return response;
+			}
+			Body body;
+			try (InputStream in = response.body()) {
+				body = buffer(in);
+			}
+			flight.complete(new Response(response.status(), response.headers(), InputStream.nullInputStream()), body);
+		} catch (IOException e) {
+			flight.fail(new UncheckedIOException(e));
+		} catch (RuntimeException e) {
+			flight.fail(e);
+		} finally {
+			// Anything else (e.g. an Error) still has to end the flight, or the callers that joined it would wait forever.
+			flight.fail(new IllegalStateException("Request for '%s' did not complete.".formatted(key.path())));
+			inFlight.remove(key, flight);
+		}
+		return flight.await();
+	}
+
+	// Reads the whole body, moving it into a temporary file if it turns out to be large.
+	private Body buffer(InputStream in) throws IOException {
+		ByteArrayOutputStream memory = new ByteArrayOutputStream();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			memory.write(buffer, 0, read);
+			if (memory.size() > memoryThreshold) {
+				return spill(memory, in);
+			}
+		}
+		return new MemoryBody(memory.toByteArray());
+	}
+
+	private Body spill(ByteArrayOutputStream memory, InputStream in) throws IOException {
+		Path file = tempDir != null ? Files.createTempFile(tempDir, "coalesced", ".tmp") : Files.createTempFile("coalesced", ".tmp");
+		try (OutputStream out = Files.newOutputStream(file)) {
+			memory.writeTo(out);
+			in.transferTo(out);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(file);
+			throw e;
+		}
+		return new FileBody(file);
+	}
+
+	// One request and everyone waiting for it.
+	private static class Flight {
+		private final CompletableFuture<Response> response = new CompletableFuture<>();
+		private final AtomicInteger references = new AtomicInteger(1);	// Callers that have not finished with the body yet
+		private volatile Body body;
+
+		private void complete(Response response, Body body) {
+			this.body = body;
+			this.response.complete(response);
+		}
+
+		// Does nothing if the flight has already completed.
+		private void fail(RuntimeException e) {
+			this.response.completeExceptionally(e);
+		}
+
+		// Returns this caller's own copy of the response.
+		private Response await() {
+			Response shared;
+			try {
+				shared = response.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException re ? re : e;
+			}
+			InputStream view;
+			try {
+				view = body.open();
+			} catch (IOException e) {
+				release();
+				throw new UncheckedIOException(e);
+			}
+			return new Response(shared.status(), shared.headers(), new ReleasingInputStream(view, this));
+		}
+
+		private void release() {
+			if (references.decrementAndGet() == 0) {
+				body.discard();
+			}
+		}
+	}
+
+	private static class ReleasingInputStream extends FilterInputStream {
+		private final Flight flight;
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private ReleasingInputStream(InputStream in, Flight flight) {
+			super(in);
+			this.flight = flight;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed.compareAndSet(false, true)) {
+				try {
+					super.close();
+				} finally {
+					flight.release();
+				}
+			}
+		}
+	}
+
+	private sealed interface Body permits MemoryBody, FileBody {
+		InputStream open() throws IOException;
+
+		void discard();
+	}
+
+	private record MemoryBody(byte[] bytes) implements Body {
+		@Override
+		public InputStream open() {
+			return new ByteArrayInputStream(bytes);
+		}
+
+		@Override
+		public void discard() {
+		}
+	}
+
+	private record FileBody(Path file) implements Body {
+		@Override
+		public InputStream open() throws IOException {
+			return Files.newInputStream(file);
+		}
+
+		@Override
+		public void discard() {
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				// Only a temporary file, nothing useful can be done.
+			}
+		}
+	}
+
+	// Number of callers sharing requests that are still in flight, package visibility for unit tests.
+	int inFlightCallers() {
+		return inFlight.values().stream().mapToInt(f->f.references.get()).sum();
+	}
+}
@@ -0,0 +1,302 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.CopyOption;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import com.github.rmcdouga.ghrepo.Pom.Dependency;
+import com.github.rmcdouga.ghrepo.Pom.Exclusion;
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
+
+// Resolves an artifact's transitive dependencies from its .pom (and its parents' and imported BOMs' .poms), e.g.
+//   githubPackages.dependencyResolver().download(ArtifactCoordinates.of(org, repo, groupId, artifactId, version), libDir)
+//
+// The dependency graph is walked a level at a time, with all the .poms on a level fetched in parallel (at most maxConcurrency
+// requests at once).  Conflicts are settled the way Maven does: the nearest declaration wins (the first one on the same level),
+// the root's dependencyManagement applies throughout, test/provided/optional dependencies of dependencies are left out and
+// exclusions apply to everything below where they are declared.
+//
+// Every dependency is looked for in the root artifact's repository.  Ones that are not there (e.g. because they come from Maven
+// Central) or that have a classifier are reported as missing rather than failing the resolution.
+//
+// Parsed .poms are kept for the life of the resolver (and of any resolvers created from it), so resolving several artifacts that
+// share dependencies only fetches each .pom once.  Thread-safe.
+public final class DependencyResolver {
+	private static final int DEFAULT_MAX_CONCURRENCY = 8;
+	private static final String POM_EXTENSION = "pom";
+
+	public enum Scope {
+		COMPILE, PROVIDED, RUNTIME, TEST, SYSTEM;
+
+		// null (e.g. for import) if it is not a scope a dependency can be resolved in.
+		private static Scope of(String scope) {
+			if (scope == null) {
+				return COMPILE;
+			}
+			try {
+				return valueOf(scope.toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+
+		// The scope a dependency (with the given scope) of a dependency in this scope ends up in, null if it is not transitive.
+		private Scope transitive(Scope scope) {
+			return switch (scope) {
+				case COMPILE -> this;
+				case RUNTIME -> this == COMPILE ? RUNTIME : this;
+				default -> null;
+			};
+		}
+	}
+
+	// artifacts is in classpath order, the root artifact first.
+	public static record Resolution(ArtifactCoordinates root, List<ArtifactCoordinates> artifacts, List<ArtifactCoordinates> missing) {
+		public Resolution {
+			artifacts = List.copyOf(artifacts);
+			missing = List.copyOf(missing);
+		}
+	}
+
+	private final GithubPackages githubPackages;
+	private final Set<Scope> scopes;
+	private final int maxConcurrency;
+	private final Semaphore permits;
+	private final ConcurrentMap<ArtifactCoordinates, CompletableFuture<Model>> poms;
+
+	private DependencyResolver(GithubPackages githubPackages, Set<Scope> scopes, int maxConcurrency, ConcurrentMap<ArtifactCoordinates, CompletableFuture<Model>> poms) {
+		this.githubPackages = Objects.requireNonNull(githubPackages, "githubPackages");
+		this.scopes = scopes;
+		this.maxConcurrency = maxConcurrency;
+		this.permits = new Semaphore(maxConcurrency);
+		this.poms = poms;
+	}
+
+	DependencyResolver(GithubPackages githubPackages) {
+		this(githubPackages, EnumSet.of(Scope.COMPILE, Scope.RUNTIME), DEFAULT_MAX_CONCURRENCY, new ConcurrentHashMap<>());
+	}
+
+	// The scopes to include, by default COMPILE and RUNTIME (i.e. the runtime classpath).  SYSTEM dependencies are never included.
+	public DependencyResolver scopes(Scope... scopes) {
+		return new DependencyResolver(githubPackages, scopes.length == 0 ? EnumSet.noneOf(Scope.class) : EnumSet.copyOf(List.of(scopes)), maxConcurrency, poms);
+	}
+
+	// The most .poms (or artifacts, when downloading) fetched at once.
+	public DependencyResolver maxConcurrency(int maxConcurrency) {
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("maxConcurrency must be at least 1 but was %d.".formatted(maxConcurrency));
+		}
+		return new DependencyResolver(githubPackages, scopes, maxConcurrency, poms);
+	}
+
+	public Resolution resolve(ArtifactCoordinates root) throws IOException {
+		ArtifactCoordinates resolvedRoot = githubPackages.resolveVersion(root);
+		Model rootModel = model(pomOf(resolvedRoot));		// Unlike its dependencies, the root has to be there
+		Map<String, Dependency> managed = Pom.byKey(rootModel.pom().dependencyManagement());
+		Map<String, ArtifactCoordinates> selected = new LinkedHashMap<>();
+		Set<ArtifactCoordinates> missing = new LinkedHashSet<>(rootModel.missing());
+		selected.put(key(resolvedRoot), resolvedRoot);
+
+		List<Node> level = children(new Node(resolvedRoot, null, List.of()), rootModel.pom(), managed, missing);
+		while (!level.isEmpty()) {
+			// Nearest wins, so anything already selected on a previous level (or earlier on this one) is skipped.
+			List<Node> nearest = level.stream().filter(n->selected.putIfAbsent(key(n.artifact()), n.artifact()) == null).toList();
+			List<CompletableFuture<Loaded>> loading = nearest.stream().map(n->githubPackages.background(()->load(n.artifact()))).toList();
+			List<Node> next = new ArrayList<>();
+			for (int i = 0; i < nearest.size(); i++) {
+				Node node = nearest.get(i);
+				Loaded loaded = join(loading.get(i));
+				if (loaded.model().isEmpty()) {
+					missing.add(node.artifact());
+					continue;
+				}
+				Model model = loaded.model().get();
+				selected.put(key(node.artifact()), loaded.artifact());
+				missing.addAll(model.missing());
+				next.addAll(children(new Node(loaded.artifact(), node.scope(), node.exclusions()), model.pom(), managed, missing));
+			}
+			level = next;
+		}
+		List<ArtifactCoordinates> artifacts = selected.values().stream()
+													  .filter(a->a == resolvedRoot || !a.extension().equals(POM_EXTENSION))		// BOMs and other pom dependencies only contribute their dependencies
+													  .filter(a->!missing.contains(a))
+													  .toList();
+		return new Resolution(resolvedRoot, artifacts, List.copyOf(missing));
+	}
+
+	// Resolves the artifact and downloads it along with its dependencies into targetDir.  Missing dependencies are reported as failures.
+	public DownloadReport download(ArtifactCoordinates root, Path targetDir, CopyOption... options) throws IOException, InterruptedException {
+		Resolution resolution = resolve(root);
+		DownloadReport downloaded = githubPackages.downloadAll(resolution.artifacts(), targetDir, maxConcurrency, options);
+		Stream<DownloadReport.Result> missing = resolution.missing().stream()
+				.map(a->DownloadReport.Result.failure(a, Duration.ZERO, new RestClientException(404, "Unable to find dependency '%s' of '%s'.".formatted(a, resolution.root()))));
+		return new DownloadReport(Stream.concat(downloaded.results().stream(), missing).toList());
+	}
+
+	// A dependency waiting to be resolved, scope is null for the root.
+	private static record Node(ArtifactCoordinates artifact, Scope scope, List<Exclusion> exclusions) {
+		private boolean excludes(Dependency dependency) {
+			return exclusions.stream().anyMatch(e->e.matches(dependency.groupId(), dependency.artifactId()));
+		}
+	}
+
+	// An effective (inherited, interpolated and managed) .pom, along with any parents or BOMs that could not be found.  inheritable
+	// is the .pom before interpolation, which is what children inherit so that their own properties apply to what they inherit.
+	private static record Model(Pom pom, Pom inheritable, List<ArtifactCoordinates> missing) {}
+
+	// model is empty if the artifact's .pom could not be found.
+	private static record Loaded(ArtifactCoordinates artifact, Optional<Model> model) {}
+
+	private List<Node> children(Node parent, Pom pom, Map<String, Dependency> managed, Collection<ArtifactCoordinates> missing) {
+		boolean direct = parent.scope() == null;
+		List<Node> children = new ArrayList<>();
+		for (Dependency declared : pom.dependencies()) {
+			// The root's own dependencyManagement was applied to its .pom already, for everything else it overrides the declared version.
+			Dependency dependency = direct ? declared : Optional.ofNullable(managed.get(declared.managementKey())).map(m->declared.managedBy(m, true)).orElse(declared);
+			Scope declaredScope = Scope.of(dependency.scope());
+			Scope scope = declaredScope == null ? null : direct ? declaredScope : parent.scope().transitive(declaredScope);
+			if (scope == null || scope == Scope.SYSTEM || !scopes.contains(scope) || (dependency.optional() && !direct) || parent.excludes(dependency)) {
+				continue;
+			}
+			if (dependency.version() == null) {
+				throw new NoSuchElementException("No version given for dependency %s:%s of '%s'.".formatted(dependency.groupId(), dependency.artifactId(), parent.artifact()));
+			}
+			ArtifactCoordinates artifact = new ArtifactCoordinates(parent.artifact().userOrg(), parent.artifact().repo(), dependency.groupId(), dependency.artifactId(), dependency.version(), Pom.extension(dependency.type()));
+			if (dependency.classifier() != null || "test-jar".equals(dependency.type())) {
+				missing.add(artifact);		// GithubPackages can't fetch classified artifacts
+				continue;
+			}
+			List<Exclusion> exclusions = new ArrayList<>(parent.exclusions());
+			exclusions.addAll(dependency.exclusions());
+			children.add(new Node(artifact, scope, List.copyOf(exclusions)));
+		}
+		return children;
+	}
+
+	private Loaded load(ArtifactCoordinates artifact) throws IOException {
+		try {
+			ArtifactCoordinates resolved = githubPackages.resolveVersion(artifact);
+			return new Loaded(resolved, Optional.of(model(pomOf(resolved))));
+		} catch (RestClientException e) {
+			if (e.status() == 404) {
+				return new Loaded(artifact, Optional.empty());
+			}
+			throw e;
+		}
+	}
+
+	// Each .pom is loaded once, on the thread that asks for it first.  Anyone else asking for it waits for that thread, which is
+	// already running, so there is no waiting on work queued behind the waiter.  Failures are not kept so that they can be retried.
+	private Model model(ArtifactCoordinates pom) throws IOException {
+		CompletableFuture<Model> created = new CompletableFuture<>();
+		CompletableFuture<Model> existing = poms.putIfAbsent(pom, created);
+		if (existing != null) {
+			return join(existing);
+		}
+		try {
+			Model model = loadModel(pom);
+			created.complete(model);
+			return model;
+		} catch (IOException | RuntimeException e) {
+			poms.remove(pom, created);
+			created.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private Model loadModel(ArtifactCoordinates pomArtifact) throws IOException {
+		Pom pom = Pom.parse(fetch(pomArtifact));
+		List<ArtifactCoordinates> missing = new ArrayList<>();
+		if (pom.parent().isPresent()) {
+			Pom.Coordinates parent = pom.parent().get();
+			Optional<Model> parentModel = modelIfPresent(new ArtifactCoordinates(pomArtifact.userOrg(), pomArtifact.repo(), parent.groupId(), parent.artifactId(), parent.version(), POM_EXTENSION), missing);
+			if (parentModel.isPresent()) {
+				pom = pom.inherit(parentModel.get().inheritable());
+			}
+		}
+		Pom inheritable = pom;
+		pom = pom.interpolate();
+		for (Dependency managed : pom.dependencyManagement()) {
+			if ("import".equals(managed.scope()) && POM_EXTENSION.equals(managed.type()) && managed.version() != null) {
+				Optional<Model> bom = modelIfPresent(new ArtifactCoordinates(pomArtifact.userOrg(), pomArtifact.repo(), managed.groupId(), managed.artifactId(), managed.version(), POM_EXTENSION), missing);
+				if (bom.isPresent()) {
+					pom = pom.importManaged(bom.get().pom().dependencyManagement());
+				}
+			}
+		}
+		return new Model(pom.manage(), inheritable, List.copyOf(missing));
+	}
+
+	// Parents and BOMs that can't be found are reported, the .pom is used without them.
+	private Optional<Model> modelIfPresent(ArtifactCoordinates pom, List<ArtifactCoordinates> missing) throws IOException {
+		try {
+			Model model = model(pom);
+			missing.addAll(model.missing());
+			return Optional.of(model);
+		} catch (RestClientException e) {
+			if (e.status() == 404) {
+				missing.add(pom);
+				return Optional.empty();
+			}
+			throw e;
+		}
+	}
+
+	private byte[] fetch(ArtifactCoordinates pom) throws IOException {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to fetch '%s'.".formatted(pom));
+		}
+		try {
+			return githubPackages.read(pom);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private static ArtifactCoordinates pomOf(ArtifactCoordinates artifact) {
+		return new ArtifactCoordinates(artifact.userOrg(), artifact.repo(), artifact.groupId(), artifact.artifactId(), artifact.version(), POM_EXTENSION);
+	}
+
+	// Artifacts with the same key are the same artifact (possibly in different versions) as far as conflict resolution is concerned.
+	private static String key(ArtifactCoordinates artifact) {
+		return "%s:%s:%s".formatted(artifact.groupId(), artifact.artifactId(), artifact.extension());
+	}
+
+	private static <T> T join(CompletableFuture<T> future) throws IOException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IOException ioe) {
+				throw ioe;
+			}
+			if (e.getCause() instanceof UncheckedIOException uioe) {
+				throw uioe.getCause();
+			}
+			throw e.getCause() instanceof RuntimeException re ? re : e;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public record DownloadReport(List<Result> results) {
+
+	public DownloadReport {
+		results = List.copyOf(results);
+	}
+
+	// Outcome of downloading a single artifact, target is empty and failure is present if the download failed.
+	public static record Result(ArtifactCoordinates coordinates, Optional<Path> target, long bytes, Duration duration, Optional<Throwable> failure) {
+
+		static Result success(ArtifactCoordinates coordinates, Path target, long bytes, Duration duration) {
+			return new Result(coordinates, Optional.of(target), bytes, duration, Optional.empty());
+		}
+
+		static Result failure(ArtifactCoordinates coordinates, Duration duration, Throwable failure) {
+			return new Result(coordinates, Optional.empty(), 0, duration, Optional.of(failure));
+		}
+
+		public boolean isSuccess() {
+			return failure.isEmpty();
+		}
+	}
+
+	public List<Result> successes() {
+		return results.stream().filter(Result::isSuccess).toList();
+	}
+
+	public List<Result> failures() {
+		return results.stream().filter(r->!r.isSuccess()).toList();
+	}
+
+	public boolean allSucceeded() {
+		return results.stream().allMatch(Result::isSuccess);
+	}
+
+	public long totalBytes() {
+		return results.stream().mapToLong(Result::bytes).sum();
+	}
+}
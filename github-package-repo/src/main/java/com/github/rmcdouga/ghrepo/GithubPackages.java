@@ -1,34 +1,93 @@
 package com.github.rmcdouga.ghrepo;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
+import com.github.rmcdouga.ghrepo.ChecksumAlgorithm.ChecksumException;
 import com.github.rmcdouga.ghrepo.MavenSettings.Credentials;
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
 import com.github.rmcdouga.ghrepo.XmlDocument.XmlDocumentException;
 
+// GithubPackages instances (and the Repo/Group/Artifact/Version/Extension objects they create) are immutable and safe to share
+// between threads, provided the RestClient they use is.  Concurrent copies to the same target file are serialized.
 public class GithubPackages {
 	private static final String DEFAULT_ARTIFACT_EXTENSION = "jar";
+	private static final String GITHUB_PACKAGES_URL = "https://maven.pkg.github.com";
+	// Versions that are resolved to the newest (LATEST, which may be a SNAPSHOT) or newest release (RELEASE) version deployed.
+	// Maven version ranges such as [1.2,2.0) may be used in place of a version too.
+	public static final String LATEST = "LATEST";
+	public static final String RELEASE = "RELEASE";
 	
 	private final RestClient restClient;
+	private final RestClient client;			// restClient, instrumented if there is a listener
 	private final boolean verboseMode;
+	private final ArtifactCache artifactCache;	// null if caching is disabled
+	private final MetadataCache metadataCache;	// null if caching is disabled
+	private final Executor executor;				// null means use the default executor
+	private final RangedDownloads rangedDownloads;	// null if copies use a single stream
+	private final ChecksumAlgorithm checksumAlgorithm;	// null if checksums are not verified
+	private final GithubPackagesListener listener;
 
-	private GithubPackages(RestClient restClient, boolean verboseMode) {
+	private GithubPackages(RestClient restClient, boolean verboseMode, ArtifactCache artifactCache, MetadataCache metadataCache, Executor executor, RangedDownloads rangedDownloads, ChecksumAlgorithm checksumAlgorithm, GithubPackagesListener listener) {
 		this.restClient = restClient;
+		this.client = listener != GithubPackagesListener.NONE ? new InstrumentedRestClient(restClient, listener) : restClient;
 		this.verboseMode = verboseMode;
+		this.artifactCache = artifactCache;
+		this.metadataCache = metadataCache;
+		this.executor = executor;
+		this.rangedDownloads = rangedDownloads;
+		this.checksumAlgorithm = checksumAlgorithm;
+		this.listener = listener;
 	}
 
 	// package visibility for unit tests.
 	GithubPackages(RestClient restClient) {
-		this(restClient, false);
+		this(restClient, false, null, null, null, null, null, GithubPackagesListener.NONE);
 	}
 
 	public static GithubPackages withToken(String githubToken) {
-		return new GithubPackages(RestClientFactory.createJersey("https://maven.pkg.github.com", githubToken));
+		return withToken(githubToken, RestClientFactory.Type.JERSEY);
+	}
+
+	public static GithubPackages withToken(String githubToken, RestClientFactory.Type clientType) {
+		return new GithubPackages(RestClientFactory.create(clientType, GITHUB_PACKAGES_URL, githubToken));
 	}
 
 	public static GithubPackages withServerId(String serverId, Path settings) throws FileNotFoundException {
@@ -39,6 +98,10 @@ public class GithubPackages {
 		return withToken(getToken(serverId, MavenSettings.get()));
 	}
 
+	public static GithubPackages withServerId(String serverId, RestClientFactory.Type clientType) throws FileNotFoundException {
+		return withToken(getToken(serverId, MavenSettings.get()), clientType);
+	}
+
 	private static String getToken(String serverId, MavenSettings settings) {
 		Credentials creds = settings.credentials(serverId);
 		return creds.password();
@@ -47,11 +110,61 @@ public class GithubPackages {
 	public static GithubPackages create() throws FileNotFoundException {
 		return withServerId("github");
 	}
+
+	// e.g. create(RestClientFactory.Type.JDK) for short-lived processes, which avoids starting Jersey's injection container.
+	public static GithubPackages create(RestClientFactory.Type clientType) throws FileNotFoundException {
+		return withServerId("github", clientType);
+	}
 	
 	public GithubPackages verboseMode(boolean verboseMode) {
-		return new GithubPackages(restClient, verboseMode);
+		return new GithubPackages(restClient, verboseMode, artifactCache, metadataCache, executor, rangedDownloads, checksumAlgorithm, listener);
+	}
+
+	public GithubPackages artifactCache(ArtifactCache artifactCache) {
+		return new GithubPackages(restClient, verboseMode, artifactCache, metadataCache, executor, rangedDownloads, checksumAlgorithm, listener);
+	}
+
+	public GithubPackages metadataCache(MetadataCache metadataCache) {
+		return new GithubPackages(restClient, verboseMode, artifactCache, metadataCache, executor, rangedDownloads, checksumAlgorithm, listener);
+	}
+
+	// Executor used to run the *Async() methods, by default each operation runs on its own virtual thread.
+	public GithubPackages executor(Executor executor) {
+		return new GithubPackages(restClient, verboseMode, artifactCache, metadataCache, executor, rangedDownloads, checksumAlgorithm, listener);
+	}
+
+	// copyTo() downloads fetch up to the given number of byte ranges in parallel (1 or less disables ranged downloads).
+	public GithubPackages rangedDownloads(int connections) {
+		return rangedDownloads(connections, RangedDownloads.DEFAULT_MIN_CHUNK_SIZE);
+	}
+
+	public GithubPackages rangedDownloads(int connections, long minChunkSize) {
+		return new GithubPackages(restClient, verboseMode, artifactCache, metadataCache, executor, connections > 1 ? new RangedDownloads(connections, minChunkSize) : null, checksumAlgorithm, listener);
 	}
 	
+	// Receives events (requests, cache hits/misses, metadata parsing, etc.), e.g. an InMemoryMetrics.
+	public GithubPackages listener(GithubPackagesListener listener) {
+		return new GithubPackages(restClient, verboseMode, artifactCache, metadataCache, executor, rangedDownloads, checksumAlgorithm, Objects.requireNonNull(listener, "listener"));
+	}
+
+	// Wraps the RestClient in a decorator, e.g. restClient(RetryingRestClient::wrap)
+	public GithubPackages restClient(UnaryOperator<RestClient> decorator) {
+		return restClient((client, l)->decorator.apply(client));
+	}
+
+	// Wraps the RestClient in a decorator that reports to this GithubPackages' listener, e.g.
+	//   githubPackages.listener(metrics).restClient((client, listener)->RetryingRestClient.wrap(client).listener(listener))
+	// The decorator is given the listener at the time it is applied, so call listener() first.
+	public GithubPackages restClient(BiFunction<RestClient, GithubPackagesListener, RestClient> decorator) {
+		return new GithubPackages(decorator.apply(restClient, listener), verboseMode, artifactCache, metadataCache, executor, rangedDownloads, checksumAlgorithm, listener);
+	}
+
+	// Verify downloads against the published .sha1/.md5 checksum files (null turns verification off).  Checksums are computed as the
+	// content streams past, get() streams fail on their final read and copyTo() removes the target if the content does not match.
+	public GithubPackages verifyChecksums(ChecksumAlgorithm checksumAlgorithm) {
+		return new GithubPackages(restClient, verboseMode, artifactCache, metadataCache, executor, rangedDownloads, checksumAlgorithm, listener);
+	}
+
 	public InputStream get(String userOrg, String repo, String groupId, String artifactId, String version, String artifactExtension) throws IOException {
 		return internalGet(userOrg, repo, groupId, artifactId, version, artifactExtension).resultStream();
 	}
@@ -60,33 +173,474 @@ public class GithubPackages {
 		return get(userOrg, repo, groupId, artifactId, version, DEFAULT_ARTIFACT_EXTENSION);
 	}
 
+	public CompletableFuture<InputStream> getAsync(String userOrg, String repo, String groupId, String artifactId, String version, String artifactExtension) {
+		return async(()->get(userOrg, repo, groupId, artifactId, version, artifactExtension));
+	}
+
+	public CompletableFuture<InputStream> getAsync(String userOrg, String repo, String groupId, String artifactId, String version) {
+		return getAsync(userOrg, repo, groupId, artifactId, version, DEFAULT_ARTIFACT_EXTENSION);
+	}
+
+	// Probes use HEAD requests so that no artifact content is transferred.  SNAPSHOT versions are resolved using the maven-metadata.xml.
+	public boolean exists(String userOrg, String repo, String groupId, String artifactId, String version, String artifactExtension) throws IOException {
+		try {
+			Response response = head(userOrg, repo, groupId, artifactId, version, artifactExtension);
+			if (response.status() == 404) {
+				return false;
+			}
+			checkProbeStatus(response, userOrg, repo, groupId, artifactId, version, artifactExtension);
+			return true;
+		} catch (RestClientException e) {
+			if (e.status() == 404) {
+				return false;	// SNAPSHOT without any metadata
+			}
+			throw e;
+		}
+	}
+
+	public boolean exists(String userOrg, String repo, String groupId, String artifactId, String version) throws IOException {
+		return exists(userOrg, repo, groupId, artifactId, version, DEFAULT_ARTIFACT_EXTENSION);
+	}
+
+	// Empty if the server does not report the size (or reports one that isn't a number).
+	public OptionalLong contentLength(String userOrg, String repo, String groupId, String artifactId, String version, String artifactExtension) throws IOException {
+		return contentLength(checkProbeStatus(head(userOrg, repo, groupId, artifactId, version, artifactExtension), userOrg, repo, groupId, artifactId, version, artifactExtension));
+	}
+
+	public OptionalLong contentLength(String userOrg, String repo, String groupId, String artifactId, String version) throws IOException {
+		return contentLength(userOrg, repo, groupId, artifactId, version, DEFAULT_ARTIFACT_EXTENSION);
+	}
+
+	// Empty if the server does not report (or reports an unparseable) modification time.
+	public Optional<Instant> lastModified(String userOrg, String repo, String groupId, String artifactId, String version, String artifactExtension) throws IOException {
+		Response response = checkProbeStatus(head(userOrg, repo, groupId, artifactId, version, artifactExtension), userOrg, repo, groupId, artifactId, version, artifactExtension);
+		try {
+			return response.header("Last-Modified").map(lm->ZonedDateTime.parse(lm, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+		} catch (DateTimeParseException e) {
+			return Optional.empty();
+		}
+	}
+
+	public Optional<Instant> lastModified(String userOrg, String repo, String groupId, String artifactId, String version) throws IOException {
+		return lastModified(userOrg, repo, groupId, artifactId, version, DEFAULT_ARTIFACT_EXTENSION);
+	}
+
+	private Response head(String userOrg, String repo, String groupId, String artifactId, String version, String artifactExtension) throws IOException {
+		ResolvedArtifact resolved = resolve(userOrg, repo, groupId, artifactId, version, artifactExtension, this::fetchMetadataChecked);
+		return client.head(resolved.path());
+	}
+
+	private static Response checkProbeStatus(Response response, String userOrg, String repo, String groupId, String artifactId, String version, String artifactExtension) {
+		if (response.status() != 200) {
+			throw new RestClientException(response.status(), "Unable to find '%s', status code %d returned.".formatted(new ArtifactCoordinates(userOrg, repo, groupId, artifactId, version, artifactExtension), response.status()));
+		}
+		return response;
+	}
+
+	// Downloads all the artifacts into targetDir, at most maxConcurrency at a time.  Failures are recorded in the report rather than thrown.
+	public DownloadReport downloadAll(Collection<ArtifactCoordinates> artifacts, Path targetDir, int maxConcurrency, CopyOption... options) throws IOException, InterruptedException {
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("maxConcurrency must be at least 1 but was %d.".formatted(maxConcurrency));
+		}
+		Files.createDirectories(targetDir);
+		Semaphore permits = new Semaphore(maxConcurrency);
+		List<CompletableFuture<DownloadReport.Result>> results = new ArrayList<>(artifacts.size());
+		for (ArtifactCoordinates artifact : artifacts) {
+			permits.acquire();
+			results.add(async(()->download(artifact, targetDir, options)).exceptionally(t->DownloadReport.Result.failure(artifact, Duration.ZERO, t))
+																		  .whenComplete((r, t)->permits.release()));
+		}
+		return new DownloadReport(results.stream().map(CompletableFuture::join).toList());
+	}
+
+	private DownloadReport.Result download(ArtifactCoordinates artifact, Path targetDir, CopyOption... options) {
+		long start = System.nanoTime();
+		try {
+			ResolvedArtifact resolved = resolve(artifact.userOrg(), artifact.repo(), artifact.groupId(), artifact.artifactId(), artifact.version(), artifact.extension());
+			Path target = targetDir.resolve(resolved.artifactName());
+			long bytes = copy(resolved, target, options);
+			return DownloadReport.Result.success(artifact, target, bytes, Duration.ofNanos(System.nanoTime() - start));
+		} catch (Exception e) {
+			return DownloadReport.Result.failure(artifact, Duration.ofNanos(System.nanoTime() - start), e);
+		}
+	}
+
+	// Resolves the artifact and its transitive dependencies, see DependencyResolver.
+	public DependencyResolver dependencyResolver() {
+		return new DependencyResolver(this);
+	}
+
+	// Watches SNAPSHOT versions for new builds, polling each one about once every interval, see SnapshotWatcher.
+	public SnapshotWatcher snapshotWatcher(Duration interval) {
+		return new SnapshotWatcher(this, interval);
+	}
+
+	// Reads the whole of a (small) artifact such as a .pom, failing with a RestClientException if it is not there.
+	byte[] read(ArtifactCoordinates artifact) throws IOException {
+		ResolvedArtifact resolved = resolve(artifact.userOrg(), artifact.repo(), artifact.groupId(), artifact.artifactId(), artifact.version(), artifact.extension(), this::fetchMetadataChecked);
+		ChecksumVerifier verifier = checksumVerifier(resolved);
+		byte[] contents = fetchChecked(resolved.path());
+		if (verifier != null) {
+			try (InputStream in = verifier.digesting(new ByteArrayInputStream(contents))) {
+				in.transferTo(OutputStream.nullOutputStream());
+			}
+			verifier.verify();
+		}
+		return contents;
+	}
+
+	// Reads a (small) file by its path in the repository (e.g. "/org/repo/com/example/lib/maven-metadata.xml"), for MirrorSync.
+	byte[] read(String path) throws IOException {
+		return fetchChecked(path);
+	}
+
+	// Copies a file by its path in the repository, replacing the target.  Uses the same cache, ranged/resumable downloads and
+	// checksum verification as copyTo().
+	long copy(String path, Path target) throws IOException {
+		return copy(new ResolvedArtifact(path, target.getFileName().toString()), target, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	// Requests a file by its path in the repository without going through the cache, e.g. for conditional requests.
+	Response request(String path, Map<String, String> headers) {
+		return client.get(path, headers);
+	}
+
+	// Discards any cached metadata for a version, e.g. once a new SNAPSHOT build has been seen.
+	void invalidateMetadata(ArtifactCoordinates artifact) {
+		if (metadataCache != null) {
+			metadataCache.invalidate(artifact.userOrg(), artifact.repo(), artifact.groupId(), artifact.artifactId(), artifact.version());
+		}
+	}
+
+	// Streams a file by its path in the repository through the ArtifactCache (which must be set), for RepositoryProxy.
+	ArtifactCache.Streamed stream(String path) throws IOException {
+		return artifactCache.stream(path, client, listener, backgroundExecutor());
+	}
+
+	// The size of a file if it is in the ArtifactCache (and is a release file, which doesn't need revalidating), for RepositoryProxy.
+	OptionalLong cachedLength(String path) {
+		return artifactCache != null ? artifactCache.cachedLength(path) : OptionalLong.empty();
+	}
+
+	// The size of a file according to a HEAD request, failing with a RestClientException if it is not there.
+	OptionalLong headLength(String path) {
+		Response response = client.head(path);
+		if (response.status() != 200) {
+			throw new RestClientException(response.status(), "Unable to find '%s', status code %d returned.".formatted(path, response.status()));
+		}
+		return contentLength(response);
+	}
+
+	// Empty if the server does not report (or reports an unparseable) length.
+	private static OptionalLong contentLength(Response response) {
+		try {
+			Optional<String> contentLength = response.header("Content-Length");
+			return contentLength.isPresent() ? OptionalLong.of(Long.parseLong(contentLength.get().trim())) : OptionalLong.empty();
+		} catch (NumberFormatException e) {
+			return OptionalLong.empty();
+		}
+	}
+
+	// The path of the file a non-timestamped SNAPSHOT file name (e.g. artifact-1.0-SNAPSHOT.jar, or artifact-1.0-SNAPSHOT-sources.jar
+	// with a classifier) currently refers to.
+	String snapshotPath(String userOrg, String repo, String groupId, String artifactId, String version, Optional<String> classifier, String artifactExtension) throws IOException {
+		if (classifier.isEmpty()) {
+			return resolve(userOrg, repo, groupId, artifactId, version, artifactExtension, this::fetchMetadataChecked).path();
+		}
+		String path = "/%s/%s/%s/%s/%s/".formatted(userOrg, repo, groupId.replace('.', '/'), artifactId, version);
+		MetadataCache.Key metadataKey = new MetadataCache.Key(userOrg, repo, groupId, artifactId, version);
+		MavenMetadata metadata = metadataCache != null ? cachedMetadata(metadataKey, path, this::fetchMetadataChecked)
+													   : loadMetadata(path, this::fetchMetadataChecked);
+		// The last one listed, the same as for files without a classifier
+		return path + metadata.snapshotVersions().stream()
+							  .filter(v->v.classifier().equals(classifier) && v.extension().equals(artifactExtension))
+							  .reduce((first, last)->last)
+							  .orElseThrow(()->new NoSuchElementException("Unable to locate latest -%s.%s name (%s) in the metadata for %s.".formatted(classifier.get(), artifactExtension, artifactId, version)))
+							  .fileName(artifactId);
+	}
+
+	// The artifact with LATEST, RELEASE or a version range replaced by the version it resolves to.
+	ArtifactCoordinates resolveVersion(ArtifactCoordinates artifact) throws IOException {
+		String version = resolveVersion(artifact.userOrg(), artifact.repo(), artifact.groupId(), artifact.artifactId(), artifact.version());
+		return version.equals(artifact.version()) ? artifact : new ArtifactCoordinates(artifact.userOrg(), artifact.repo(), artifact.groupId(), artifact.artifactId(), version, artifact.extension());
+	}
+
 	private static record GetResult(InputStream resultStream, String artifactName) {} ;
 
 	private GetResult internalGet(String userOrg, String repo, String groupId, String artifactId, String version, String artifactExtension)
 			throws IOException {
+		ResolvedArtifact resolved = resolve(userOrg, repo, groupId, artifactId, version, artifactExtension);
+		ChecksumVerifier verifier = checksumVerifier(resolved);
+		if (verifier == null) {
+			return new GetResult(fetch(resolved.path()), resolved.artifactName());
+		}
+		InputStream resultStream = verifier.verifying(fetch(resolved.path()), ()->{
+			if (artifactCache != null) {
+				artifactCache.remove(resolved.path());	// Don't keep serving bad content
+			}
+		});
+		return new GetResult(resultStream, resolved.artifactName());
+	}
+
+	// The location of an artifact in the repository along with the name it should be saved under.
+	private static record ResolvedArtifact(String path, String artifactName) {} ;
+
+	private ResolvedArtifact resolve(String userOrg, String repo, String groupId, String artifactId, String version, String artifactExtension)
+			throws IOException {
+		return resolve(userOrg, repo, groupId, artifactId, version, artifactExtension, this::fetchMetadata);
+	}
+
+	private ResolvedArtifact resolve(String userOrg, String repo, String groupId, String artifactId, String versionSpec, String artifactExtension, MetadataFetcher metadataFetcher)
+			throws IOException {
+		String version = resolveVersion(userOrg, repo, groupId, artifactId, versionSpec);
 		String path = "/%s/%s/%s/%s/%s/".formatted(userOrg, repo, groupId.replace('.', '/'), artifactId, version);
-		return version.endsWith("SNAPSHOT") ? getSnapshot(artifactId, artifactExtension, path) 
-											: getFinal(artifactId, version, artifactExtension, path);
+		return version.endsWith("SNAPSHOT") ? resolveSnapshot(new MetadataCache.Key(userOrg, repo, groupId, artifactId, version), artifactExtension, path, metadataFetcher) 
+											: resolveFinal(artifactId, version, artifactExtension, path);
 	}
 
-	private GetResult getFinal(String artifactId, String version, String artifactExtension, String path) throws IOException {
+	// LATEST, RELEASE and version ranges are resolved using the artifact level maven-metadata.xml, other versions are used as is.
+	private String resolveVersion(String userOrg, String repo, String groupId, String artifactId, String versionSpec) throws IOException {
+		if (!versionSpec.equals(LATEST) && !versionSpec.equals(RELEASE) && !VersionRange.isRange(versionSpec)) {
+			return versionSpec;
+		}
+		MavenMetadata metadata = artifactMetadata(userOrg, repo, groupId, artifactId);
+		Optional<String> version = switch (versionSpec) {
+			case LATEST -> metadata.latest().or(()->MavenVersion.newest(metadata.versions(), v->true));
+			case RELEASE -> metadata.release().or(()->MavenVersion.newest(metadata.versions(), v->!MavenVersion.isSnapshot(v)));
+			default -> VersionRange.parse(versionSpec).newest(metadata.versions());
+		};
+		return version.orElseThrow(()->new NoSuchElementException("No version of %s:%s matches '%s', available versions are %s.".formatted(groupId, artifactId, versionSpec, metadata.versions())));
+	}
+
+	// The metadata listing an artifact's versions, which is cached along with the SNAPSHOT metadata if there is a MetadataCache.
+	private MavenMetadata artifactMetadata(String userOrg, String repo, String groupId, String artifactId) throws IOException {
+		String path = "/%s/%s/%s/%s/".formatted(userOrg, repo, groupId.replace('.', '/'), artifactId);
+		return metadataCache != null ? cachedMetadata(MetadataCache.Key.forArtifact(userOrg, repo, groupId, artifactId), path, this::fetchMetadataChecked)
+									 : loadMetadata(path, this::fetchMetadataChecked);
+	}
+
+	private ResolvedArtifact resolveFinal(String artifactId, String version, String artifactExtension, String path) {
 		// https://maven.pkg.github.com/4PointSolutions/FluentFormsAPI/com/_4point/aem/fluentforms.core/0.0.3/fluentforms.core-0.0.3.jar
-		return new GetResult(restClient.get("%s%s-%s.%s".formatted(path, artifactId, version, artifactExtension)), "%s-%s.%s".formatted(artifactId, version, artifactExtension));
+		String artifactName = "%s-%s.%s".formatted(artifactId, version, artifactExtension);
+		return new ResolvedArtifact(path + artifactName, artifactName);
 	}
 
-	private GetResult getSnapshot(String artifactId, String artifactExtension, String path) throws IOException {
+	private ResolvedArtifact resolveSnapshot(MetadataCache.Key metadataKey, String artifactExtension, String path, MetadataFetcher metadataFetcher) throws IOException {
+		String artifactId = metadataKey.artifactId();
 		// Get the Maven Metadata first
-		byte[] metadataBytes = restClient.get(path + "maven-metadata.xml").readAllBytes();
+		MavenMetadata mavenMetadata = (metadataCache != null ? cachedMetadata(metadataKey, path, metadataFetcher) 
+															 : loadMetadata(path, metadataFetcher)).forExtension(artifactExtension);
+		// Determine the latest version
+		String latestJarName = mavenMetadata.getLatestArtifactName(artifactId);
+		return new ResolvedArtifact(path + latestJarName, mavenMetadata.getSnapshotName(artifactId));
+	}
+
+	@FunctionalInterface
+	private interface MetadataFetcher {
+		byte[] fetch(String path) throws IOException;
+	}
+
+	private MavenMetadata cachedMetadata(MetadataCache.Key metadataKey, String path, MetadataFetcher metadataFetcher) throws IOException {
+		AtomicBoolean loaded = new AtomicBoolean();
+		MavenMetadata metadata = metadataCache.get(metadataKey, ()->{
+			loaded.set(true);
+			return loadMetadata(path, metadataFetcher);
+		});
+		if (loaded.get()) {
+			listener.cacheMiss(GithubPackagesListener.Cache.METADATA, path);
+		} else {
+			listener.cacheHit(GithubPackagesListener.Cache.METADATA, path);
+		}
+		return metadata;
+	}
+
+	private MavenMetadata loadMetadata(String path, MetadataFetcher metadataFetcher) throws IOException {
+		byte[] metadataBytes = metadataFetcher.fetch(path);
 		try {
-			// Determine the latest version
-			MavenMetadata mavenMetadata = MavenMetadata.from(metadataBytes, artifactExtension);
-			String latestJarName = mavenMetadata.getLatestArtifactName(artifactId);
-			// Get the latest version
-			return new GetResult(restClient.get(path + latestJarName), mavenMetadata.getSnapshotName(artifactId));
+			long start = System.nanoTime();
+			MavenMetadata metadata = MavenMetadata.parse(metadataBytes);
+			listener.metadataParsed(path, Duration.ofNanos(System.nanoTime() - start));
+			return metadata;
 		} catch (XmlDocumentException e) {
 			String metaDataXml = new String(metadataBytes, StandardCharsets.UTF_8);
-			throw new XmlDocumentException("Error parsing Metadata, Xml=''.".formatted(metaDataXml), e);
+			throw new XmlDocumentException("Error parsing Metadata, Xml='%s'.".formatted(metaDataXml), e);
+		}
+	}
+
+	private long copy(final ResolvedArtifact resolved, final Path target, final CopyOption... options) throws IOException {
+		if (verboseMode) {
+			System.out.println("Copying to '" + target.toString() + "'.");
+		}
+		ChecksumVerifier verifier = checksumVerifier(resolved);
+		if (artifactCache != null) {
+			// The cache already avoids repeat transfers, so just copy out of it.  Into a temporary file that is moved into place, so
+			// that concurrent copies to the same target don't trip over each other and a failed copy leaves the target as it was.
+			boolean replaceExisting = Arrays.asList(options).contains(StandardCopyOption.REPLACE_EXISTING);
+			if (!replaceExisting && Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+				throw new FileAlreadyExistsException(target.toString());
+			}
+			return AtomicFiles.write(target, replaceExisting, temp->{
+				long size;
+				try (InputStream in = artifactCache.get(resolved.path(), client, listener);
+					 FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+					size = ByteChannels.copy(in, verifier != null ? verifier.digesting(out) : out);
+				}
+				if (verifier != null) {
+					try {
+						verifier.verify();
+					} catch (ChecksumException e) {
+						artifactCache.remove(resolved.path());
+						throw e;
+					}
+				}
+				return size;
+			});
+		}
+		return rangedDownloads != null ? rangedDownloads.copy(client, resolved.path(), target, backgroundExecutor(), verifier, options)
+									   : ResumableDownloads.copy(client, resolved.path(), target, verifier, options);
+	}
+
+	// Streams into a caller supplied channel, which is left open.  Content that fails checksum verification has already been written
+	// by the time the ChecksumException is thrown, so callers that verify checksums should discard what they wrote.
+	private long copy(final ResolvedArtifact resolved, final WritableByteChannel target) throws IOException {
+		ChecksumVerifier verifier = checksumVerifier(resolved);
+		WritableByteChannel out = verifier != null ? verifier.digesting(target) : target;
+		long size;
+		if (artifactCache != null) {
+			try (InputStream in = artifactCache.get(resolved.path(), client, listener)) {
+				size = ByteChannels.copy(in, out);
+			}
+		} else {
+			Response response = client.get(resolved.path(), Map.of());
+			try (InputStream in = response.body()) {
+				if (response.status() != 200) {
+					throw new RestClientException(response.status(), "Unable to retrieve '%s', status code %d returned.".formatted(resolved.path(), response.status()));
+				}
+				size = ByteChannels.copy(in, out);
+			}
+		}
+		if (verifier != null) {
+			try {
+				verifier.verify();
+			} catch (ChecksumException e) {
+				if (artifactCache != null) {
+					artifactCache.remove(resolved.path());
+				}
+				throw e;
+			}
+		}
+		return size;
+	}
+
+	// Unzips the artifact into dir as it is downloaded (or read from the cache, which it is streamed into if it isn't there yet).
+	private List<Path> extract(final ResolvedArtifact resolved, final Path dir, final Predicate<String> filter) throws IOException {
+		ChecksumVerifier verifier = checksumVerifier(resolved);
+		InputStream in;
+		if (artifactCache != null) {
+			in = artifactCache.stream(resolved.path(), client, listener, backgroundExecutor()).body();
+		} else {
+			Response response = client.get(resolved.path(), Map.of());
+			if (response.status() != 200) {
+				response.body().close();
+				throw new RestClientException(response.status(), "Unable to retrieve '%s', status code %d returned.".formatted(resolved.path(), response.status()));
+			}
+			in = response.body();
+		}
+		// As with copying to a channel, files have already been extracted by the time a ChecksumException is thrown
+		try (InputStream verified = verifier != null ? verifier.verifying(in, ()->{
+					if (artifactCache != null) {
+						artifactCache.remove(resolved.path());
+					}
+				}) : in) {
+			return ZipExtractor.extract(verified, dir, filter, this);
+		}
+	}
+
+	// Starts fetching the published checksum, null if checksums are not being verified.
+	private ChecksumVerifier checksumVerifier(ResolvedArtifact resolved) {
+		if (checksumAlgorithm == null) {
+			return null;
+		}
+		String checksumPath = resolved.path() + "." + checksumAlgorithm.extension();
+		return new ChecksumVerifier(checksumAlgorithm, resolved.path(), background(()->ChecksumVerifier.parse(fetchChecked(checksumPath))));
+	}
+
+	private byte[] fetchMetadata(String path) throws IOException {
+		try (InputStream is = fetch(path + "maven-metadata.xml")) {
+			return is.readAllBytes();
+		}
+	}
+
+	// Like fetchMetadata() but fails with a RestClientException (rather than returning the error body) if the metadata is not there.
+	private byte[] fetchMetadataChecked(String path) throws IOException {
+		return fetchChecked(path + "maven-metadata.xml");
+	}
+
+	// Reads a (small) file, failing with a RestClientException if it is not there.
+	private byte[] fetchChecked(String path) throws IOException {
+		if (artifactCache != null) {
+			try (InputStream is = artifactCache.get(path, client, listener)) {	// The cache already checks the status
+				return is.readAllBytes();
+			}
+		}
+		Response response = client.get(path, Map.of());
+		try (InputStream is = response.body()) {
+			if (response.status() != 200) {
+				throw new RestClientException(response.status(), "Unable to retrieve '%s', status code %d returned.".formatted(path, response.status()));
+			}
+			return is.readAllBytes();
+		}
+	}
+
+	private InputStream fetch(String path) throws IOException {
+		return artifactCache != null ? artifactCache.get(path, client, listener) : client.get(path);
+	}
+
+	@FunctionalInterface
+	interface IOSupplier<T> {
+		T get() throws IOException;
+	}
+
+	// Runs the supplier on the executor, any exception it throws (including IOExceptions) completes the future exceptionally.  Only
+	// for work that nothing else running on the executor waits for, see background().
+	<T> CompletableFuture<T> async(IOSupplier<T> supplier) {
+		return supplyOn(executor(), supplier);
+	}
+
+	// Runs the supplier on its own virtual thread.  Used for work that another task waits for (checksums, ranges, extracted entries,
+	// etc.), which never goes to the executor: if every thread of a bounded executor were waiting for work queued behind it, nothing
+	// would ever finish.
+	<T> CompletableFuture<T> background(IOSupplier<T> supplier) {
+		return supplyOn(backgroundExecutor(), supplier);
+	}
+
+	static Executor backgroundExecutor() {
+		return DefaultExecutor.INSTANCE;
+	}
+
+	private static <T> CompletableFuture<T> supplyOn(Executor executor, IOSupplier<T> supplier) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		try {
+			executor.execute(()->{
+				try {
+					result.complete(supplier.get());
+				} catch (Throwable t) {
+					result.completeExceptionally(t);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			result.completeExceptionally(e);
 		}
+		return result;
+	}
+
+	private Executor executor() {
+		return executor != null ? executor : DefaultExecutor.INSTANCE;
+	}
+
+	// Holder class so that the default executor is only created if it is used.
+	private static class DefaultExecutor {
+		private static final Executor INSTANCE = Executors.newVirtualThreadPerTaskExecutor();
 	}
 	
 
@@ -111,6 +665,26 @@ public class GithubPackages {
 			return GithubPackages.this.get(userOrg, repo, groupId, artifactId, versionId, artifactExtension);
 		}
 		
+		public CompletableFuture<InputStream> getAsync(String groupId, String artifactId, String versionId) {
+			return GithubPackages.this.getAsync(userOrg, repo, groupId, artifactId, versionId);
+		}
+		
+		public CompletableFuture<InputStream> getAsync(String groupId, String artifactId, String versionId, String artifactExtension) {
+			return GithubPackages.this.getAsync(userOrg, repo, groupId, artifactId, versionId, artifactExtension);
+		}
+		
+		// Downloads artifacts ("groupId:artifactId:version[:extension]") from this repository into targetDir, at most maxConcurrency at a time.
+		public DownloadReport downloadAll(Collection<String> coordinates, Path targetDir, int maxConcurrency, CopyOption... options) throws IOException, InterruptedException {
+			List<ArtifactCoordinates> artifacts = coordinates.stream().map(c->ArtifactCoordinates.parse(userOrg, repo, c)).toList();
+			return GithubPackages.this.downloadAll(artifacts, targetDir, maxConcurrency, options);
+		}
+		
+		// Mirrors artifacts ("groupId:artifactId", all versions) into localDir in the standard Maven repository layout, only
+		// transferring what has changed since the last sync.  Failures are recorded in the report rather than thrown.
+		public SyncReport sync(Collection<String> artifacts, Path localDir, int maxConcurrency) throws IOException, InterruptedException {
+			return MirrorSync.sync(GithubPackages.this, userOrg, repo, artifacts, localDir, maxConcurrency);
+		}
+		
 		public Group group(String groupId) {
 			return new Group(groupId);
 		}
@@ -130,12 +704,25 @@ public class GithubPackages {
 				return GithubPackages.this.get(userOrg, repo, groupId, artifactId, versionId, artifactExtension);
 			}
 			
+			public CompletableFuture<InputStream> getAsync(String artifactId, String versionId) {
+				return GithubPackages.this.getAsync(userOrg, repo, groupId, artifactId, versionId);
+			}
+			
+			public CompletableFuture<InputStream> getAsync(String artifactId, String versionId, String artifactExtension) {
+				return GithubPackages.this.getAsync(userOrg, repo, groupId, artifactId, versionId, artifactExtension);
+			}
+			
+			// Mirrors artifacts in this group (all versions) into localDir, see Repo.sync().
+			public SyncReport sync(Collection<String> artifactIds, Path localDir, int maxConcurrency) throws IOException, InterruptedException {
+				return Repo.this.sync(artifactIds.stream().map(a->groupId + ":" + a).toList(), localDir, maxConcurrency);
+			}
+			
 			public Artifact artifact(String artifactId) {
 				return new Artifact(artifactId);
 			}
 			
 			public class Artifact {
-				private String artifactId;
+				private final String artifactId;
 
 				private Artifact(String artifactId) {
 					this.artifactId = artifactId;
@@ -149,9 +736,27 @@ public class GithubPackages {
 					return GithubPackages.this.get(userOrg, repo, groupId, artifactId, versionId, artifactExtension);
 				}
 				
+				public CompletableFuture<InputStream> getAsync(String versionId) {
+					return GithubPackages.this.getAsync(userOrg, repo, groupId, artifactId, versionId);
+				}
+				
+				public CompletableFuture<InputStream> getAsync(String versionId, String artifactExtension) {
+					return GithubPackages.this.getAsync(userOrg, repo, groupId, artifactId, versionId, artifactExtension);
+				}
+				
 				public Version version(String versionId) {
 					return new Version(versionId);
 				}
+
+				// All the versions deployed, oldest first.
+				public List<String> versions() throws IOException {
+					return MavenVersion.sorted(artifactMetadata(userOrg, repo, groupId, artifactId).versions());
+				}
+
+				// The version that LATEST, RELEASE or a version range resolves to (other versions are returned unchanged).
+				public String resolveVersion(String versionSpec) throws IOException {
+					return GithubPackages.this.resolveVersion(userOrg, repo, groupId, artifactId, versionSpec);
+				}
 				
 				public class Version {
 					private final String versionId;
@@ -172,6 +777,34 @@ public class GithubPackages {
 						return extension(DEFAULT_ARTIFACT_EXTENSION).copyTo(target, options);
 					}
 
+					public long copyTo(final WritableByteChannel target) throws IOException {
+						return extension(DEFAULT_ARTIFACT_EXTENSION).copyTo(target);
+					}
+
+					public CompletableFuture<InputStream> getAsync() {
+						return GithubPackages.this.getAsync(userOrg, repo, groupId, artifactId, versionId, DEFAULT_ARTIFACT_EXTENSION);
+					}
+					
+					public CompletableFuture<InputStream> getAsync(String artifactExtension) {
+						return GithubPackages.this.getAsync(userOrg, repo, groupId, artifactId, versionId, artifactExtension);
+					}
+
+					public CompletableFuture<Long> copyToAsync(final Path target, final CopyOption... options) {
+						return extension(DEFAULT_ARTIFACT_EXTENSION).copyToAsync(target, options);
+					}
+
+					public boolean exists() throws IOException {
+						return extension(DEFAULT_ARTIFACT_EXTENSION).exists();
+					}
+
+					public OptionalLong contentLength() throws IOException {
+						return extension(DEFAULT_ARTIFACT_EXTENSION).contentLength();
+					}
+
+					public Optional<Instant> lastModified() throws IOException {
+						return extension(DEFAULT_ARTIFACT_EXTENSION).lastModified();
+					}
+
 					public Extension extension(String artifactExtension) {
 						return new Extension(artifactExtension);
 					}
@@ -188,22 +821,48 @@ public class GithubPackages {
 						}
 						
 						public long copyTo(final Path target, final CopyOption... options) throws IOException {
+							ResolvedArtifact resolved = GithubPackages.this.resolve(userOrg, repo, groupId, artifactId, versionId, extension);
 							if (Files.exists(target) && Files.isDirectory(target)) {
-								GetResult getResult = GithubPackages.this.internalGet(userOrg, repo, groupId, artifactId, versionId, extension);
-								return copy(getResult.resultStream(), target.resolve(getResult.artifactName()), options);
+								return copy(resolved, target.resolve(resolved.artifactName()), options);
 							} else {
-								InputStream in = get();
-								return copy(in, target, options);
+								return copy(resolved, target, options);
 							}
 						}
 
-						private long copy(final InputStream in, final Path target, final CopyOption... options) throws IOException {
-							if (verboseMode) {
-								System.out.println("Copying to '" + target.toString() + "'.");
-							}
-							return Files.copy(in, target, options);
+						// Writes the artifact to the channel (which is not closed), e.g. a socket or an already open file.
+						public long copyTo(final WritableByteChannel target) throws IOException {
+							return copy(GithubPackages.this.resolve(userOrg, repo, groupId, artifactId, versionId, extension), target);
+						}
+
+						// Unzips the artifact (e.g. a zip or jar) into dir as it downloads, rather than copying it to a file and
+						// unzipping that.  Only entries whose names the filter accepts are extracted.  Returns the files extracted.
+						public List<Path> extractTo(final Path dir, final Predicate<String> filter) throws IOException {
+							return extract(GithubPackages.this.resolve(userOrg, repo, groupId, artifactId, versionId, extension), dir, filter);
+						}
+
+						public List<Path> extractTo(final Path dir) throws IOException {
+							return extractTo(dir, name->true);
+						}
+
+						public CompletableFuture<InputStream> getAsync() {
+							return GithubPackages.this.getAsync(userOrg, repo, groupId, artifactId, versionId, extension);
 						}
 						
+						public CompletableFuture<Long> copyToAsync(final Path target, final CopyOption... options) {
+							return async(()->copyTo(target, options));
+						}
+
+						public boolean exists() throws IOException {
+							return GithubPackages.this.exists(userOrg, repo, groupId, artifactId, versionId, extension);
+						}
+
+						public OptionalLong contentLength() throws IOException {
+							return GithubPackages.this.contentLength(userOrg, repo, groupId, artifactId, versionId, extension);
+						}
+
+						public Optional<Instant> lastModified() throws IOException {
+							return GithubPackages.this.lastModified(userOrg, repo, groupId, artifactId, versionId, extension);
+						}
 					}
 				}
 			}
@@ -0,0 +1,38 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.time.Duration;
+
+// Receives events from GithubPackages, e.g. to collect metrics or for logging.
+//
+// All methods have no-op defaults so implementations only override the events they are interested in.  Events are delivered on the
+// thread doing the work (often several threads at once) so implementations must be thread-safe and should return quickly.
+public interface GithubPackagesListener {
+	GithubPackagesListener NONE = new GithubPackagesListener() {};
+
+	enum Cache {
+		ARTIFACT,	// ArtifactCache, keys are file paths
+		METADATA,	// MetadataCache, keys are maven-metadata.xml locations
+		;
+	}
+
+	// A request ("GET" or "HEAD") is about to be sent.
+	default void requestStarted(String method, String path) {}
+
+	// The status and headers have arrived, the body may still be streaming.
+	default void responseReceived(String method, String path, int status, Duration timeToFirstByte) {}
+
+	// The body has been read to the end or closed, elapsed is measured from the start of the request.
+	default void responseCompleted(String method, String path, long bytes, Duration elapsed) {}
+
+	// The request failed without a response (connection refused, timeout, etc.).
+	default void requestFailed(String method, String path, Throwable failure, Duration elapsed) {}
+
+	// A request is going to be sent again after the given delay, attempt is the number of the attempt that failed.
+	default void retrying(String method, String path, int attempt, Duration delay) {}
+
+	default void metadataParsed(String path, Duration parseTime) {}
+
+	default void cacheHit(Cache cache, String key) {}
+
+	default void cacheMiss(Cache cache, String key) {}
+}
@@ -0,0 +1,200 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// GithubPackagesListener that aggregates events into counters and latency histograms, ready to be exported to a monitoring system.
+//
+// Recording is lock-free so it is cheap enough to leave on in production.  Histograms have a relative error of at most 12.5%.
+public final class InMemoryMetrics implements GithubPackagesListener {
+	private final Histogram timeToFirstByte = new Histogram();
+	private final Histogram requestDuration = new Histogram();
+	private final Histogram metadataParseTime = new Histogram();
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+	private final Map<Cache, LongAdder> cacheHits = counters();
+	private final Map<Cache, LongAdder> cacheMisses = counters();
+
+	@Override
+	public void requestStarted(String method, String path) {
+		requests.increment();
+	}
+
+	@Override
+	public void responseReceived(String method, String path, int status, Duration timeToFirstByte) {
+		statuses.computeIfAbsent(status, s->new LongAdder()).increment();
+		this.timeToFirstByte.record(timeToFirstByte);
+	}
+
+	@Override
+	public void responseCompleted(String method, String path, long bytes, Duration elapsed) {
+		this.bytes.add(bytes);
+		requestDuration.record(elapsed);
+	}
+
+	@Override
+	public void requestFailed(String method, String path, Throwable failure, Duration elapsed) {
+		failures.increment();
+	}
+
+	@Override
+	public void retrying(String method, String path, int attempt, Duration delay) {
+		retries.increment();
+	}
+
+	@Override
+	public void metadataParsed(String path, Duration parseTime) {
+		metadataParseTime.record(parseTime);
+	}
+
+	@Override
+	public void cacheHit(Cache cache, String key) {
+		cacheHits.get(cache).increment();
+	}
+
+	@Override
+	public void cacheMiss(Cache cache, String key) {
+		cacheMisses.get(cache).increment();
+	}
+
+	public Histogram timeToFirstByte() {
+		return timeToFirstByte;
+	}
+
+	// Time from sending the request until the body was fully read (or closed).
+	public Histogram requestDuration() {
+		return requestDuration;
+	}
+
+	public Histogram metadataParseTime() {
+		return metadataParseTime;
+	}
+
+	public long requests() {
+		return requests.sum();
+	}
+
+	public long failures() {
+		return failures.sum();
+	}
+
+	public long retries() {
+		return retries.sum();
+	}
+
+	public long bytes() {
+		return bytes.sum();
+	}
+
+	// Number of responses received for each HTTP status.
+	public Map<Integer, Long> statuses() {
+		Map<Integer, Long> result = new TreeMap<>();
+		statuses.forEach((status, count)->result.put(status, count.sum()));
+		return result;
+	}
+
+	public long cacheHits(Cache cache) {
+		return cacheHits.get(cache).sum();
+	}
+
+	public long cacheMisses(Cache cache) {
+		return cacheMisses.get(cache).sum();
+	}
+
+	private static Map<Cache, LongAdder> counters() {
+		Map<Cache, LongAdder> counters = new EnumMap<>(Cache.class);
+		for (Cache cache : Cache.values()) {
+			counters.put(cache, new LongAdder());
+		}
+		return counters;
+	}
+
+	// A histogram of durations using log-linear buckets - each power of two (in nanoseconds) is split into 8 equal buckets.
+	public static final class Histogram {
+		private static final int SUB_BUCKET_BITS = 3;
+		private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+		private static final int BUCKETS = SUB_BUCKETS * (Long.SIZE - SUB_BUCKET_BITS + 1);
+
+		private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+		private final LongAdder count = new LongAdder();
+		private final LongAdder sum = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		public void record(Duration duration) {
+			long nanos = Math.max(0, duration.toNanos());
+			counts.incrementAndGet(bucket(nanos));
+			count.increment();
+			sum.add(nanos);
+			max.accumulate(nanos);
+		}
+
+		public long count() {
+			return count.sum();
+		}
+
+		public Duration mean() {
+			long n = count.sum();
+			return n == 0 ? Duration.ZERO : Duration.ofNanos(sum.sum() / n);
+		}
+
+		public Duration max() {
+			return Duration.ofNanos(max.get());
+		}
+
+		// e.g. percentile(0.99) for the p99.  Returns the upper bound of the bucket the percentile falls in (capped at the maximum).
+		public Duration percentile(double percentile) {
+			if (percentile < 0 || percentile > 1) {
+				throw new IllegalArgumentException("percentile must be between 0 and 1 but was %f.".formatted(percentile));
+			}
+			long[] snapshot = new long[BUCKETS];
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				snapshot[i] = counts.get(i);
+				total += snapshot[i];
+			}
+			if (total == 0) {
+				return Duration.ZERO;
+			}
+			long rank = Math.max(1, (long) Math.ceil(percentile * total));
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += snapshot[i];
+				if (seen >= rank) {
+					return Duration.ofNanos(Math.min(upperBound(i), max.get()));
+				}
+			}
+			return max();
+		}
+
+		// Values below SUB_BUCKETS get a bucket each, above that the bucket is chosen by the exponent and the next SUB_BUCKET_BITS bits.
+		private static int bucket(long value) {
+			if (value < SUB_BUCKETS) {
+				return (int) value;
+			}
+			int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+			int shift = exponent - SUB_BUCKET_BITS;
+			int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+			return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+		}
+
+		private static long upperBound(int bucket) {
+			if (bucket < SUB_BUCKETS) {
+				return bucket;
+			}
+			int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+			int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+			long upper = ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+			return upper < 0 ? Long.MAX_VALUE : upper;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// RestClient decorator that reports each request to a GithubPackagesListener.
+final class InstrumentedRestClient implements RestClient {
+	private final RestClient delegate;
+	private final GithubPackagesListener listener;
+
+	InstrumentedRestClient(RestClient delegate, GithubPackagesListener listener) {
+		this.delegate = delegate;
+		this.listener = listener;
+	}
+
+	@Override
+	public InputStream get(String path) {
+		// Uses the Response form so that the status can be reported.
+		return send("GET", path, ()->delegate.get(path, Map.of())).body();
+	}
+
+	@Override
+	public Response get(String path, Map<String, String> headers) {
+		return send("GET", path, ()->delegate.get(path, headers));
+	}
+
+	@Override
+	public Response head(String path) {
+		return send("HEAD", path, ()->delegate.head(path));
+	}
+
+	private Response send(String method, String path, Supplier<Response> request) {
+		listener.requestStarted(method, path);
+		long start = System.nanoTime();
+		Response response;
+		try {
+			response = request.get();
+		} catch (RuntimeException e) {
+			listener.requestFailed(method, path, e, Duration.ofNanos(System.nanoTime() - start));
+			throw e;
+		}
+		listener.responseReceived(method, path, response.status(), Duration.ofNanos(System.nanoTime() - start));
+		return new Response(response.status(), response.headers(), new CountingInputStream(response.body(), method, path, start));
+	}
+
+	// Reports the number of bytes read once the body has been read to the end or closed, whichever comes first.  It is also a channel
+	// over the body's own channel, which ByteChannels.transfer() copies from directly, so bodies that can be transferred without
+	// copying (e.g. RestClientJdkImpl's) still are.
+	private class CountingInputStream extends InputStream implements ByteChannels.ChannelWrapper {
+		private final InputStream in;
+		private final ReadableByteChannel channel;
+		private final String method;
+		private final String path;
+		private final long start;
+		private long bytes = 0;
+		private boolean reported = false;
+
+		private CountingInputStream(InputStream in, String method, String path, long start) {
+			this.in = in;
+			this.channel = ByteChannels.readable(in);
+			this.method = method;
+			this.path = path;
+			this.start = start;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int result = in.read();
+			if (result < 0) {
+				report();
+			} else {
+				bytes++;
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return count(in.read(b, off, len));
+		}
+
+		@Override
+		public int read(ByteBuffer dst) throws IOException {
+			return count(channel.read(dst));
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = in.skip(n);
+			bytes += skipped;
+			return skipped;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return in.available();
+		}
+
+		// Left to the body, which may be able to do it without copying.
+		@Override
+		public long transferTo(OutputStream out) throws IOException {
+			long transferred = in.transferTo(out);
+			transferred(transferred);
+			return transferred;
+		}
+
+		@Override
+		public ReadableByteChannel unwrap() {
+			return channel;
+		}
+
+		@Override
+		public void transferred(long transferred) {
+			bytes += transferred;
+			report();
+		}
+
+		@Override
+		public boolean isOpen() {
+			return channel.isOpen();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				in.close();
+			} finally {
+				report();
+			}
+		}
+
+		private int count(int read) {
+			if (read < 0) {
+				report();
+			} else {
+				bytes += read;
+			}
+			return read;
+		}
+
+		private void report() {
+			if (!reported) {
+				reported = true;
+				listener.responseCompleted(method, path, bytes, Duration.ofNanos(System.nanoTime() - start));
+			}
+		}
+	}
+}
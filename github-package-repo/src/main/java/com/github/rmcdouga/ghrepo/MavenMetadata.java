@@ -1,62 +1,229 @@
 package com.github.rmcdouga.ghrepo;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.github.rmcdouga.ghrepo.XmlDocument.XmlDocumentException;
+
 
 public class MavenMetadata {
-	private final String METADATA_TAG = "/metadata/";
-	private final String VERSIONING_LATEST_XPATH = METADATA_TAG + "versioning/latest/text()";
-	private final XmlDocument xml;
+	private static final String VERSION_PATH = "/metadata/version";
+	private static final String LATEST_PATH = "/metadata/versioning/latest";
+	private static final String RELEASE_PATH = "/metadata/versioning/release";
+	private static final String VERSIONS_PATH = "/metadata/versioning/versions/version";
+	private static final String LAST_UPDATED_PATH = "/metadata/versioning/lastUpdated";
+	private static final String SNAPSHOT_TIMESTAMP_PATH = "/metadata/versioning/snapshot/timestamp";
+	private static final String SNAPSHOT_BUILD_NUMBER_PATH = "/metadata/versioning/snapshot/buildNumber";
+	private static final String SNAPSHOT_VERSION_PATH = "/metadata/versioning/snapshotVersions/snapshotVersion";
+	private static final String SNAPSHOT_EXTENSION_PATH = SNAPSHOT_VERSION_PATH + "/extension";
+	private static final String SNAPSHOT_VALUE_PATH = SNAPSHOT_VERSION_PATH + "/value";
+	private static final String SNAPSHOT_CLASSIFIER_PATH = SNAPSHOT_VERSION_PATH + "/classifier";
+	private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+	private final byte[] xml;							// Only retained for error messages
+	private final Optional<String> latestVersion;
+	private final Optional<String> version;
+	private final Map<String, String> lastSnapshotVersions;	// last snapshotVersion value for each extension
+	private final Versioning versioning;
 	private final String artifactExtension;
-	private final String versionXPath;
 
-	private MavenMetadata(XmlDocument xml, String artifactExtension) {
+	// The artifact level (as opposed to SNAPSHOT version level) parts of the metadata.
+	private record Versioning(Optional<String> release, List<String> versions, Optional<String> lastUpdated, Optional<Snapshot> snapshot, List<SnapshotVersion> snapshotVersions) {}
+
+	// The latest build of a SNAPSHOT version, e.g. timestamp 20221221.221800 and buildNumber 4 for 0.0.1-20221221.221800-4.
+	public static record Snapshot(String timestamp, int buildNumber) {
+		// The timestamped version of the build, e.g. 0.0.1-20221221.221800-4 for 0.0.1-SNAPSHOT.
+		public String version(String snapshotVersion) {
+			return "%s%s-%d".formatted(snapshotVersion.substring(0, snapshotVersion.length() - "SNAPSHOT".length()), timestamp, buildNumber);
+		}
+	}
+
+	// One of the files deployed for a SNAPSHOT version, e.g. value 0.0.1-20221221.221800-4 is the file artifactId-0.0.1-20221221.221800-4.jar.
+	public static record SnapshotVersion(Optional<String> classifier, String extension, String value) {
+		public String fileName(String artifactId) {
+			return "%s-%s%s.%s".formatted(artifactId, value, classifier.map(c->"-" + c).orElse(""), extension);
+		}
+	}
+
+	private MavenMetadata(byte[] xml, Optional<String> latestVersion, Optional<String> version, Map<String, String> lastSnapshotVersions, Versioning versioning, String artifactExtension) {
 		this.xml = xml;
+		this.latestVersion = latestVersion;
+		this.version = version;
+		this.lastSnapshotVersions = lastSnapshotVersions;
+		this.versioning = versioning;
 		this.artifactExtension = artifactExtension;
-		this.versionXPath = METADATA_TAG + "versioning/snapshotVersions/snapshotVersion/extension[text()='" + artifactExtension + "']/../value/text()";
 	}
 
 	public String getLatestArtifactName(String artifactId) {
-		return "%s-%s.%s".formatted(artifactId, 
-									latestVersion().or(this::lastSnapshotVersion)
-												   .orElseThrow(()->new NoSuchElementException("Unable to locate latest .%s name (%s) in XML (%s)".formatted(artifactExtension, artifactId, xml.toString()))),
+		return "%s-%s.%s".formatted(artifactId,
+									latestVersion.or(this::lastSnapshotVersion)
+												 .orElseThrow(()->new NoSuchElementException("Unable to locate latest .%s name (%s) in XML (%s)".formatted(artifactExtension, artifactId, xmlString()))),
 									artifactExtension
 									);
 	}
-	
+
 	public String getSnapshotName(String artifactId) {
-		return "%s-%s.%s".formatted(artifactId, 
-									 latestVersion().or(this::version)
-													.orElseThrow(()->new NoSuchElementException("Unable to locate snapshot name (%s) in XML (%s)".formatted(artifactId, xml.toString()))),
+		return "%s-%s.%s".formatted(artifactId,
+									 latestVersion.or(()->version)
+												  .orElseThrow(()->new NoSuchElementException("Unable to locate snapshot name (%s) in XML (%s)".formatted(artifactId, xmlString()))),
 									 artifactExtension
 									 );
 	}
-	
+
+	// The newest version deployed, which may be a SNAPSHOT (artifact level metadata only).
+	public Optional<String> latest() {
+		return latestVersion;
+	}
+
+	// The newest release version deployed (artifact level metadata only).
+	public Optional<String> release() {
+		return versioning.release();
+	}
+
+	// All the versions deployed, in the order they are listed (artifact level metadata only).
+	public List<String> versions() {
+		return versioning.versions();
+	}
+
+	// When the metadata was last updated, as a yyyyMMddHHmmss UTC timestamp.
+	public Optional<String> lastUpdated() {
+		return versioning.lastUpdated();
+	}
+
+	// The latest build of the SNAPSHOT version (SNAPSHOT version level metadata only).
+	public Optional<Snapshot> snapshot() {
+		return versioning.snapshot();
+	}
+
+	// Every file deployed for the SNAPSHOT version, in the order they are listed (SNAPSHOT version level metadata only).
+	public List<SnapshotVersion> snapshotVersions() {
+		return versioning.snapshotVersions();
+	}
+
 	public static MavenMetadata from(byte[] xml, String artifactExtension) {
-		return new MavenMetadata(XmlDocument.create(xml), artifactExtension);
-}
+		return parse(xml).forExtension(artifactExtension);
+	}
+
+	// The same metadata, but for a different artifact extension.  Does not re-parse the XML.
+	public MavenMetadata forExtension(String artifactExtension) {
+		return new MavenMetadata(xml, latestVersion, version, lastSnapshotVersions, versioning, artifactExtension);
+	}
 
-//	private String artifactId() {
-//		return xml.xpath(METADATA_TAG + "artifactId/text()").get(0);
-//	}
-//	
-	private Optional<String> version() {
-		List<String> version_results = xml.getStrings(METADATA_TAG + "version/text()");
-		return version_results.size() > 0 ? Optional.of(version_results.get(0))
-										  : Optional.empty();
+	// Extracts everything we need from the metadata in a single pass, without building a DOM.
+	static MavenMetadata parse(byte[] xml) {
+		String latestVersion = null;
+		String version = null;
+		String release = null;
+		String lastUpdated = null;
+		String snapshotTimestamp = null;
+		String snapshotBuildNumber = null;
+		List<String> versions = new ArrayList<>();
+		Map<String, String> lastSnapshotVersions = new HashMap<>();
+		String snapshotExtension = null;
+		String snapshotValue = null;
+		String snapshotClassifier = null;
+		List<SnapshotVersion> snapshotVersions = new ArrayList<>();
+		Deque<String> elementPaths = new ArrayDeque<>();
+		try {
+			XMLStreamReader reader = createReader(xml);
+			try {
+				while (reader.hasNext()) {
+					int event = reader.next();
+					if (event == XMLStreamConstants.START_ELEMENT) {
+						String elementPath = elementPaths.isEmpty() ? "/" + reader.getLocalName() : elementPaths.peek() + "/" + reader.getLocalName();
+						switch (elementPath) {
+							// Leaf elements, getElementText() consumes the end element so they are not pushed
+							case LATEST_PATH -> latestVersion = nonEmpty(reader.getElementText(), latestVersion);
+							case VERSION_PATH -> version = nonEmpty(reader.getElementText(), version);
+							case SNAPSHOT_EXTENSION_PATH -> snapshotExtension = reader.getElementText().trim();
+							case SNAPSHOT_VALUE_PATH -> snapshotValue = nonEmpty(reader.getElementText(), snapshotValue);
+							case SNAPSHOT_CLASSIFIER_PATH -> snapshotClassifier = nonEmpty(reader.getElementText(), snapshotClassifier);
+							case RELEASE_PATH -> release = nonEmpty(reader.getElementText(), release);
+							case LAST_UPDATED_PATH -> lastUpdated = nonEmpty(reader.getElementText(), lastUpdated);
+							case SNAPSHOT_TIMESTAMP_PATH -> snapshotTimestamp = nonEmpty(reader.getElementText(), snapshotTimestamp);
+							case SNAPSHOT_BUILD_NUMBER_PATH -> snapshotBuildNumber = nonEmpty(reader.getElementText(), snapshotBuildNumber);
+							case VERSIONS_PATH -> {
+								String listedVersion = reader.getElementText().trim();
+								if (!listedVersion.isEmpty()) {
+									versions.add(listedVersion);
+								}
+							}
+							default -> {
+								if (elementPath.equals(SNAPSHOT_VERSION_PATH)) {
+									snapshotExtension = null;
+									snapshotValue = null;
+									snapshotClassifier = null;
+								}
+								elementPaths.push(elementPath);
+							}
+						}
+					} else if (event == XMLStreamConstants.END_ELEMENT) {
+						if (SNAPSHOT_VERSION_PATH.equals(elementPaths.pop()) && snapshotExtension != null && snapshotValue != null) {
+							if (snapshotClassifier == null) {
+								lastSnapshotVersions.put(snapshotExtension, snapshotValue);
+							}
+							snapshotVersions.add(new SnapshotVersion(Optional.ofNullable(snapshotClassifier), snapshotExtension, snapshotValue));
+						}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new XmlDocumentException("Error while parsing Maven Metadata.", e);
+		}
+		Versioning versioning = new Versioning(Optional.ofNullable(release), List.copyOf(versions), Optional.ofNullable(lastUpdated), snapshot(snapshotTimestamp, snapshotBuildNumber), List.copyOf(snapshotVersions));
+		return new MavenMetadata(xml, Optional.ofNullable(latestVersion), Optional.ofNullable(version), Map.copyOf(lastSnapshotVersions), versioning, null);
 	}
-	
-	private Optional<String> latestVersion() {
-		List<String> latest_results = xml.getStrings(VERSIONING_LATEST_XPATH);
-		return latest_results.size() > 0 ? Optional.of(latest_results.get(0)) 
-										 : Optional.empty();
+
+	// Only when both parts are there, a SNAPSHOT deployed locally (mvn install) has <localCopy> instead of a timestamp and build number.
+	private static Optional<Snapshot> snapshot(String timestamp, String buildNumber) {
+		try {
+			return timestamp != null && buildNumber != null ? Optional.of(new Snapshot(timestamp, Integer.parseInt(buildNumber))) : Optional.empty();
+		} catch (NumberFormatException e) {
+			throw new XmlDocumentException("Invalid snapshot buildNumber '%s' in Maven Metadata.".formatted(buildNumber), e);
+		}
+	}
+
+	// Keep the first non-empty value, which is what the equivalent XPath expression would return.
+	private static String nonEmpty(String text, String existing) {
+		String trimmed = text.trim();
+		return existing != null || trimmed.isEmpty() ? existing : trimmed;
 	}
 
 	private Optional<String> lastSnapshotVersion() {
-		List<String> version_results = xml.getStrings(this.versionXPath);
-		return version_results.size() > 0 ?  Optional.of(version_results.get(version_results.size()-1)) 
-										  : Optional.empty();
+		return Optional.ofNullable(lastSnapshotVersions.get(artifactExtension));
+	}
+
+	private String xmlString() {
+		return new String(xml, StandardCharsets.UTF_8);
+	}
+
+	private static XMLStreamReader createReader(byte[] xml) throws XMLStreamException {
+		// XMLInputFactory is not guaranteed to be thread-safe, but the readers it creates are independent.
+		synchronized (XML_INPUT_FACTORY) {
+			return XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml));
+		}
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		return factory;
 	}
 }
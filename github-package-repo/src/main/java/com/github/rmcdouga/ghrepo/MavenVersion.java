@@ -0,0 +1,154 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+// Orders version strings the way Maven does (a simplified form of Maven's ComparableVersion).
+//
+// A version is split into numbers and qualifiers at '.', '-' and at changes between digits and letters, so 1.10 > 1.9 and
+// 1.0-rc1 splits into 1, 0, rc, 1.  Numbers compare numerically and are newer than qualifiers, trailing zeros are ignored
+// (1.0 == 1) and known qualifiers are ordered alpha < beta < milestone < rc < snapshot < (release) < sp.
+final class MavenVersion implements Comparable<MavenVersion> {
+	private static final int RELEASE_RANK = 5;
+	private static final int UNKNOWN_RANK = 7;		// Unknown qualifiers come after the known ones, in alphabetical order
+	private static final Map<String, Integer> QUALIFIER_RANKS = Map.ofEntries(
+			Map.entry("alpha", 0), Map.entry("a", 0),
+			Map.entry("beta", 1), Map.entry("b", 1),
+			Map.entry("milestone", 2), Map.entry("m", 2),
+			Map.entry("rc", 3), Map.entry("cr", 3),
+			Map.entry("snapshot", 4),
+			Map.entry("", RELEASE_RANK), Map.entry("ga", RELEASE_RANK), Map.entry("final", RELEASE_RANK), Map.entry("release", RELEASE_RANK),
+			Map.entry("sp", 6)
+			);
+	// Qualifiers that are spelled more than one way, so that equal versions are also equal items (and hash codes).
+	private static final Map<String, String> QUALIFIER_ALIASES = Map.of("a", "alpha", "b", "beta", "m", "milestone", "cr", "rc", "ga", "", "final", "", "release", "");
+
+	private final String version;
+	private final List<Object> items;	// BigInteger or String (lower case)
+
+	private MavenVersion(String version, List<Object> items) {
+		this.version = version;
+		this.items = items;
+	}
+
+	static MavenVersion of(String version) {
+		return new MavenVersion(version, normalize(split(version.trim().toLowerCase(Locale.ROOT))));
+	}
+
+	static boolean isSnapshot(String version) {
+		return version.endsWith("SNAPSHOT");
+	}
+
+	static Optional<String> newest(Collection<String> versions, Predicate<String> filter) {
+		return versions.stream().filter(filter).max(Comparator.comparing(MavenVersion::of));
+	}
+
+	static List<String> sorted(Collection<String> versions) {
+		return versions.stream().sorted(Comparator.comparing(MavenVersion::of)).toList();
+	}
+
+	@Override
+	public int compareTo(MavenVersion other) {
+		for (int i = 0; i < Math.max(items.size(), other.items.size()); i++) {
+			int result = compareItems(i < items.size() ? items.get(i) : null, i < other.items.size() ? other.items.get(i) : null);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof MavenVersion other && compareTo(other) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		return items.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return version;
+	}
+
+	private static List<Object> split(String version) {
+		List<Object> items = new ArrayList<>();
+		StringBuilder token = new StringBuilder();
+		for (char c : version.toCharArray()) {
+			boolean separator = c == '.' || c == '-';
+			if (separator || (!token.isEmpty() && Character.isDigit(c) != Character.isDigit(token.charAt(token.length() - 1)))) {
+				addItem(items, token);
+			}
+			if (!separator) {
+				token.append(c);
+			}
+		}
+		addItem(items, token);
+		return items;
+	}
+
+	private static void addItem(List<Object> items, StringBuilder token) {
+		if (!token.isEmpty()) {
+			String item = token.toString();
+			items.add(Character.isDigit(item.charAt(0)) ? new BigInteger(item) : QUALIFIER_ALIASES.getOrDefault(item, item));
+			token.setLength(0);
+		}
+	}
+
+	// Trailing zeros and release qualifiers don't change the version (1.0 == 1 == 1-ga), nor do zeros before a qualifier (1.0-rc1 == 1-rc1).
+	private static List<Object> normalize(List<Object> items) {
+		List<Object> normalized = new ArrayList<>();
+		for (Object item : items) {
+			if (item instanceof String) {
+				removeTrailingNulls(normalized);
+			}
+			normalized.add(item);
+		}
+		removeTrailingNulls(normalized);
+		return List.copyOf(normalized);
+	}
+
+	private static void removeTrailingNulls(List<Object> items) {
+		while (items.size() > 1 && isNull(items.get(items.size() - 1))) {
+			items.remove(items.size() - 1);
+		}
+	}
+
+	private static boolean isNull(Object item) {
+		return item instanceof BigInteger number ? number.signum() == 0 : rank((String) item) == RELEASE_RANK;
+	}
+
+	// A missing item compares like a 0 or a release qualifier, whichever it is being compared against.
+	private static int compareItems(Object item, Object other) {
+		if (item == null) {
+			return -compareItems(other, null);
+		}
+		if (item instanceof BigInteger number) {
+			return other == null ? number.signum()
+								 : other instanceof BigInteger otherNumber ? number.compareTo(otherNumber) : 1;	// Numbers are newer than qualifiers
+		}
+		String qualifier = (String) item;
+		if (other == null) {
+			return Integer.compare(rank(qualifier), RELEASE_RANK);
+		}
+		if (other instanceof BigInteger) {
+			return -1;
+		}
+		String otherQualifier = (String) other;
+		int result = Integer.compare(rank(qualifier), rank(otherQualifier));
+		return result != 0 || rank(qualifier) != UNKNOWN_RANK ? result : qualifier.compareTo(otherQualifier);
+	}
+
+	private static int rank(String qualifier) {
+		return QUALIFIER_RANKS.getOrDefault(qualifier, UNKNOWN_RANK);
+	}
+}
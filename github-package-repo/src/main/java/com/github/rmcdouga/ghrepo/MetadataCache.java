@@ -0,0 +1,142 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// In-memory cache of parsed maven-metadata.xml files with a time to live and a maximum number of entries.
+//
+// A single instance may be shared between multiple GithubPackages instances and threads.
+public class MetadataCache {
+	private static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+	private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	// version is null for artifact level metadata (the metadata that lists an artifact's versions).
+	public static record Key(String userOrg, String repo, String groupId, String artifactId, String version) {
+		public static Key forArtifact(String userOrg, String repo, String groupId, String artifactId) {
+			return new Key(userOrg, repo, groupId, artifactId, null);
+		}
+	}
+
+	private record Entry(MavenMetadata metadata, Instant expires) {}
+
+	private final Duration ttl;
+	private final int maxEntries;
+	private final Clock clock;
+	private final Map<Key, Entry> entries;
+	private final ConcurrentMap<Key, CompletableFuture<MavenMetadata>> loading = new ConcurrentHashMap<>();
+
+	private MetadataCache(Duration ttl, int maxEntries, Clock clock) {
+		this.ttl = ttl;
+		this.maxEntries = maxEntries;
+		this.clock = clock;
+		// Access ordered so that the least recently used entry is evicted first.
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > MetadataCache.this.maxEntries;
+			}
+		};
+	}
+
+	public static MetadataCache create() {
+		return create(DEFAULT_TTL, DEFAULT_MAX_ENTRIES);
+	}
+
+	public static MetadataCache create(Duration ttl, int maxEntries) {
+		return new MetadataCache(ttl, maxEntries, Clock.systemUTC());
+	}
+
+	// package visibility for unit tests.
+	static MetadataCache create(Duration ttl, int maxEntries, Clock clock) {
+		return new MetadataCache(ttl, maxEntries, clock);
+	}
+
+	@FunctionalInterface
+	interface Loader {
+		MavenMetadata load() throws IOException;
+	}
+
+	// Each key is loaded once, on the thread that misses first.  Anyone else missing it meanwhile waits for that load rather than
+	// starting another.  Loads run outside the lock so that a slow request does not block lookups of other keys.  Failures are not
+	// kept so that they can be retried.
+	MavenMetadata get(Key key, Loader loader) throws IOException {
+		CompletableFuture<MavenMetadata> created = new CompletableFuture<>();
+		CompletableFuture<MavenMetadata> existing;
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry != null && clock.instant().isBefore(entry.expires())) {
+				return entry.metadata();
+			}
+			existing = loading.putIfAbsent(key, created);
+		}
+		if (existing != null) {
+			return join(existing);
+		}
+		try {
+			MavenMetadata metadata = loader.load();
+			synchronized (entries) {
+				if (loading.remove(key, created)) {		// Not if it was invalidated while it was loading
+					entries.put(key, new Entry(metadata, clock.instant().plus(ttl)));
+				}
+			}
+			created.complete(metadata);
+			return metadata;
+		} catch (IOException | RuntimeException e) {
+			loading.remove(key, created);
+			created.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	public void invalidate(String userOrg, String repo, String groupId, String artifactId, String version) {
+		invalidate(new Key(userOrg, repo, groupId, artifactId, version));
+	}
+
+	// Invalidates the artifact level metadata, e.g. after deploying a new version.
+	public void invalidate(String userOrg, String repo, String groupId, String artifactId) {
+		invalidate(Key.forArtifact(userOrg, repo, groupId, artifactId));
+	}
+
+	public void invalidate(Key key) {
+		synchronized (entries) {
+			entries.remove(key);
+			loading.remove(key);
+		}
+	}
+
+	public void invalidateAll() {
+		synchronized (entries) {
+			entries.clear();
+			loading.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private static MavenMetadata join(CompletableFuture<MavenMetadata> future) throws IOException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IOException ioe) {
+				throw ioe;
+			}
+			if (e.getCause() instanceof UncheckedIOException uioe) {
+				throw uioe.getCause();
+			}
+			throw e.getCause() instanceof RuntimeException re ? re : e;
+		}
+	}
+}
@@ -0,0 +1,301 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+import com.github.rmcdouga.ghrepo.MavenMetadata.SnapshotVersion;
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
+
+// Mirrors artifacts from a repository into a local directory in the standard Maven repository layout.  GitHub Packages can't list
+// a repository's contents, so the caller names the artifacts to mirror.
+//
+// A sync only transfers what has changed since the last one.  An artifact whose maven-metadata.xml has the same lastUpdated as the
+// local copy is skipped without looking any further.  Otherwise released versions that are not there yet (their .pom is missing)
+// are downloaded, and SNAPSHOT versions whose own maven-metadata.xml has changed get any timestamped files that are new.  Metadata
+// is written last, and only if everything it covers was transferred, so a failed or interrupted sync is picked up by the next one.
+//
+// Each file's .sha1 and .md5 checksum files are mirrored too, when the repository has them, before the file itself.  Released
+// versions only get their .pom and main artifact: release metadata doesn't name a version's other files (classified files such as
+// -sources.jar) and GitHub Packages can't list them.  SNAPSHOT metadata does name them, so every file of a SNAPSHOT build is
+// mirrored.  maven-metadata.xml's own checksums aren't mirrored.
+//
+// Files are transferred in parallel, at most maxConcurrency requests at a time, using resumable downloads so that an interrupted
+// transfer of a large file continues where it stopped.  Artifacts are synced on the GithubPackages executor, while the versions and
+// files they wait for run on their own virtual threads, so a bounded executor can't deadlock.
+final class MirrorSync {
+	private static final String METADATA_NAME = "maven-metadata.xml";
+
+	private final GithubPackages githubPackages;
+	private final String userOrg;
+	private final String repo;
+	private final Path localDir;
+	private final Semaphore permits;
+	private final Queue<SyncReport.Transfer> transferred = new ConcurrentLinkedQueue<>();
+	private final Queue<String> upToDate = new ConcurrentLinkedQueue<>();
+	private final Queue<SyncReport.Failure> failures = new ConcurrentLinkedQueue<>();
+
+	private MirrorSync(GithubPackages githubPackages, String userOrg, String repo, Path localDir, int maxConcurrency) {
+		this.githubPackages = githubPackages;
+		this.userOrg = userOrg;
+		this.repo = repo;
+		this.localDir = localDir;
+		this.permits = new Semaphore(maxConcurrency);
+	}
+
+	// artifacts are "groupId:artifactId".
+	static SyncReport sync(GithubPackages githubPackages, String userOrg, String repo, Collection<String> artifacts, Path localDir, int maxConcurrency) throws IOException, InterruptedException {
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("maxConcurrency must be at least 1 but was %d.".formatted(maxConcurrency));
+		}
+		List<String[]> parsed = artifacts.stream().map(MirrorSync::parse).toList();
+		Files.createDirectories(localDir);
+		MirrorSync mirrorSync = new MirrorSync(githubPackages, userOrg, repo, localDir, maxConcurrency);
+		awaitAll(parsed.stream().map(a->githubPackages.async(interruptible(()->mirrorSync.syncArtifact(a[0], a[1])))).toList());
+		return mirrorSync.report();
+	}
+
+	private static String[] parse(String artifact) {
+		String[] parts = artifact.split(":");
+		if (parts.length != 2) {
+			throw new IllegalArgumentException("Invalid artifact '%s', expected groupId:artifactId.".formatted(artifact));
+		}
+		return parts;
+	}
+
+	// Returns false if anything failed (the failures are recorded in the report).
+	private boolean syncArtifact(String groupId, String artifactId) throws InterruptedException {
+		String remoteDir = "/%s/%s/%s/%s/".formatted(userOrg, repo, groupId.replace('.', '/'), artifactId);
+		Path artifactDir = localDir.resolve(groupId.replace('.', '/')).resolve(artifactId);
+		try {
+			byte[] metadataXml = fetch(remoteDir + METADATA_NAME);
+			MavenMetadata metadata = MavenMetadata.parse(metadataXml);
+			Path localMetadata = artifactDir.resolve(METADATA_NAME);
+			if (isUpToDate(metadata, localMetadata)) {
+				upToDate.add("%s:%s".formatted(groupId, artifactId));
+				return true;
+			}
+			List<CompletableFuture<Boolean>> versions = metadata.versions().stream()
+													 .map(v->submit(()->MavenVersion.isSnapshot(v) ? syncSnapshot(remoteDir, artifactDir, groupId, artifactId, v)
+																											: syncRelease(remoteDir, artifactDir, artifactId, v)))
+													 .toList();
+			if (!awaitAll(versions)) {
+				return false;
+			}
+			write(remoteDir + METADATA_NAME, localMetadata, metadataXml);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			failures.add(new SyncReport.Failure(remoteDir + METADATA_NAME, e));
+			return false;
+		}
+	}
+
+	// Released versions never change, so a version is complete if its .pom (which is written last) is there.  See the class comment
+	// for the files that are not mirrored.
+	private boolean syncRelease(String remoteDir, Path artifactDir, String artifactId, String version) {
+		String remoteVersionDir = remoteDir + version + "/";
+		Path versionDir = artifactDir.resolve(version);
+		String pomName = "%s-%s.pom".formatted(artifactId, version);
+		Path localPom = versionDir.resolve(pomName);
+		if (Files.exists(localPom)) {
+			return true;
+		}
+		String path = remoteVersionDir + pomName;
+		try {
+			byte[] pomXml = fetch(path);
+			Optional<String> extension = Pom.parse(pomXml).artifactExtension();
+			if (extension.isPresent()) {
+				String artifactName = "%s-%s.%s".formatted(artifactId, version, extension.get());
+				path = remoteVersionDir + artifactName;
+				if (!transferChecksums(path, versionDir.resolve(artifactName))) {
+					return false;
+				}
+				transfer(path, versionDir.resolve(artifactName));
+				path = remoteVersionDir + pomName;
+			}
+			if (!transferChecksums(path, localPom)) {
+				return false;
+			}
+			write(path, localPom, pomXml);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			failures.add(new SyncReport.Failure(path, e));
+			return false;
+		}
+	}
+
+	// SNAPSHOT files are timestamped and never change either, so only the ones that are not there yet are transferred (along with
+	// their checksums, before them, so that a file that is there has had its checksums transferred too).
+	private boolean syncSnapshot(String remoteDir, Path artifactDir, String groupId, String artifactId, String version) throws InterruptedException {
+		String remoteVersionDir = remoteDir + version + "/";
+		Path versionDir = artifactDir.resolve(version);
+		try {
+			byte[] metadataXml = fetch(remoteVersionDir + METADATA_NAME);
+			MavenMetadata metadata = MavenMetadata.parse(metadataXml);
+			Path localMetadata = versionDir.resolve(METADATA_NAME);
+			if (isUpToDate(metadata, localMetadata)) {
+				upToDate.add("%s:%s:%s".formatted(groupId, artifactId, version));
+				return true;
+			}
+			List<CompletableFuture<Boolean>> files = metadata.snapshotVersions().stream()
+												  .map(sv->sv.fileName(artifactId))
+												  .distinct()
+												  .filter(name->!isChecksum(name))		// Listed by some repositories, they come with their files
+												  .filter(name->!Files.exists(versionDir.resolve(name)))
+												  .map(name->submit(()->transferChecksums(remoteVersionDir + name, versionDir.resolve(name))
+																		 && transferOrRecord(remoteVersionDir + name, versionDir.resolve(name))))
+												  .toList();
+			if (!awaitAll(files)) {
+				return false;
+			}
+			write(remoteVersionDir + METADATA_NAME, localMetadata, metadataXml);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			failures.add(new SyncReport.Failure(remoteVersionDir + METADATA_NAME, e));
+			return false;
+		}
+	}
+
+	private static boolean isUpToDate(MavenMetadata remote, Path localMetadata) throws IOException {
+		if (remote.lastUpdated().isEmpty() || !Files.exists(localMetadata)) {
+			return false;
+		}
+		return remote.lastUpdated().equals(MavenMetadata.parse(Files.readAllBytes(localMetadata)).lastUpdated());
+	}
+
+	private boolean transferOrRecord(String path, Path target) {
+		try {
+			transfer(path, target);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			failures.add(new SyncReport.Failure(path, e));
+			return false;
+		}
+	}
+
+	// Transfers the checksum files of a file that are not there yet, skipping any the repository doesn't have.  Returns false if
+	// anything failed (the failures are recorded in the report).
+	private boolean transferChecksums(String path, Path target) {
+		boolean succeeded = true;
+		for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+			String checksumPath = path + "." + algorithm.extension();
+			Path checksumTarget = target.resolveSibling(target.getFileName() + "." + algorithm.extension());
+			if (Files.exists(checksumTarget)) {
+				continue;
+			}
+			try {
+				Optional<byte[]> checksum = fetchIfPresent(checksumPath);
+				if (checksum.isPresent()) {
+					write(checksumPath, checksumTarget, checksum.get());
+				}
+			} catch (IOException | RuntimeException e) {
+				failures.add(new SyncReport.Failure(checksumPath, e));
+				succeeded = false;
+			}
+		}
+		return succeeded;
+	}
+
+	private static boolean isChecksum(String name) {
+		return Arrays.stream(ChecksumAlgorithm.values()).anyMatch(algorithm->name.endsWith("." + algorithm.extension()));
+	}
+
+	private void transfer(String path, Path target) throws IOException {
+		Files.createDirectories(target.getParent());
+		acquire(path);
+		try {
+			transferred.add(new SyncReport.Transfer(path, target, githubPackages.copy(path, target)));
+		} finally {
+			permits.release();
+		}
+	}
+
+	private byte[] fetch(String path) throws IOException {
+		acquire(path);
+		try {
+			return githubPackages.read(path);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private Optional<byte[]> fetchIfPresent(String path) throws IOException {
+		try {
+			return Optional.of(fetch(path));
+		} catch (RestClientException e) {
+			if (e.status() == 404) {
+				return Optional.empty();
+			}
+			throw e;
+		}
+	}
+
+	// Writes a file that has already been fetched, replacing any existing copy in one step so that readers never see half a file.
+	private void write(String path, Path target, byte[] contents) throws IOException {
+		Files.createDirectories(target.getParent());
+		AtomicFiles.write(target, true, temp->Files.write(temp, contents, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+		transferred.add(new SyncReport.Transfer(path, target, contents.length));
+	}
+
+	private void acquire(String path) throws InterruptedIOException {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to fetch '%s'.".formatted(path));
+		}
+	}
+
+	// For work that an artifact or version waits for.
+	private CompletableFuture<Boolean> submit(Task task) {
+		return githubPackages.background(interruptible(task));
+	}
+
+	private static GithubPackages.IOSupplier<Boolean> interruptible(Task task) {
+		return ()->{
+			try {
+				return task.run();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while syncing.");
+			}
+		};
+	}
+
+	// Returns false if anything failed, after recording the failures in the report.
+	@FunctionalInterface
+	private interface Task {
+		boolean run() throws InterruptedException;
+	}
+
+	// Waits for all the tasks, returns true if they all succeeded.
+	private static boolean awaitAll(List<CompletableFuture<Boolean>> tasks) throws InterruptedException {
+		boolean succeeded = true;
+		for (CompletableFuture<Boolean> task : tasks) {
+			try {
+				succeeded &= task.get();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Unexpected failure while syncing.", e.getCause());	// Tasks record their own failures
+			}
+		}
+		return succeeded;
+	}
+
+	private SyncReport report() {
+		return new SyncReport(transferred.stream().sorted(Comparator.comparing(SyncReport.Transfer::path)).toList(),
+							  upToDate.stream().sorted().toList(),
+							  failures.stream().sorted(Comparator.comparing(SyncReport.Failure::path)).toList());
+	}
+}
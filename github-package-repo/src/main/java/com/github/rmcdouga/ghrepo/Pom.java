@@ -0,0 +1,339 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.github.rmcdouga.ghrepo.XmlDocument.XmlDocumentException;
+
+// The parts of a pom.xml needed to resolve dependencies, extracted in a single pass (like MavenMetadata) without building a DOM.
+// Profiles, plugins and anything else that does not affect the dependency list are ignored.  Immutable.
+final class Pom {
+	private static final String PROJECT_PATH = "/project";
+	private static final String PARENT_PATH = PROJECT_PATH + "/parent";
+	private static final String PROPERTIES_PATH = PROJECT_PATH + "/properties";
+	private static final String DEPENDENCY_PATH = PROJECT_PATH + "/dependencies/dependency";
+	private static final String MANAGED_DEPENDENCY_PATH = PROJECT_PATH + "/dependencyManagement/dependencies/dependency";
+	private static final String EXCLUSION = "exclusions/exclusion";
+	private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{([^}]+)\\}");
+	private static final int MAX_INTERPOLATION_DEPTH = 10;		// Properties that refer to properties that refer to ...
+	private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+	record Coordinates(String groupId, String artifactId, String version) {}
+
+	// groupId and/or artifactId may be "*".
+	record Exclusion(String groupId, String artifactId) {
+		boolean matches(String groupId, String artifactId) {
+			return (this.groupId.equals("*") || this.groupId.equals(groupId)) && (this.artifactId.equals("*") || this.artifactId.equals(artifactId));
+		}
+	}
+
+	// version, type, classifier and scope are null if they are not specified (type defaults to jar and scope to compile).
+	record Dependency(String groupId, String artifactId, String version, String type, String classifier, String scope, boolean optional, List<Exclusion> exclusions) {
+		Dependency {
+			exclusions = List.copyOf(exclusions);
+		}
+
+		// Identifies the dependency for dependencyManagement and for deciding which declarations override each other.
+		String managementKey() {
+			return "%s:%s:%s:%s".formatted(groupId, artifactId, type != null ? type : "jar", classifier != null ? classifier : "");
+		}
+
+		// Fills in the version and scope from a dependencyManagement entry and adds its exclusions.
+		Dependency managedBy(Dependency managed, boolean overrideVersion) {
+			List<Exclusion> allExclusions = new ArrayList<>(exclusions);
+			allExclusions.addAll(managed.exclusions());
+			return new Dependency(groupId, artifactId,
+								  overrideVersion && managed.version() != null || version == null ? managed.version() : version,
+								  type, classifier,
+								  scope == null ? managed.scope() : scope,
+								  optional, allExclusions);
+		}
+
+		private Dependency interpolate(Map<String, String> properties) {
+			return new Dependency(Pom.interpolate(groupId, properties), Pom.interpolate(artifactId, properties), Pom.interpolate(version, properties),
+								  Pom.interpolate(type, properties), Pom.interpolate(classifier, properties), Pom.interpolate(scope, properties),
+								  optional, exclusions.stream().map(e->new Exclusion(Pom.interpolate(e.groupId(), properties), Pom.interpolate(e.artifactId(), properties))).toList());
+		}
+	}
+
+	private final Coordinates coordinates;			// groupId and version are null if they are inherited from the parent
+	private final Optional<Coordinates> parent;
+	private final String packaging;
+	private final Map<String, String> properties;
+	private final List<Dependency> dependencyManagement;
+	private final List<Dependency> dependencies;
+
+	private Pom(Coordinates coordinates, Optional<Coordinates> parent, String packaging, Map<String, String> properties, List<Dependency> dependencyManagement, List<Dependency> dependencies) {
+		this.coordinates = coordinates;
+		this.parent = parent;
+		this.packaging = packaging;
+		this.properties = properties;
+		this.dependencyManagement = dependencyManagement;
+		this.dependencies = dependencies;
+	}
+
+	Coordinates coordinates() {
+		return coordinates;
+	}
+
+	Optional<Coordinates> parent() {
+		return parent;
+	}
+
+	String packaging() {
+		return packaging;
+	}
+
+	// The extension of the artifact's main file, empty for pom packaging (which has no file other than the .pom).
+	Optional<String> artifactExtension() {
+		return packaging.equals("pom") ? Optional.empty() : Optional.of(extension(packaging));
+	}
+
+	// The file extension for a dependency type or packaging, several are stored as .jar files.
+	static String extension(String type) {
+		return switch (type == null ? "jar" : type) {
+			case "jar", "test-jar", "ejb", "ejb-client", "bundle", "maven-plugin", "java-source", "javadoc" -> "jar";
+			default -> type;
+		};
+	}
+
+	Map<String, String> properties() {
+		return properties;
+	}
+
+	List<Dependency> dependencyManagement() {
+		return dependencyManagement;
+	}
+
+	List<Dependency> dependencies() {
+		return dependencies;
+	}
+
+	// This POM with the parent's (inherited but not interpolated) properties, dependencyManagement and dependencies merged in, this
+	// POM's own declarations win.  Call before interpolate() so that this POM's properties apply to what it inherits, as in Maven.
+	Pom inherit(Pom parentPom) {
+		Coordinates parentCoordinates = parentPom.coordinates();
+		Coordinates inherited = new Coordinates(coordinates.groupId() != null ? coordinates.groupId() : parentCoordinates.groupId(),
+												coordinates.artifactId(),
+												coordinates.version() != null ? coordinates.version() : parentCoordinates.version());
+		Map<String, String> mergedProperties = new LinkedHashMap<>(parentPom.properties());
+		mergedProperties.putAll(properties);
+		return new Pom(inherited, parent, packaging, Map.copyOf(mergedProperties), merge(dependencyManagement, parentPom.dependencyManagement()), merge(dependencies, parentPom.dependencies()));
+	}
+
+	// Adds dependencyManagement entries (e.g. from an imported BOM) that this POM does not already manage.
+	Pom importManaged(List<Dependency> managed) {
+		return new Pom(coordinates, parent, packaging, properties, merge(dependencyManagement, managed), dependencies);
+	}
+
+	// Replaces ${...} property references, including project.groupId, project.version, etc.
+	Pom interpolate() {
+		Map<String, String> allProperties = new HashMap<>(properties);
+		putIfNotNull(allProperties, "project.groupId", coordinates.groupId());
+		putIfNotNull(allProperties, "project.artifactId", coordinates.artifactId());
+		putIfNotNull(allProperties, "project.version", coordinates.version());
+		putIfNotNull(allProperties, "pom.version", coordinates.version());
+		putIfNotNull(allProperties, "version", coordinates.version());
+		parent.ifPresent(p->{
+			putIfNotNull(allProperties, "project.parent.groupId", p.groupId());
+			putIfNotNull(allProperties, "project.parent.version", p.version());
+		});
+		Coordinates interpolatedCoordinates = new Coordinates(interpolate(coordinates.groupId(), allProperties), coordinates.artifactId(), interpolate(coordinates.version(), allProperties));
+		return new Pom(interpolatedCoordinates, parent, packaging, properties,
+					   dependencyManagement.stream().map(d->d.interpolate(allProperties)).toList(),
+					   dependencies.stream().map(d->d.interpolate(allProperties)).toList());
+	}
+
+	// Applies this POM's dependencyManagement to its dependencies, after any BOMs have been imported.
+	Pom manage() {
+		Map<String, Dependency> managedByKey = byKey(dependencyManagement);
+		List<Dependency> managed = dependencies.stream()
+											   .map(d->Optional.ofNullable(managedByKey.get(d.managementKey())).map(m->d.managedBy(m, false)).orElse(d))
+											   .toList();
+		return new Pom(coordinates, parent, packaging, properties, dependencyManagement, managed);
+	}
+
+	static Map<String, Dependency> byKey(List<Dependency> dependencies) {
+		Map<String, Dependency> byKey = new HashMap<>();
+		dependencies.forEach(d->byKey.putIfAbsent(d.managementKey(), d));
+		return byKey;
+	}
+
+	private static List<Dependency> merge(List<Dependency> own, List<Dependency> inherited) {
+		Map<String, Dependency> merged = new LinkedHashMap<>();
+		own.forEach(d->merged.putIfAbsent(d.managementKey(), d));
+		inherited.forEach(d->merged.putIfAbsent(d.managementKey(), d));
+		return List.copyOf(merged.values());
+	}
+
+	private static void putIfNotNull(Map<String, String> properties, String name, String value) {
+		if (value != null) {
+			properties.putIfAbsent(name, value);
+		}
+	}
+
+	// Unknown properties are left as they are, the same as Maven does.
+	private static String interpolate(String value, Map<String, String> properties) {
+		String result = value;
+		for (int depth = 0; result != null && result.contains("${") && depth < MAX_INTERPOLATION_DEPTH; depth++) {
+			Matcher matcher = PROPERTY_REFERENCE.matcher(result);
+			StringBuilder interpolated = new StringBuilder();
+			while (matcher.find()) {
+				matcher.appendReplacement(interpolated, Matcher.quoteReplacement(properties.getOrDefault(matcher.group(1), matcher.group())));
+			}
+			matcher.appendTail(interpolated);
+			if (interpolated.toString().equals(result)) {
+				break;
+			}
+			result = interpolated.toString();
+		}
+		return result;
+	}
+
+	static Pom parse(byte[] xml) {
+		String groupId = null;
+		String artifactId = null;
+		String version = null;
+		String packaging = null;
+		String parentGroupId = null;
+		String parentArtifactId = null;
+		String parentVersion = null;
+		Map<String, String> properties = new LinkedHashMap<>();
+		List<Dependency> dependencyManagement = new ArrayList<>();
+		List<Dependency> dependencies = new ArrayList<>();
+		DependencyBuilder dependency = null;		// The dependency currently being read, if any
+		Deque<String> elementPaths = new ArrayDeque<>();
+		try {
+			XMLStreamReader reader = createReader(xml);
+			try {
+				while (reader.hasNext()) {
+					int event = reader.next();
+					if (event == XMLStreamConstants.START_ELEMENT) {
+						String parentPath = elementPaths.isEmpty() ? "" : elementPaths.peek();
+						String elementPath = parentPath + "/" + reader.getLocalName();
+						// Leaf elements, getElementText() consumes the end element so they are not pushed
+						if (parentPath.equals(PROPERTIES_PATH)) {
+							properties.put(reader.getLocalName(), reader.getElementText().trim());
+						} else if (dependency != null && elementPath.startsWith(dependency.path + "/")) {
+							if (!dependency.set(elementPath.substring(dependency.path.length() + 1), reader)) {
+								elementPaths.push(elementPath);
+							}
+						} else {
+							switch (elementPath) {
+								case PROJECT_PATH + "/groupId" -> groupId = reader.getElementText().trim();
+								case PROJECT_PATH + "/artifactId" -> artifactId = reader.getElementText().trim();
+								case PROJECT_PATH + "/version" -> version = reader.getElementText().trim();
+								case PROJECT_PATH + "/packaging" -> packaging = reader.getElementText().trim();
+								case PARENT_PATH + "/groupId" -> parentGroupId = reader.getElementText().trim();
+								case PARENT_PATH + "/artifactId" -> parentArtifactId = reader.getElementText().trim();
+								case PARENT_PATH + "/version" -> parentVersion = reader.getElementText().trim();
+								default -> {
+									if (elementPath.equals(DEPENDENCY_PATH) || elementPath.equals(MANAGED_DEPENDENCY_PATH)) {
+										dependency = new DependencyBuilder(elementPath);
+									}
+									elementPaths.push(elementPath);
+								}
+							}
+						}
+					} else if (event == XMLStreamConstants.END_ELEMENT) {
+						String elementPath = elementPaths.pop();
+						if (dependency != null && elementPath.equals(dependency.path)) {
+							(elementPath.equals(DEPENDENCY_PATH) ? dependencies : dependencyManagement).add(dependency.build());
+							dependency = null;
+						} else if (dependency != null && elementPath.equals(dependency.path + "/" + EXCLUSION)) {
+							dependency.endExclusion();
+						}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new XmlDocumentException("Error while parsing POM.", e);
+		}
+		Optional<Coordinates> parent = parentArtifactId != null ? Optional.of(new Coordinates(parentGroupId, parentArtifactId, parentVersion)) : Optional.empty();
+		return new Pom(new Coordinates(groupId, artifactId, version), parent, packaging == null || packaging.isEmpty() ? "jar" : packaging, Map.copyOf(properties), List.copyOf(dependencyManagement), List.copyOf(dependencies));
+	}
+
+	private static class DependencyBuilder {
+		private final String path;
+		private String groupId;
+		private String artifactId;
+		private String version;
+		private String type;
+		private String classifier;
+		private String scope;
+		private boolean optional;
+		private final List<Exclusion> exclusions = new ArrayList<>();
+		private String exclusionGroupId;
+		private String exclusionArtifactId;
+
+		private DependencyBuilder(String path) {
+			this.path = path;
+		}
+
+		// Returns false if the element is not a leaf that is read here (and so needs to be pushed).
+		private boolean set(String relativePath, XMLStreamReader reader) throws XMLStreamException {
+			switch (relativePath) {
+				case "groupId" -> groupId = reader.getElementText().trim();
+				case "artifactId" -> artifactId = reader.getElementText().trim();
+				case "version" -> version = reader.getElementText().trim();
+				case "type" -> type = reader.getElementText().trim();
+				case "classifier" -> classifier = reader.getElementText().trim();
+				case "scope" -> scope = reader.getElementText().trim();
+				case "optional" -> optional = Boolean.parseBoolean(reader.getElementText().trim());
+				case EXCLUSION + "/groupId" -> exclusionGroupId = reader.getElementText().trim();
+				case EXCLUSION + "/artifactId" -> exclusionArtifactId = reader.getElementText().trim();
+				default -> {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void endExclusion() {
+			if (exclusionGroupId != null && exclusionArtifactId != null) {
+				exclusions.add(new Exclusion(exclusionGroupId, exclusionArtifactId));
+			}
+			exclusionGroupId = null;
+			exclusionArtifactId = null;
+		}
+
+		private Dependency build() {
+			return new Dependency(groupId, artifactId, emptyToNull(version), emptyToNull(type), emptyToNull(classifier), emptyToNull(scope), optional, exclusions);
+		}
+
+		private static String emptyToNull(String value) {
+			return value == null || value.isEmpty() ? null : value;
+		}
+	}
+
+	private static XMLStreamReader createReader(byte[] xml) throws XMLStreamException {
+		// XMLInputFactory is not guaranteed to be thread-safe, but the readers it creates are independent.
+		synchronized (XML_INPUT_FACTORY) {
+			return XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml));
+		}
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		return factory;
+	}
+}
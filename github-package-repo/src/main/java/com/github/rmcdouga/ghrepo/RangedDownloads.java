@@ -0,0 +1,227 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
+
+// Downloads a file as several HTTP byte ranges in parallel, writing each range directly into its place in the target file.
+record RangedDownloads(int connections, long minChunkSize) {
+	static final long DEFAULT_MIN_CHUNK_SIZE = 8L * 1024 * 1024;	// 8 MB
+	private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+	private record ContentRange(long start, long end, long total) {}
+
+	long copy(RestClient restClient, String path, Path target, Executor executor, CopyOption... options) throws IOException {
+		return copy(restClient, path, target, executor, null, options);
+	}
+
+	// Ranges arrive out of order, so a verifier has to check the completed file (before it is moved into place).
+	long copy(RestClient restClient, String path, Path target, Executor executor, ChecksumVerifier verifier, CopyOption... options) throws IOException {
+		boolean replaceExisting = Arrays.asList(options).contains(StandardCopyOption.REPLACE_EXISTING);
+		if (!replaceExisting && Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+			throw new FileAlreadyExistsException(target.toString());
+		}
+		return AtomicFiles.write(target, replaceExisting, temp->{
+			long size;
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+				size = download(restClient, path, channel, executor);
+			}
+			if (verifier != null) {
+				verifier.verify(temp);
+			}
+			return size;
+		});
+	}
+
+	private long download(RestClient restClient, String path, FileChannel channel, Executor executor) throws IOException {
+		Response first = restClient.get(path, Map.of("Range", rangeHeader(0, minChunkSize - 1)));
+		if (first.status() == 200) {
+			// The server does not support ranges, so fall back to a single stream.
+			return write(first.channel(), channel, 0, Optional.empty());
+		}
+		if (first.status() == 416) {
+			// Range not satisfiable, most likely an empty file.
+			first.body().close();
+			Response whole = checkStatus(restClient.get(path, Map.of()), path, 200);
+			return write(whole.channel(), channel, 0, Optional.empty());
+		}
+		ContentRange firstRange = contentRange(checkStatus(first, path, 206), path, 0);
+		long total = firstRange.total();
+		if (total > 0) {
+			channel.write(ByteBuffer.allocate(1), total - 1);	// Pre-size the file
+		}
+
+		// Make sure all the ranges come from the same version of the file.
+		Map<String, String> headers = new HashMap<>();
+		first.header("ETag").or(()->first.header("Last-Modified")).ifPresent(validator->headers.put("If-Range", validator));
+
+		ParallelRanges remainingRanges = new ParallelRanges();
+		long start = firstRange.end() + 1;
+		long remaining = total - start;
+		if (remaining > 0) {
+			int parts = (int) Math.max(1, Math.min(connections - 1, remaining / minChunkSize));
+			long partSize = (remaining + parts - 1) / parts;
+			for (long offset = start; offset < total; offset += partSize) {
+				long partStart = offset;
+				long partEnd = Math.min(partStart + partSize, total) - 1;
+				remainingRanges.start(()->downloadRange(restClient, path, headers, channel, partStart, partEnd, remainingRanges), executor);
+			}
+		}
+
+		long bytes;
+		try {
+			bytes = write(first.channel(), channel, 0, Optional.of(firstRange.end() + 1));
+		} catch (IOException | RuntimeException e) {
+			remainingRanges.fail(e);
+			remainingRanges.await();
+			throw e;
+		}
+		return bytes + remainingRanges.join();
+	}
+
+	private long downloadRange(RestClient restClient, String path, Map<String, String> headers, FileChannel channel, long start, long end, ParallelRanges ranges) {
+		Map<String, String> rangeHeaders = new HashMap<>(headers);
+		rangeHeaders.put("Range", rangeHeader(start, end));
+		try {
+			ranges.checkNotFailed();
+			Response response = restClient.get(path, rangeHeaders);
+			if (response.status() == 200) {
+				response.body().close();
+				throw new IOException("Unable to download range %d-%d of '%s', the file changed during the download.".formatted(start, end, path));
+			}
+			contentRange(checkStatus(response, path, 206), path, start);
+			return write(ranges.register(response.channel()), channel, start, Optional.of(end - start + 1));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// The ranges after the first, which are downloaded in parallel.  The first failure (of any range, including the first) stops
+	// the others: ranges that haven't started are skipped and the bodies of those being read are closed, so that the failure is
+	// reported straight away rather than once every other range has finished.
+	private static final class ParallelRanges {
+		private final List<CompletableFuture<Long>> ranges = new ArrayList<>();
+		private final Set<ReadableByteChannel> bodies = ConcurrentHashMap.newKeySet();
+		private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		void start(Supplier<Long> download, Executor executor) {
+			// Joined through whenComplete() so that a failure is recorded before join() sees it
+			ranges.add(CompletableFuture.supplyAsync(download, executor).whenComplete((bytes, t)->{
+				if (t != null) {
+					fail(t instanceof CompletionException ce && ce.getCause() != null ? ce.getCause() : t);
+				}
+			}));
+		}
+
+		void fail(Throwable t) {
+			if (failure.compareAndSet(null, t)) {
+				bodies.forEach(ParallelRanges::closeQuietly);
+			}
+		}
+
+		void checkNotFailed() throws IOException {
+			if (failure.get() != null) {
+				throw new IOException("Download cancelled as another range failed.");
+			}
+		}
+
+		// Bodies are registered before they are read, so that fail() can close them.
+		ReadableByteChannel register(ReadableByteChannel body) throws IOException {
+			bodies.add(body);
+			if (failure.get() != null) {
+				closeQuietly(body);		// fail() may have missed it
+				checkNotFailed();
+			}
+			return body;
+		}
+
+		// Waits for every range to finish, so that nothing writes to the file once the download has returned (or failed).
+		void await() {
+			ranges.forEach(range->range.handle((bytes, t)->null).join());
+		}
+
+		long join() throws IOException {
+			await();
+			Throwable t = failure.get();
+			if (t instanceof UncheckedIOException uioe) {
+				throw uioe.getCause();
+			} else if (t instanceof RuntimeException re) {
+				throw re;
+			} else if (t instanceof Error e) {
+				throw e;
+			} else if (t != null) {
+				throw new CompletionException(t);
+			}
+			return ranges.stream().mapToLong(CompletableFuture::join).sum();
+		}
+
+		private static void closeQuietly(ReadableByteChannel body) {
+			try {
+				body.close();
+			} catch (IOException e) {
+				// Only closed to stop the read, so there is nothing more to do
+			}
+		}
+	}
+
+	// Writes the body into the channel at the given position, checking that the expected number of bytes were received.
+	private static long write(ReadableByteChannel body, FileChannel channel, long position, Optional<Long> expectedLength) throws IOException {
+		long written;
+		try (body) {
+			written = ByteChannels.transfer(body, channel, position);
+		}
+		if (expectedLength.isPresent() && written != expectedLength.get()) {
+			throw new IOException("Expected %d bytes at offset %d but received %d.".formatted(expectedLength.get(), position, written));
+		}
+		return written;
+	}
+
+	private static Response checkStatus(Response response, String path, int expectedStatus) throws IOException {
+		if (response.status() != expectedStatus) {
+			response.body().close();
+			throw new RestClientException(response.status(), "Unable to retrieve '%s', status code %d returned.".formatted(path, response.status()));
+		}
+		return response;
+	}
+
+	private static ContentRange contentRange(Response response, String path, long expectedStart) throws IOException {
+		String header = response.header("Content-Range").orElse("");
+		Matcher matcher = CONTENT_RANGE.matcher(header);
+		if (!matcher.matches() || Long.parseLong(matcher.group(1)) != expectedStart) {
+			response.body().close();
+			throw new IOException("Unexpected Content-Range '%s' returned for '%s', expected range starting at %d.".formatted(header, path, expectedStart));
+		}
+		return new ContentRange(Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3)));
+	}
+
+	private static String rangeHeader(long start, long end) {
+		return "bytes=%d-%d".formatted(start, end);
+	}
+}
@@ -0,0 +1,69 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// RestClient decorator that sends requests through a RateLimiter.  Requests rejected by a rate limit are resent (after the pause
+// the server asked for) a few times before the rejection is returned to the caller.
+public final class RateLimitedRestClient implements RestClient {
+	private static final int MAX_RATE_LIMITED_RETRIES = 3;
+
+	private final RestClient delegate;
+	private final RateLimiter rateLimiter;
+
+	private RateLimitedRestClient(RestClient delegate, RateLimiter rateLimiter) {
+		this.delegate = Objects.requireNonNull(delegate, "delegate");
+		this.rateLimiter = Objects.requireNonNull(rateLimiter, "rateLimiter");
+	}
+
+	// Shares a RateLimiter with every other client using the same token, e.g.
+	//   GithubPackages.withToken(token).restClient(c->RateLimitedRestClient.wrap(c, token))
+	public static RateLimitedRestClient wrap(RestClient delegate, String githubToken) {
+		return wrap(delegate, RateLimiter.forToken(githubToken));
+	}
+
+	public static RateLimitedRestClient wrap(RestClient delegate, RateLimiter rateLimiter) {
+		return new RateLimitedRestClient(delegate, rateLimiter);
+	}
+
+	@Override
+	public InputStream get(String path) {
+		// Uses the Response form so that the rate limit headers can be seen.
+		return send(()->delegate.get(path, Map.of())).body();
+	}
+
+	@Override
+	public Response get(String path, Map<String, String> headers) {
+		return send(()->delegate.get(path, headers));
+	}
+
+	@Override
+	public Response head(String path) {
+		return send(()->delegate.head(path));
+	}
+
+	private Response send(Supplier<Response> request) {
+		for (int retries = 0; ; retries++) {
+			try {
+				rateLimiter.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for the rate limit."));
+			}
+			Response response = request.get();
+			if (!rateLimiter.update(response) || retries >= MAX_RATE_LIMITED_RETRIES) {
+				return response;
+			}
+			try {
+				response.body().close();
+			} catch (IOException e) {
+				// Nothing useful can be done, we are throwing the response away anyway.
+			}
+		}
+	}
+}
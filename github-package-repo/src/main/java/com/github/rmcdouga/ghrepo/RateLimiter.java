@@ -0,0 +1,145 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+
+// Token bucket shared by everything that makes requests with the same GitHub token.
+//
+// Requests take a token before they are sent.  When the bucket is empty they queue, each waiting for its own token to be refilled,
+// so throughput degrades to the refill rate rather than failing.  The bucket also follows what the server reports: it never holds
+// more tokens than X-RateLimit-Remaining, and a Retry-After or an exhausted limit pauses all requests until the server says to resume.
+public final class RateLimiter {
+	// GitHub's secondary rate limit allows 900 points a minute for REST requests, a GET costs 1 point.
+	private static final int DEFAULT_BURST = 50;
+	private static final double DEFAULT_PERMITS_PER_SECOND = 15;
+	private static final ConcurrentMap<String, RateLimiter> SHARED = new ConcurrentHashMap<>();
+
+	private final int burst;
+	private final double permitsPerNano;
+	private final LongSupplier nanoTime;
+	private final Clock clock;
+	private final Sleeper sleeper;
+
+	// guarded by this
+	private double tokens;		// Negative when requests are queued
+	private long refillFrom;	// Tokens accumulate from this time (which is in the future while paused)
+
+	private RateLimiter(int burst, double permitsPerSecond, LongSupplier nanoTime, Clock clock, Sleeper sleeper) {
+		if (burst < 1 || permitsPerSecond <= 0) {
+			throw new IllegalArgumentException("burst must be at least 1 and permitsPerSecond must be positive (burst=%d, permitsPerSecond=%f).".formatted(burst, permitsPerSecond));
+		}
+		this.burst = burst;
+		this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+		this.nanoTime = nanoTime;
+		this.clock = clock;
+		this.sleeper = sleeper;
+		this.tokens = burst;
+		this.refillFrom = nanoTime.getAsLong();
+	}
+
+	public static RateLimiter create(int burst, double permitsPerSecond) {
+		return new RateLimiter(burst, permitsPerSecond, System::nanoTime, Clock.systemUTC(), RateLimiter::sleepNanos);
+	}
+
+	// package visibility for unit tests.
+	static RateLimiter create(int burst, double permitsPerSecond, LongSupplier nanoTime, Clock clock, Sleeper sleeper) {
+		return new RateLimiter(burst, permitsPerSecond, nanoTime, clock, sleeper);
+	}
+
+	// The limiter used by all instances (in this JVM) that use the given token.
+	public static RateLimiter forToken(String githubToken) {
+		return SHARED.computeIfAbsent(key(githubToken), k->create(DEFAULT_BURST, DEFAULT_PERMITS_PER_SECOND));
+	}
+
+	@FunctionalInterface
+	interface Sleeper {
+		void sleep(long nanos) throws InterruptedException;
+	}
+
+	// Waits (if necessary) until a request may be sent.
+	public void acquire() throws InterruptedException {
+		long wait = reserve();
+		if (wait > 0) {
+			sleeper.sleep(wait);
+		}
+	}
+
+	// Takes a token (possibly going into debt) and returns how long the caller must wait for it.
+	private synchronized long reserve() {
+		long now = nanoTime.getAsLong();
+		refill(now);
+		tokens -= 1;
+		long start = Math.max(now, refillFrom);
+		long debt = tokens < 0 ? (long) Math.ceil(-tokens / permitsPerNano) : 0;
+		return (start - now) + debt;
+	}
+
+	private void refill(long now) {
+		if (now > refillFrom) {
+			tokens = Math.min(burst, tokens + (now - refillFrom) * permitsPerNano);
+			refillFrom = now;
+		}
+	}
+
+	// Updates the limiter from a response, returns true if the request was rejected because of a rate limit.
+	public boolean update(Response response) {
+		Optional<Long> remaining = longHeader(response, "X-RateLimit-Remaining");
+		Optional<Duration> retryAfter = longHeader(response, "Retry-After").map(Duration::ofSeconds);
+		Optional<Duration> untilReset = longHeader(response, "X-RateLimit-Reset").map(reset->Duration.ofSeconds(reset).minusMillis(clock.millis()));
+		boolean limited = response.status() == 429 || (response.status() == 403 && (retryAfter.isPresent() || remaining.equals(Optional.of(0L))));
+
+		if (retryAfter.isPresent() && limited) {
+			pauseFor(retryAfter.get());
+		} else if (remaining.isPresent() && remaining.get() <= 0 && untilReset.isPresent()) {
+			pauseFor(untilReset.get());
+		} else if (limited) {
+			pauseFor(Duration.ofSeconds(1));	// No guidance from the server, back off a little
+		}
+		remaining.ifPresent(this::limitTokens);
+		return limited;
+	}
+
+	private synchronized void pauseFor(Duration duration) {
+		long until = nanoTime.getAsLong() + Math.max(0, duration.toNanos());
+		if (until > refillFrom) {
+			refill(nanoTime.getAsLong());
+			tokens = Math.min(tokens, 0);	// Queued requests stay queued, but nothing is saved up for when the pause ends
+			refillFrom = until;
+		}
+	}
+
+	private synchronized void limitTokens(long remaining) {
+		tokens = Math.min(tokens, remaining);
+	}
+
+	private static Optional<Long> longHeader(Response response, String name) {
+		try {
+			return response.header(name).map(String::trim).map(Long::valueOf);
+		} catch (NumberFormatException e) {
+			return Optional.empty();	// e.g. a Retry-After date, which GitHub does not send
+		}
+	}
+
+	private static void sleepNanos(long nanos) throws InterruptedException {
+		Thread.sleep(Duration.ofNanos(nanos));
+	}
+
+	// Tokens are only held as a hash.
+	private static String key(String githubToken) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(githubToken.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available in this JVM.", e);
+		}
+	}
+}
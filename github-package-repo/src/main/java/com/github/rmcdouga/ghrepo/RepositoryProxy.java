@@ -0,0 +1,230 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// A Maven repository on this host that serves GitHub Packages artifacts out of a shared ArtifactCache, so that many builds can
+// share one cache (and one set of credentials) rather than each going to maven.pkg.github.com, e.g.
+//   try (RepositoryProxy proxy = RepositoryProxy.start(GithubPackages.create(), ArtifactCache.defaultLocation(), 8080)) { ... }
+// Builds then use http://localhost:8080/OWNER/REPOSITORY as the repository URL, without any credentials.
+//
+// Paths are the same as on maven.pkg.github.com.  Files are served from the cache when they are there (SNAPSHOT files and metadata
+// are revalidated first) and otherwise streamed to the client while they are being downloaded into the cache.  Concurrent requests
+// for a file that is being downloaded read along with that download.  Non-timestamped SNAPSHOT file names (artifact-1.0-SNAPSHOT.jar)
+// are resolved to the latest timestamped file using the maven-metadata.xml, the same way GithubPackages.get() does.
+//
+// Each request is handled on its own virtual thread.  Only GET and HEAD are supported.  HEAD requests are answered from the cache
+// when the file is there (and is a release file, which never changes) and otherwise with a HEAD request to GitHub, so they never
+// transfer the file itself.
+public final class RepositoryProxy implements AutoCloseable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final List<String> CHECKSUM_SUFFIXES = List.of(".sha1", ".md5", ".sha256", ".sha512");
+
+	private final GithubPackages githubPackages;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+	private final LongAdder inFlightJoins = new LongAdder();
+	private final LongAdder notFound = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder bytesServed = new LongAdder();
+
+	// cacheHits includes revalidated files that had not changed, inFlightJoins counts requests served by another request's download.
+	public static record Stats(long requests, long cacheHits, long cacheMisses, long inFlightJoins, long notFound, long errors, long bytesServed) {
+		// Proportion of files served without transferring them from GitHub, NaN before anything has been served.
+		public double hitRatio() {
+			long served = cacheHits + cacheMisses + inFlightJoins;
+			return (double) (cacheHits + inFlightJoins) / served;
+		}
+	}
+
+	private RepositoryProxy(GithubPackages githubPackages, HttpServer server, ExecutorService executor) {
+		this.githubPackages = githubPackages;
+		this.server = server;
+		this.executor = executor;
+	}
+
+	// Listens on the loopback address, port 0 picks any free port (see address()).
+	public static RepositoryProxy start(GithubPackages githubPackages, ArtifactCache artifactCache, int port) throws IOException {
+		return start(githubPackages, artifactCache, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+	// Anyone who can reach the address can read the repositories the GitHub token has access to, so think twice before using
+	// anything other than a loopback address.
+	public static RepositoryProxy start(GithubPackages githubPackages, ArtifactCache artifactCache, InetSocketAddress address) throws IOException {
+		HttpServer server = HttpServer.create(address, 0);
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		RepositoryProxy proxy = new RepositoryProxy(githubPackages.artifactCache(artifactCache), server, executor);
+		server.createContext("/", proxy::handle);
+		server.setExecutor(executor);
+		server.start();
+		return proxy;
+	}
+
+	public InetSocketAddress address() {
+		return server.getAddress();
+	}
+
+	// The URL of a repository, for use in a settings.xml or build script.
+	public URI uri(String userOrg, String repo) {
+		return URI.create("http://%s:%d/%s/%s".formatted(address().getHostString(), address().getPort(), userOrg, repo));
+	}
+
+	public Stats stats() {
+		return new Stats(requests.sum(), cacheHits.sum(), cacheMisses.sum(), inFlightJoins.sum(), notFound.sum(), errors.sum(), bytesServed.sum());
+	}
+
+	// Stops accepting requests, requests that are being served are given a second to finish.
+	@Override
+	public void close() {
+		server.stop(1);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			requests.increment();
+			String method = exchange.getRequestMethod();
+			if (!method.equals("GET") && !method.equals("HEAD")) {
+				exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			String path = exchange.getRequestURI().getPath();
+			if (method.equals("HEAD")) {
+				head(exchange, path);
+			} else {
+				get(exchange, path);
+			}
+		}
+	}
+
+	private void get(HttpExchange exchange, String path) throws IOException {
+		ArtifactCache.Streamed streamed;
+		try {
+			streamed = githubPackages.stream(resolve(path));
+		} catch (IOException | RuntimeException e) {
+			fail(exchange, e);
+			return;
+		}
+		try (InputStream body = streamed.body()) {
+			switch (streamed.source()) {
+				case CACHE -> cacheHits.increment();
+				case UPSTREAM -> cacheMisses.increment();
+				case IN_FLIGHT -> inFlightJoins.increment();
+			}
+			exchange.getResponseHeaders().set("Content-Type", contentType(path));
+			// A length of 0 means chunked, for files that are still downloading without a known size
+			exchange.sendResponseHeaders(200, streamed.length() > 0 ? streamed.length() : streamed.length() == 0 ? -1 : 0);
+			bytesServed.add(transfer(body, exchange.getResponseBody()));
+		}
+	}
+
+	// HttpServer never sends a Content-Length for HEAD requests itself, so it is set here.
+	private void head(HttpExchange exchange, String path) throws IOException {
+		OptionalLong length;
+		try {
+			String resolved = resolve(path);
+			// Not counted as hits or misses, as nothing is served either way
+			length = githubPackages.cachedLength(resolved);
+			if (length.isEmpty()) {
+				length = githubPackages.headLength(resolved);
+			}
+		} catch (IOException | RuntimeException e) {
+			fail(exchange, e);
+			return;
+		}
+		exchange.getResponseHeaders().set("Content-Type", contentType(path));
+		length.ifPresent(l->exchange.getResponseHeaders().set("Content-Length", Long.toString(l)));
+		exchange.sendResponseHeaders(200, -1);
+	}
+
+	private void fail(HttpExchange exchange, Exception e) throws IOException {
+		int status;
+		if (e instanceof RestClientException rce) {
+			status = rce.status() >= 400 && rce.status() < 600 ? rce.status() : 502;
+		} else if (e instanceof NoSuchElementException) {
+			status = 404;
+		} else if (e instanceof IllegalArgumentException) {
+			status = 400;
+		} else {
+			status = 502;
+		}
+		(status == 404 ? notFound : errors).increment();
+		exchange.sendResponseHeaders(status, -1);
+	}
+
+	// Like transferTo(), except that whatever has been written is flushed whenever the body has to wait for more of a download,
+	// otherwise the client would not see it until the server's buffers fill.
+	private static long transfer(InputStream body, OutputStream out) throws IOException {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		long total = 0;
+		int read;
+		while ((read = body.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+			total += read;
+			if (body.available() == 0) {
+				out.flush();
+			}
+		}
+		return total;
+	}
+
+	// Non-timestamped SNAPSHOT file names are resolved to the current timestamped file, everything else is passed through as is.  The
+	// name may have a classifier and/or be a checksum, e.g. lib-1.0-SNAPSHOT-sources.jar.sha1 is the checksum of the sources jar.
+	private String resolve(String path) throws IOException {
+		// /userOrg/repo/group/path/artifactId/version/fileName
+		String[] segments = path.split("/");
+		if (segments.length < 7) {
+			return path;
+		}
+		String fileName = segments[segments.length - 1];
+		String version = segments[segments.length - 2];
+		String artifactId = segments[segments.length - 3];
+		String prefix = "%s-%s".formatted(artifactId, version);
+		if (!MavenVersion.isSnapshot(version) || !fileName.startsWith(prefix)) {
+			return path;
+		}
+		String rest = fileName.substring(prefix.length());		// e.g. -sources.jar.sha1
+		String checksumSuffix = CHECKSUM_SUFFIXES.stream().filter(rest::endsWith).findFirst().orElse("");
+		rest = rest.substring(0, rest.length() - checksumSuffix.length());
+		Optional<String> classifier = Optional.empty();
+		if (rest.startsWith("-") && rest.indexOf('.') > 1) {
+			classifier = Optional.of(rest.substring(1, rest.indexOf('.')));
+			rest = rest.substring(rest.indexOf('.'));
+		}
+		if (!rest.startsWith(".") || rest.length() == 1) {
+			return path;
+		}
+		String groupId = String.join(".", Arrays.copyOfRange(segments, 3, segments.length - 3));
+		return githubPackages.snapshotPath(segments[1], segments[2], groupId, artifactId, version, classifier, rest.substring(1)) + checksumSuffix;
+	}
+
+	private static String contentType(String path) {
+		if (path.endsWith(".xml") || path.endsWith(".pom")) {
+			return "application/xml";
+		}
+		if (CHECKSUM_SUFFIXES.stream().anyMatch(path::endsWith)) {
+			return "text/plain";
+		}
+		return path.endsWith(".jar") ? "application/java-archive" : "application/octet-stream";
+	}
+}
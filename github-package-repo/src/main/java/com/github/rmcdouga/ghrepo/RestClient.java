@@ -1,9 +1,64 @@
 package com.github.rmcdouga.ghrepo;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
+// Implementations are expected to be thread-safe, a single instance is shared by all the threads using a GithubPackages object.
 public interface RestClient {
 
 	InputStream get(String path);
 
-}
\ No newline at end of file
+	// GET with additional request headers (e.g. conditional request headers), returns the status and response headers along with the body.
+	// There's no default: the caches, retries and checksum verification all act on the status, so it has to be the one the server sent.
+	Response get(String path, Map<String, String> headers);
+
+	// HEAD request, the response body is always empty.  The default makes a GET and closes the body without reading it.
+	default Response head(String path) {
+		Response response = get(path, Map.of());
+		try (InputStream body = response.body()) {
+			return new Response(response.status(), response.headers(), InputStream.nullInputStream());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static record Response(int status, Map<String, List<String>> headers, InputStream body) {
+		public Response {
+			// Header names are case-insensitive
+			Map<String, List<String>> caseInsensitiveHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			caseInsensitiveHeaders.putAll(headers);
+			headers = Collections.unmodifiableMap(caseInsensitiveHeaders);
+		}
+
+		public Optional<String> header(String name) {
+			List<String> values = headers.get(name);
+			return values == null || values.isEmpty() ? Optional.empty() : Optional.ofNullable(values.get(0));
+		}
+
+		// The body as a channel, bodies that can be read as a channel without copying (e.g. RestClientJdkImpl's) are returned as is.
+		public ReadableByteChannel channel() {
+			return ByteChannels.readable(body);
+		}
+	}
+
+	@SuppressWarnings("serial")
+	public static class RestClientException extends RuntimeException {
+		private final int status;
+
+		public RestClientException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+
+		public int status() {
+			return status;
+		}
+	}
+}
@@ -1,7 +1,24 @@
 package com.github.rmcdouga.ghrepo;
 
 public interface RestClientFactory {
+	public enum Type {
+		JERSEY,		// Jersey client
+		JDK,		// java.net.http.HttpClient, uses HTTP/2 where available
+		;
+	}
+
+	static RestClient create(Type type, String baseUrl, String githubToken) {
+		return switch (type) {
+			case JERSEY -> createJersey(baseUrl, githubToken);
+			case JDK -> createJdk(baseUrl, githubToken);
+		};
+	}
+
 	static RestClient createJersey(String baseUrl, String githubToken) {
 		return new RestClientJerseyImpl(baseUrl, githubToken);
 	}
+
+	static RestClient createJdk(String baseUrl, String githubToken) {
+		return new RestClientJdkImpl(baseUrl, githubToken);
+	}
 }
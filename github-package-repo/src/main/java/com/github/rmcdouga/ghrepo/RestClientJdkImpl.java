@@ -0,0 +1,116 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// RestClient built on the JDK HttpClient.  Requests use HTTP/2 where the server supports it, so concurrent requests to the same
+// host are multiplexed over a single connection, and fall back to pooled, keep-alive HTTP/1.1 connections otherwise.
+//
+// The HTTP/1.1 connection pool is configured using the JDK system properties, which are read when the first HttpClient is created:
+//   jdk.httpclient.connectionPoolSize - maximum number of idle connections kept per client (default 0 = unlimited)
+//   jdk.httpclient.keepalive.timeout  - seconds an idle connection is kept open (default 30)
+//
+// Response bodies are ByteBufferBody instances, so they can also be read as a ReadableByteChannel (see Response.channel()).
+//
+// Thread-safe, HttpClient instances may be shared between threads.
+public class RestClientJdkImpl implements RestClient {
+	private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
+	private static final int MAX_REDIRECTS = 5;
+
+	private final HttpClient client;
+	private final URI baseUri;
+	private final String githubToken;
+
+	public RestClientJdkImpl(String baseUrl, String githubToken) {
+		this(baseUrl, githubToken, DefaultClient.CLIENT);
+	}
+
+	// Allows the caller to supply a client with their own executor, timeouts, proxy, SSL context, etc.  Redirects are followed by
+	// this class, so the client should be built with HttpClient.Redirect.NEVER (the default).
+	public RestClientJdkImpl(String baseUrl, String githubToken, HttpClient client) {
+		this.client = Objects.requireNonNull(client, "client");
+		this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+		this.githubToken = githubToken;
+	}
+
+	// A builder with the settings used by the default client, for callers who want to adjust them.
+	public static HttpClient.Builder clientBuilder() {
+		return HttpClient.newBuilder()
+						 .version(HttpClient.Version.HTTP_2)
+						 .followRedirects(HttpClient.Redirect.NEVER)
+						 .connectTimeout(DEFAULT_CONNECT_TIMEOUT);
+	}
+
+	@Override
+	public InputStream get(String path) {
+		return send("GET", path, Map.of()).body();
+	}
+
+	@Override
+	public Response get(String path, Map<String, String> headers) {
+		HttpResponse<InputStream> response = send("GET", path, headers);
+		return new Response(response.statusCode(), response.headers().map(), response.body());
+	}
+
+	@Override
+	public Response head(String path) {
+		HttpResponse<InputStream> response = send("HEAD", path, Map.of());
+		try (InputStream body = response.body()) {
+			return new Response(response.statusCode(), response.headers().map(), InputStream.nullInputStream());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private HttpResponse<InputStream> send(String method, String path, Map<String, String> headers) {
+		URI uri = baseUri.resolve(path.startsWith("/") ? path.substring(1) : path);
+		boolean authorized = true;
+		try {
+			for (int redirects = 0; ; redirects++) {
+				HttpResponse<InputStream> response = client.send(request(method, uri, headers, authorized), responseInfo->new ByteBufferBody());
+				Optional<String> location = response.headers().firstValue("Location");
+				if (!isRedirect(response.statusCode()) || location.isEmpty() || redirects >= MAX_REDIRECTS) {
+					return response;
+				}
+				response.body().close();
+				URI redirectUri = uri.resolve(location.get());
+				// GitHub redirects downloads to pre-signed storage URLs, which reject requests that also carry our token.
+				authorized = authorized && Objects.equals(redirectUri.getHost(), uri.getHost());
+				uri = redirectUri;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to retrieve '%s'.".formatted(uri), e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UncheckedIOException(new InterruptedIOException("Interrupted while retrieving '%s'.".formatted(uri)));
+		}
+	}
+
+	private HttpRequest request(String method, URI uri, Map<String, String> headers, boolean authorized) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(uri).method(method, HttpRequest.BodyPublishers.noBody());
+		if (authorized) {
+			builder.header("Authorization", "Bearer %s".formatted(githubToken));
+		}
+		headers.forEach(builder::header);
+		return builder.build();
+	}
+
+	private static boolean isRedirect(int status) {
+		return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+	}
+
+	// Created on first use so that applications using another RestClient never start the HttpClient's threads.
+	private static class DefaultClient {
+		private static final HttpClient CLIENT = clientBuilder().build();
+	}
+}
@@ -1,28 +1,70 @@
 package com.github.rmcdouga.ghrepo;
 
 import java.io.InputStream;
+import java.util.Map;
 
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
-import jakarta.ws.rs.core.Response;
 
+// Thread-safe, Jersey Clients and WebTargets may be shared between threads and the WebTarget is never modified once created.
+//
+// Nothing is initialized until the first request, as creating the Jersey Client (and its HK2 injection container) is by far the most
+// expensive part of starting up.  Applications that only make a few requests, or that are built with native-image, start faster
+// with RestClientJdkImpl, which needs no injection container at all.
 public class RestClientJerseyImpl implements RestClient {
-	private static final Client CLIENT = ClientBuilder.newClient();
-	private final WebTarget baseTarget;
+	private final String baseUrl;
 	private final String githubToken;
-	
+	private volatile WebTarget baseTarget;		// Created on first use
+
 	public RestClientJerseyImpl(String baseUrl, String githubToken){
-		 this.baseTarget = CLIENT.target(baseUrl);
+		 this.baseUrl = baseUrl;
 		 this.githubToken = githubToken;
 	}
-	
+
 	@Override
 	public InputStream get(String path) {
-		Response response = baseTarget.path(path)
-									  .request()
-									  .header("Authorization", "Bearer %s".formatted(githubToken))
-									  .get();
+		jakarta.ws.rs.core.Response response = request(path).get();
 		return response.readEntity(InputStream.class);
 	}
+
+	@Override
+	public Response get(String path, Map<String, String> headers) {
+		Invocation.Builder request = request(path);
+		headers.forEach(request::header);
+		jakarta.ws.rs.core.Response response = request.get();
+		return new Response(response.getStatus(),
+							response.getStringHeaders(),
+							response.hasEntity() ? response.readEntity(InputStream.class) : InputStream.nullInputStream()
+							);
+	}
+
+	@Override
+	public Response head(String path) {
+		jakarta.ws.rs.core.Response response = request(path).head();
+		response.close();
+		return new Response(response.getStatus(), response.getStringHeaders(), InputStream.nullInputStream());
+	}
+
+	private Invocation.Builder request(String path) {
+		return baseTarget().path(path)
+						 .request()
+						 .header("Authorization", "Bearer %s".formatted(githubToken));
+	}
+
+	// Racing threads may each create a WebTarget, which is harmless as they are equivalent.
+	private WebTarget baseTarget() {
+		WebTarget target = baseTarget;
+		if (target == null) {
+			target = DefaultClient.CLIENT.target(baseUrl);
+			baseTarget = target;
+		}
+		return target;
+	}
+
+	// Holder class so that the Client is created on first use rather than when this class is loaded.
+	private static class DefaultClient {
+		private static final Client CLIENT = ClientBuilder.newClient();
+	}
 }
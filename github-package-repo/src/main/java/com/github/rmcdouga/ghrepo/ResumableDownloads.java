@@ -0,0 +1,170 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.rmcdouga.ghrepo.ChecksumAlgorithm.ChecksumException;
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
+
+// Downloads into a sidecar .part file which is moved into place once complete.  If a previous attempt left a .part file
+// behind, the download resumes from where it stopped provided the remote file has not changed since.
+final class ResumableDownloads {
+	static final String PART_SUFFIX = ".part";
+	private static final String PART_INFO_SUFFIX = ".part.properties";
+	private static final String VALIDATOR_KEY = "validator";
+	private static final Pattern CONTENT_RANGE_START = Pattern.compile("bytes (\\d+)-\\d+/(\\d+|\\*)");
+	private static final ConcurrentMap<Path, CompletableFuture<Void>> IN_PROGRESS = new ConcurrentHashMap<>();
+
+	private ResumableDownloads() {
+	}
+
+	static long copy(RestClient restClient, String path, Path target, CopyOption... options) throws IOException {
+		return copy(restClient, path, target, null, options);
+	}
+
+	// If a verifier is supplied the content is checked before it is moved into place, the .part file is discarded on a mismatch.
+	static long copy(RestClient restClient, String path, Path target, ChecksumVerifier verifier, CopyOption... options) throws IOException {
+		// Copies to the same target would share a .part file, so only one at a time is allowed to run.
+		Path key = target.toAbsolutePath().normalize();
+		CompletableFuture<Void> done = new CompletableFuture<>();
+		CompletableFuture<Void> inProgress;
+		while ((inProgress = IN_PROGRESS.putIfAbsent(key, done)) != null) {
+			inProgress.exceptionally(t->null).join();
+		}
+		try {
+			return copyExclusively(restClient, path, target, verifier, options);
+		} finally {
+			IN_PROGRESS.remove(key, done);
+			done.complete(null);
+		}
+	}
+
+	private static long copyExclusively(RestClient restClient, String path, Path target, ChecksumVerifier verifier, CopyOption... options) throws IOException {
+		boolean replaceExisting = Arrays.asList(options).contains(StandardCopyOption.REPLACE_EXISTING);
+		if (!replaceExisting && Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+			throw new FileAlreadyExistsException(target.toString());
+		}
+		Path part = sibling(target, PART_SUFFIX);
+		Path partInfo = sibling(target, PART_INFO_SUFFIX);
+
+		if (!resume(restClient, path, part, partInfo, verifier)) {
+			download(restClient, path, part, partInfo, verifier);
+		}
+		if (verifier != null) {
+			try {
+				verifier.verify();
+			} catch (ChecksumException e) {
+				Files.deleteIfExists(part);
+				Files.deleteIfExists(partInfo);
+				throw e;
+			}
+		}
+
+		long size = Files.size(part);
+		AtomicFiles.move(part, target, replaceExisting);
+		Files.deleteIfExists(partInfo);
+		return size;
+	}
+
+	// Returns true if an existing .part file was completed, false if the download needs to start from scratch.
+	private static boolean resume(RestClient restClient, String path, Path part, Path partInfo, ChecksumVerifier verifier) throws IOException {
+		Optional<String> validator = readValidator(partInfo);
+		if (validator.isEmpty() || !Files.exists(part)) {
+			return false;
+		}
+		long offset = Files.size(part);
+		// If-Range means the server only sends the remainder if the file is unchanged, otherwise it sends the whole file.
+		Response response = restClient.get(path, Map.of("Range", "bytes=%d-".formatted(offset), "If-Range", validator.get()));
+		if (response.status() == 206 && contentRangeStart(response) == offset) {
+			if (verifier != null) {
+				verifier.update(part);	// The checksum covers the bytes downloaded earlier as well
+			}
+			writeBody(response, part, offset, verifier);
+			return true;
+		}
+		if (response.status() == 200) {
+			write(response, part, partInfo, verifier);
+			return true;
+		}
+		response.body().close();
+		if (response.status() == 206 || response.status() == 416) {
+			// Unusable range response, discard what we have and start again.
+			return false;
+		}
+		throw new RestClientException(response.status(), "Unable to retrieve '%s', status code %d returned.".formatted(path, response.status()));
+	}
+
+	private static void download(RestClient restClient, String path, Path part, Path partInfo, ChecksumVerifier verifier) throws IOException {
+		Response response = restClient.get(path, Map.of());
+		if (response.status() != 200) {
+			response.body().close();
+			throw new RestClientException(response.status(), "Unable to retrieve '%s', status code %d returned.".formatted(path, response.status()));
+		}
+		write(response, part, partInfo, verifier);
+	}
+
+	// Records the validator before writing any content so that an interrupted download can be resumed.
+	private static void write(Response response, Path part, Path partInfo, ChecksumVerifier verifier) throws IOException {
+		Optional<String> validator = response.header("ETag").or(()->response.header("Last-Modified"));
+		if (validator.isPresent()) {
+			Properties info = new Properties();
+			info.setProperty(VALIDATOR_KEY, validator.get());
+			try (OutputStream out = Files.newOutputStream(partInfo)) {
+				info.store(out, null);
+			}
+		} else {
+			Files.deleteIfExists(partInfo);
+		}
+		if (verifier != null) {
+			verifier.reset();
+		}
+		writeBody(response, part, 0, verifier);
+	}
+
+	// Writes the body into the .part file from the given offset, discarding anything after it.
+	private static void writeBody(Response response, Path part, long offset, ChecksumVerifier verifier) throws IOException {
+		try (InputStream body = response.body(); FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			out.truncate(offset);
+			out.position(offset);
+			ByteChannels.copy(body, verifier != null ? verifier.digesting(out) : out);
+		}
+	}
+
+	private static Optional<String> readValidator(Path partInfo) {
+		Properties info = new Properties();
+		try (InputStream is = Files.newInputStream(partInfo)) {
+			info.load(is);
+		} catch (IOException e) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(info.getProperty(VALIDATOR_KEY));
+	}
+
+	private static long contentRangeStart(Response response) {
+		Matcher matcher = CONTENT_RANGE_START.matcher(response.header("Content-Range").orElse(""));
+		return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+	}
+
+	private static Path sibling(Path target, String suffix) {
+		return target.resolveSibling(target.getFileName() + suffix);
+	}
+}
@@ -0,0 +1,280 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// RestClient decorator that retries failed requests and, optionally, hedges slow ones.
+//
+// All the requests a RestClient makes are idempotent (GET and HEAD), so they are always safe to retry.  Requests are retried when the
+// delegate throws or returns 429 or a 5xx gateway/availability status, waiting an exponentially increasing, fully jittered delay between
+// attempts (or the server's Retry-After, if it sent one).  A response that is still failing after the last attempt, or that asks for a
+// longer Retry-After than maxRetryAfter, is returned to the caller.
+//
+// When hedging is enabled a duplicate request is sent if the first has not responded within the 95th percentile of recent response
+// times, and whichever responds first is used (the other response is discarded).  This trades a few percent more requests for a much
+// shorter tail.
+public final class RetryingRestClient implements RestClient {
+	private static final int DEFAULT_MAX_ATTEMPTS = 3;
+	private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(200);
+	private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(10);
+	private static final Duration DEFAULT_MAX_RETRY_AFTER = Duration.ofSeconds(60);
+	private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 500, 502, 503, 504);
+	private static final double HEDGE_PERCENTILE = 0.95;
+
+	private final RestClient delegate;
+	private final int maxAttempts;
+	private final Duration initialBackoff;
+	private final Duration maxBackoff;
+	private final Duration maxRetryAfter;
+	private final boolean hedging;
+	private final Latencies latencies;
+	private final Sleeper sleeper;
+	private final GithubPackagesListener listener;
+
+	private RetryingRestClient(RestClient delegate, int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration maxRetryAfter, boolean hedging, Latencies latencies, Sleeper sleeper, GithubPackagesListener listener) {
+		this.delegate = Objects.requireNonNull(delegate, "delegate");
+		this.maxAttempts = maxAttempts;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		this.maxRetryAfter = maxRetryAfter;
+		this.hedging = hedging;
+		this.latencies = latencies;
+		this.sleeper = sleeper;
+		this.listener = listener;
+	}
+
+	// Retries aren't reported to anything until listener() is called, use GithubPackages.restClient((client, listener)->...) to
+	// report them to the GithubPackages' listener.
+	public static RetryingRestClient wrap(RestClient delegate) {
+		return new RetryingRestClient(delegate, DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF, DEFAULT_MAX_RETRY_AFTER, false, new Latencies(), Thread::sleep, GithubPackagesListener.NONE);
+	}
+
+	// Total number of attempts, including the first (1 disables retries).
+	public RetryingRestClient maxAttempts(int maxAttempts) {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException("maxAttempts must be at least 1 but was %d.".formatted(maxAttempts));
+		}
+		return new RetryingRestClient(delegate, maxAttempts, initialBackoff, maxBackoff, maxRetryAfter, hedging, latencies, sleeper, listener);
+	}
+
+	// The delay before the first retry, doubling with each subsequent retry up to maxBackoff.
+	public RetryingRestClient backoff(Duration initialBackoff, Duration maxBackoff) {
+		return new RetryingRestClient(delegate, maxAttempts, initialBackoff, maxBackoff, maxRetryAfter, hedging, latencies, sleeper, listener);
+	}
+
+	// The longest Retry-After that will be waited for (it is not limited by maxBackoff), a response asking for longer is returned as is.
+	public RetryingRestClient maxRetryAfter(Duration maxRetryAfter) {
+		return new RetryingRestClient(delegate, maxAttempts, initialBackoff, maxBackoff, Objects.requireNonNull(maxRetryAfter, "maxRetryAfter"), hedging, latencies, sleeper, listener);
+	}
+
+	public RetryingRestClient hedging(boolean hedging) {
+		return new RetryingRestClient(delegate, maxAttempts, initialBackoff, maxBackoff, maxRetryAfter, hedging, latencies, sleeper, listener);
+	}
+
+	// Reports retries to the listener.
+	public RetryingRestClient listener(GithubPackagesListener listener) {
+		return new RetryingRestClient(delegate, maxAttempts, initialBackoff, maxBackoff, maxRetryAfter, hedging, latencies, sleeper, Objects.requireNonNull(listener, "listener"));
+	}
+
+	// package visibility for unit tests.
+	RetryingRestClient sleeper(Sleeper sleeper) {
+		return new RetryingRestClient(delegate, maxAttempts, initialBackoff, maxBackoff, maxRetryAfter, hedging, latencies, sleeper, listener);
+	}
+
+	@FunctionalInterface
+	interface Sleeper {
+		void sleep(long millis) throws InterruptedException;
+	}
+
+	@Override
+	public InputStream get(String path) {
+		// No status is available, so only failures to connect/read are retried.
+		return retry("GET", path, ()->hedged(()->delegate.get(path), RetryingRestClient::close), is->false, is->Optional.empty());
+	}
+
+	@Override
+	public Response get(String path, Map<String, String> headers) {
+		return retry("GET", path, ()->hedged(()->delegate.get(path, headers), r->close(r.body())), RetryingRestClient::isRetryable, RetryingRestClient::retryAfter);
+	}
+
+	@Override
+	public Response head(String path) {
+		return retry("HEAD", path, ()->hedged(()->delegate.head(path), r->close(r.body())), RetryingRestClient::isRetryable, RetryingRestClient::retryAfter);
+	}
+
+	private <T> T retry(String method, String path, Supplier<T> request, Predicate<T> retryable, Function<T, Optional<Duration>> requestedDelay) {
+		for (int attempt = 1; ; attempt++) {
+			Optional<Duration> delay = Optional.empty();
+			try {
+				T result = request.get();
+				if (!retryable.test(result) || attempt >= maxAttempts) {
+					return result;
+				}
+				delay = requestedDelay.apply(result);
+				if (delay.isPresent() && delay.get().compareTo(maxRetryAfter) > 0) {
+					return result;		// Not worth waiting that long
+				}
+				discard(result);
+			} catch (RuntimeException e) {
+				if (attempt >= maxAttempts || isInterrupted(e)) {
+					throw e;
+				}
+			}
+			Duration wait = delay.isPresent() ? delay.get() : backoff(attempt);
+			listener.retrying(method, path, attempt, wait);
+			sleep(wait);
+		}
+	}
+
+	private static boolean isRetryable(Response response) {
+		return RETRYABLE_STATUSES.contains(response.status());
+	}
+
+	private static Optional<Duration> retryAfter(Response response) {
+		return response.header("Retry-After").flatMap(RetryingRestClient::parseRetryAfter);
+	}
+
+	// Only the delta-seconds form is supported, an HTTP date falls back to the normal backoff.
+	private static Optional<Duration> parseRetryAfter(String retryAfter) {
+		try {
+			return Optional.of(Duration.ofSeconds(Long.parseLong(retryAfter.trim())));
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+
+	// "Full jitter" - a random delay between 0 and the exponential backoff, so that clients that failed together don't retry together.
+	private Duration backoff(int attempt) {
+		long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 30));
+		return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+	}
+
+	private void sleep(Duration delay) {
+		try {
+			sleeper.sleep(delay.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting to retry."));
+		}
+	}
+
+	private static boolean isInterrupted(RuntimeException e) {
+		return e instanceof UncheckedIOException uioe && uioe.getCause() instanceof InterruptedIOException;
+	}
+
+	private static void discard(Object result) {
+		if (result instanceof Response response) {
+			close(response.body());
+		} else if (result instanceof InputStream is) {
+			close(is);
+		}
+	}
+
+	private static void close(InputStream is) {
+		try {
+			is.close();
+		} catch (IOException e) {
+			// Nothing useful can be done, we are throwing the response away anyway.
+		}
+	}
+
+	private <T> T hedged(Supplier<T> request, Consumer<T> discard) {
+		Optional<Duration> hedgeDelay = hedging ? latencies.percentile(HEDGE_PERCENTILE) : Optional.empty();
+		if (hedgeDelay.isEmpty()) {
+			return timed(request);
+		}
+		CompletableFuture<T> primary = CompletableFuture.supplyAsync(()->timed(request), HedgeExecutor.INSTANCE);
+		try {
+			return primary.get(hedgeDelay.get().toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// Slow response, fall through and race a second request against it.
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			primary.thenAccept(discard);
+			throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for a response."));
+		}
+		CompletableFuture<T> hedge = CompletableFuture.supplyAsync(()->timed(request), HedgeExecutor.INSTANCE);
+		CompletableFuture<T> winner = new CompletableFuture<>();
+		AtomicInteger failures = new AtomicInteger();
+		for (CompletableFuture<T> candidate : Arrays.asList(primary, hedge)) {
+			candidate.whenComplete((result, t)->{
+				if (t == null) {
+					if (!winner.complete(result)) {
+						discard.accept(result);		// Lost the race
+					}
+				} else if (failures.incrementAndGet() == 2) {
+					winner.completeExceptionally(t);
+				}
+			});
+		}
+		try {
+			return winner.get();
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			winner.thenAccept(discard);
+			throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for a response."));
+		}
+	}
+
+	// Records how long the request took to respond (not how long the body takes to read).
+	private <T> T timed(Supplier<T> request) {
+		long start = System.nanoTime();
+		T result = request.get();
+		latencies.record(System.nanoTime() - start);
+		return result;
+	}
+
+	// A sliding window of recent response times.
+	private static class Latencies {
+		private static final int WINDOW = 256;
+		private static final int MIN_SAMPLES = 20;		// Don't hedge until there's enough history for a meaningful percentile
+
+		private final long[] samples = new long[WINDOW];
+		private int count = 0;
+		private int next = 0;
+
+		synchronized void record(long nanos) {
+			samples[next] = nanos;
+			next = (next + 1) % WINDOW;
+			count = Math.min(count + 1, WINDOW);
+		}
+
+		synchronized Optional<Duration> percentile(double percentile) {
+			if (count < MIN_SAMPLES) {
+				return Optional.empty();
+			}
+			long[] sorted = Arrays.copyOf(samples, count);
+			Arrays.sort(sorted);
+			return Optional.of(Duration.ofNanos(sorted[(int) Math.min(count - 1, Math.ceil(percentile * count) - 1)]));
+		}
+	}
+
+	// Holder class so that the executor is only created if hedging is used.
+	private static class HedgeExecutor {
+		private static final Executor INSTANCE = Executors.newVirtualThreadPerTaskExecutor();
+	}
+}
@@ -0,0 +1,215 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.github.rmcdouga.ghrepo.MavenMetadata.Snapshot;
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
+
+// Watches SNAPSHOT versions for new builds, e.g.
+//   SnapshotWatcher watcher = githubPackages.snapshotWatcher(Duration.ofMinutes(1));
+//   watcher.watch(ArtifactCoordinates.of(org, repo, groupId, artifactId, "1.0-SNAPSHOT"), appDir.resolve("app.jar"), build->restart());
+//
+// Each watched version's maven-metadata.xml is polled with a conditional GET (using the ETag and Last-Modified of the previous
+// response), so polls where nothing has changed transfer no data.  A build is new when its snapshot timestamp and buildNumber
+// differ from the last one seen, and only then is the listener called (and the artifact downloaded).  The build that is current
+// when watching starts counts as new.
+//
+// However many versions are watched, polls are scheduled on one thread and run on the GithubPackages executor.  A version's next
+// poll is scheduled once its previous one (including the listener) has finished, so a listener is never called concurrently
+// with itself.  Every interval is jittered by up to 10% either way (and the first poll comes after a random fraction of the
+// interval) so that versions watched together, or by many agents, don't all poll at the same moment.
+//
+// A failed poll or listener is reported to the listener and retried at the next poll.  Thread-safe.
+public final class SnapshotWatcher implements AutoCloseable {
+	private static final double JITTER = 0.1;
+	private static final String METADATA_NAME = "maven-metadata.xml";
+
+	private final GithubPackages githubPackages;
+	private final Duration interval;
+	private final ScheduledThreadPoolExecutor scheduler;
+	private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+
+	// A new build of a watched version, fileName is the timestamped file name of the artifact.
+	public static record Build(ArtifactCoordinates artifact, Snapshot snapshot, String fileName) {}
+
+	@FunctionalInterface
+	public interface Listener {
+		void newBuild(Build build) throws IOException;
+
+		// Called with anything that stops a poll from completing, including exceptions thrown by newBuild().
+		default void failed(ArtifactCoordinates artifact, Throwable failure) {
+		}
+	}
+
+	SnapshotWatcher(GithubPackages githubPackages, Duration interval) {
+		if (interval.isNegative() || interval.isZero()) {
+			throw new IllegalArgumentException("Interval must be positive (%s).".formatted(interval));
+		}
+		this.githubPackages = githubPackages;
+		this.interval = interval;
+		this.scheduler = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name("snapshot-watcher").daemon().factory());
+		this.scheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	public Watch watch(ArtifactCoordinates artifact, Listener listener) {
+		return start(new Watch(artifact, null, listener));
+	}
+
+	// Downloads each new build to target (replacing the previous one in a single move, so target is never partly written) and
+	// then calls the listener.
+	public Watch watch(ArtifactCoordinates artifact, Path target, Listener listener) {
+		return start(new Watch(artifact, Objects.requireNonNull(target, "target"), listener));
+	}
+
+	private Watch start(Watch watch) {
+		if (!MavenVersion.isSnapshot(watch.artifact.version())) {
+			throw new IllegalArgumentException("Only SNAPSHOT versions can be watched (%s).".formatted(watch.artifact));
+		}
+		watches.add(watch);
+		watch.schedule((long) (interval.toNanos() * ThreadLocalRandom.current().nextDouble()));
+		return watch;
+	}
+
+	// Stops watching everything, polls that are running are allowed to finish.
+	@Override
+	public void close() {
+		watches.forEach(Watch::close);
+		scheduler.shutdownNow();
+	}
+
+	private long jitteredInterval() {
+		return (long) (interval.toNanos() * (1 + JITTER * (2 * ThreadLocalRandom.current().nextDouble() - 1)));
+	}
+
+	public final class Watch implements AutoCloseable {
+		private final ArtifactCoordinates artifact;
+		private final Path target;
+		private final Listener listener;
+		private final String metadataPath;
+		// Only used by polls, which never overlap
+		private String etag;
+		private String lastModified;
+		private volatile Build lastBuild;
+		private volatile Future<?> next;
+		private volatile boolean closed = false;
+
+		private Watch(ArtifactCoordinates artifact, Path target, Listener listener) {
+			this.artifact = artifact;
+			this.target = target;
+			this.listener = Objects.requireNonNull(listener, "listener");
+			this.metadataPath = "/%s/%s/%s/%s/%s/%s".formatted(artifact.userOrg(), artifact.repo(), artifact.groupId().replace('.', '/'), artifact.artifactId(), artifact.version(), METADATA_NAME);
+		}
+
+		public ArtifactCoordinates artifact() {
+			return artifact;
+		}
+
+		// The last build the listener was called for (or is being called for).
+		public Optional<Build> lastBuild() {
+			return Optional.ofNullable(lastBuild);
+		}
+
+		// Stops watching, a poll that is running is allowed to finish.
+		@Override
+		public void close() {
+			closed = true;
+			Future<?> scheduled = next;
+			if (scheduled != null) {
+				scheduled.cancel(false);
+			}
+			watches.remove(this);
+		}
+
+		private void schedule(long delayNanos) {
+			try {
+				next = scheduler.schedule(this::run, delayNanos, TimeUnit.NANOSECONDS);
+			} catch (RejectedExecutionException e) {
+				// The watcher has been closed
+			}
+			if (closed && next != null) {
+				next.cancel(false);		// Closed while we were scheduling
+			}
+		}
+
+		// Runs on the scheduler thread, so hand the poll (which blocks) to the executor.
+		private void run() {
+			githubPackages.async(()->{
+				poll();
+				return null;
+			}).whenComplete((result, failure)->{
+				try {
+					if (failure != null && !closed) {
+						listener.failed(artifact, failure);
+					}
+				} finally {
+					if (!closed) {
+						schedule(jitteredInterval());
+					}
+				}
+			});
+		}
+
+		private void poll() throws IOException {
+			Map<String, String> headers = new HashMap<>();
+			if (etag != null) {
+				headers.put("If-None-Match", etag);
+			}
+			if (lastModified != null) {
+				headers.put("If-Modified-Since", lastModified);
+			}
+			Response response = githubPackages.request(metadataPath, headers);
+			byte[] xml;
+			try (InputStream body = response.body()) {
+				if (response.status() == 304) {
+					return;
+				}
+				if (response.status() != 200) {
+					throw new RestClientException(response.status(), "Unable to retrieve '%s', status code %d returned.".formatted(metadataPath, response.status()));
+				}
+				xml = body.readAllBytes();
+			}
+			MavenMetadata metadata = MavenMetadata.from(xml, artifact.extension());
+			Optional<Snapshot> snapshot = metadata.snapshot();
+			Build current = lastBuild;
+			if (snapshot.isPresent() && (current == null || !current.snapshot().equals(snapshot.get()))) {
+				Build build = new Build(artifact, snapshot.get(), metadata.getLatestArtifactName(artifact.artifactId()));
+				githubPackages.invalidateMetadata(artifact);		// So that get() etc. see the new build straight away
+				if (target != null) {
+					download(build);
+				}
+				lastBuild = build;		// Before the listener is called, so that it sees the build it is being called for
+				try {
+					listener.newBuild(build);
+				} catch (Throwable t) {
+					lastBuild = current;	// So that the build is retried at the next poll
+					throw t;
+				}
+			}
+			// Only once the build has been handled, otherwise a failure would not be retried until the metadata changed again
+			etag = response.header("ETag").orElse(null);
+			lastModified = response.header("Last-Modified").orElse(null);
+		}
+
+		private void download(Build build) throws IOException {
+			Path dir = target.toAbsolutePath().getParent();
+			Files.createDirectories(dir);
+			AtomicFiles.write(target, true, temp->githubPackages.copy(metadataPath.substring(0, metadataPath.length() - METADATA_NAME.length()) + build.fileName(), temp));
+		}
+	}
+}
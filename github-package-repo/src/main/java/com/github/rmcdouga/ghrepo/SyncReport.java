@@ -0,0 +1,31 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.nio.file.Path;
+import java.util.List;
+
+// Outcome of a mirror sync.  upToDate lists the artifacts (groupId:artifactId) and SNAPSHOT versions (groupId:artifactId:version)
+// whose metadata had not changed since the last sync, so nothing was transferred for them.
+//
+// transferred includes the .sha1/.md5 checksum files that were mirrored.  Checksum files the repository doesn't have are not failures,
+// and classified files of released versions (e.g. -sources.jar) are never mirrored, so are in neither list.
+public record SyncReport(List<Transfer> transferred, List<String> upToDate, List<Failure> failures) {
+
+	public SyncReport {
+		transferred = List.copyOf(transferred);
+		upToDate = List.copyOf(upToDate);
+		failures = List.copyOf(failures);
+	}
+
+	// path is the path within the remote repository, target the file it was written to.
+	public static record Transfer(String path, Path target, long bytes) {}
+
+	public static record Failure(String path, Throwable failure) {}
+
+	public boolean allSucceeded() {
+		return failures.isEmpty();
+	}
+
+	public long totalBytes() {
+		return transferred.stream().mapToLong(Transfer::bytes).sum();
+	}
+}
@@ -0,0 +1,117 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// A Maven version range, e.g. [1.2,2.0), (,1.0] or [1.0] (exactly 1.0).  Several ranges separated by commas match any of them,
+// e.g. (,1.0],[1.2,).
+record VersionRange(String spec, List<Restriction> restrictions) {
+	private record Restriction(MavenVersion lower, boolean lowerInclusive, MavenVersion upper, boolean upperInclusive) {	// null bounds are unbounded
+		boolean contains(MavenVersion version) {
+			if (lower != null) {
+				int result = version.compareTo(lower);
+				if (result < 0 || (result == 0 && !lowerInclusive)) {
+					return false;
+				}
+			}
+			if (upper != null) {
+				int result = version.compareTo(upper);
+				if (result > 0 || (result == 0 && !upperInclusive)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		boolean hasSnapshotBound() {
+			return isSnapshot(lower) || isSnapshot(upper);
+		}
+
+		private static boolean isSnapshot(MavenVersion bound) {
+			return bound != null && MavenVersion.isSnapshot(bound.toString().trim());
+		}
+	}
+
+	static boolean isRange(String spec) {
+		return spec.startsWith("[") || spec.startsWith("(");
+	}
+
+	static VersionRange parse(String spec) {
+		List<Restriction> restrictions = new ArrayList<>();
+		String remaining = spec.trim();
+		while (!remaining.isEmpty()) {
+			if (!isRange(remaining)) {
+				throw invalid(spec);
+			}
+			int end = indexOfAny(remaining, ']', ')');
+			if (end < 0) {
+				throw invalid(spec);
+			}
+			restrictions.add(restriction(remaining.substring(0, end + 1), spec));
+			remaining = remaining.substring(end + 1).trim();
+			if (remaining.startsWith(",")) {
+				remaining = remaining.substring(1).trim();
+				if (remaining.isEmpty()) {
+					throw invalid(spec);
+				}
+			} else if (!remaining.isEmpty()) {
+				throw invalid(spec);
+			}
+		}
+		if (restrictions.isEmpty()) {
+			throw invalid(spec);
+		}
+		return new VersionRange(spec, List.copyOf(restrictions));
+	}
+
+	boolean contains(String version) {
+		MavenVersion mavenVersion = MavenVersion.of(version);
+		return restrictions.stream().anyMatch(r->r.contains(mavenVersion));
+	}
+
+	// The newest of the versions in the range.  SNAPSHOTs are only considered if the range itself mentions one.
+	Optional<String> newest(Collection<String> versions) {
+		boolean snapshots = restrictions.stream().anyMatch(Restriction::hasSnapshotBound);
+		return MavenVersion.newest(versions, v->(snapshots || !MavenVersion.isSnapshot(v)) && contains(v));
+	}
+
+	private static Restriction restriction(String range, String spec) {
+		boolean lowerInclusive = range.charAt(0) == '[';
+		boolean upperInclusive = range.charAt(range.length() - 1) == ']';
+		String contents = range.substring(1, range.length() - 1);
+		int comma = contents.indexOf(',');
+		if (comma < 0) {
+			// [1.0] means exactly 1.0
+			if (!lowerInclusive || !upperInclusive || contents.isBlank()) {
+				throw invalid(spec);
+			}
+			MavenVersion version = MavenVersion.of(contents);
+			return new Restriction(version, true, version, true);
+		}
+		MavenVersion lower = bound(contents.substring(0, comma));
+		MavenVersion upper = bound(contents.substring(comma + 1));
+		if (contents.indexOf(',', comma + 1) >= 0 || (lower != null && upper != null && lower.compareTo(upper) > 0)) {
+			throw invalid(spec);
+		}
+		return new Restriction(lower, lowerInclusive, upper, upperInclusive);
+	}
+
+	private static MavenVersion bound(String bound) {
+		return bound.isBlank() ? null : MavenVersion.of(bound);
+	}
+
+	private static int indexOfAny(String s, char c1, char c2) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) == c1 || s.charAt(i) == c2) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static IllegalArgumentException invalid(String spec) {
+		return new IllegalArgumentException("Invalid version range '%s'.".formatted(spec));
+	}
+}
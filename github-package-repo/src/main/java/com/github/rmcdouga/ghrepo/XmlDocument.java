@@ -11,9 +11,15 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.IntStream;
 
 import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Transformer;
@@ -23,6 +29,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
@@ -33,18 +40,28 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+// Instances are safe to share between threads.  The underlying DOM is not thread-safe (even for reads), so all access to it
+// is synchronized on the document.
 public class XmlDocument {
-	private final XPath xpath = XPathFactory.newInstance().newXPath();
+	// Factories are expensive to create (they are located using a service loader) so they are created once and shared.
+	// Neither they, the DocumentBuilders or the XPathExpressions they create are thread-safe, so access to the factories is 
+	// synchronized and builders/expressions are pooled so that each is only used by one thread at a time.
+	private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = createDocumentBuilderFactory();
+	private static final XPathFactory XPATH_FACTORY = XPathFactory.newInstance();
+	private static final int MAX_POOLED_BUILDERS = 16;
+	private static final int MAX_CACHED_EXPRESSIONS = 256;
+	private static final Queue<DocumentBuilder> DOCUMENT_BUILDERS = new ConcurrentLinkedQueue<>();
+	private static final ConcurrentMap<ExpressionKey, Queue<XPathExpression>> EXPRESSIONS = new ConcurrentHashMap<>();
 	
 	private record Namespace(String nsPrefix, String nsUri) {};
+	private record ExpressionKey(String xPathExpr, List<Namespace> namespaces) {};
 	
 	private final Document document;
+	private final List<Namespace> namespaces;
 	
     private XmlDocument(Document document, List<Namespace> namespaces) {
 		this.document = document;
-		if (namespaces.size() > 0) {
-			xpath.setNamespaceContext(createNamespaceContext(namespaces));
-		}
+		this.namespaces = List.copyOf(namespaces);
 	}
 
 	public static XmlDocument create(Path file) throws XmlDocumentException {
@@ -77,7 +94,9 @@ public class XmlDocument {
     
     public String getString(String xPathExpr) throws XmlDocumentException {
     	try {
-			return xpath.evaluate(xPathExpr, document);
+    		synchronized (document) {
+    			return (String) evaluate(xPathExpr, XPathConstants.STRING);
+    		}
 		} catch (XPathExpressionException e) {
 			throw new XmlDocumentException("Error while processing xpath(" + xPathExpr + ").", e);
 		}
@@ -85,12 +104,14 @@ public class XmlDocument {
 
 	public List<String> getStrings(String xPathExpr) throws XmlDocumentException {
 		try {
-			NodeList nodes = (NodeList) xpath.evaluate(xPathExpr, document, XPathConstants.NODESET);
-			List<String> result = new ArrayList<>(nodes.getLength());
-			for (int i = 0; i < nodes.getLength(); i++) {
-				result.add(nodes.item(i).getTextContent());
+			synchronized (document) {
+				NodeList nodes = (NodeList) evaluate(xPathExpr, XPathConstants.NODESET);
+				List<String> result = new ArrayList<>(nodes.getLength());
+				for (int i = 0; i < nodes.getLength(); i++) {
+					result.add(nodes.item(i).getTextContent());
+				}
+				return Collections.unmodifiableList(result);
 			}
-			return Collections.unmodifiableList(result);
 		} catch (XPathExpressionException | DOMException e) {
 			throw new XmlDocumentException("Error while processing xpath(" + xPathExpr + ").", e);
 		}
@@ -100,9 +121,40 @@ public class XmlDocument {
     	return Boolean.valueOf(getString(xPathExpr));
     }
 
+	// Evaluate using a previously compiled expression if one is available.
+	private Object evaluate(String xPathExpr, QName returnType) throws XPathExpressionException {
+		ExpressionKey key = new ExpressionKey(xPathExpr, namespaces);
+		Queue<XPathExpression> pool = EXPRESSIONS.get(key);
+		XPathExpression expression = pool != null ? pool.poll() : null;
+		if (expression == null) {
+			expression = compile(xPathExpr, namespaces);
+		}
+		Object result = expression.evaluate(document, returnType);
+		if (pool == null && EXPRESSIONS.size() < MAX_CACHED_EXPRESSIONS) {
+			pool = EXPRESSIONS.computeIfAbsent(key, k->new ConcurrentLinkedQueue<>());
+		}
+		if (pool != null) {
+			pool.offer(expression);
+		}
+		return result;
+	}
+
+	private static XPathExpression compile(String xPathExpr, List<Namespace> namespaces) throws XPathExpressionException {
+		XPath xpath;
+		synchronized (XPATH_FACTORY) {
+			xpath = XPATH_FACTORY.newXPath();
+		}
+		if (namespaces.size() > 0) {
+			xpath.setNamespaceContext(createNamespaceContext(namespaces));
+		}
+		return xpath.compile(xPathExpr);
+	}
+
 	@Override
 	public String toString() {
-		return getStringFromDocument(document);
+		synchronized (document) {
+			return getStringFromDocument(document);
+		}
 	}
 
 	//method to convert Document to String
@@ -124,6 +176,12 @@ public class XmlDocument {
 	    }
 	} 
 
+	private static DocumentBuilderFactory createDocumentBuilderFactory() {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		return factory;
+	}
+
 	private static NamespaceContext createNamespaceContext(List<Namespace> namespaces) {
 		 return new NamespaceContext() {
 		        public String getNamespaceURI(String prefix) {
@@ -178,9 +236,7 @@ public class XmlDocument {
 
 		public XmlDocument build() {
 	    	try {
-				DocumentBuilderFactory xmlFactory = DocumentBuilderFactory.newInstance();
-				xmlFactory.setNamespaceAware(true);
-				Document document = xmlFactory.newDocumentBuilder().parse(is);
+				Document document = parse(is);
 				if (defaultNamespacePrefix != null) {
 					namespaces.add(constructDefaultNamespace(document, defaultNamespacePrefix));
 				}
@@ -189,6 +245,23 @@ public class XmlDocument {
 				throw new XmlDocumentException("Error while parsing XmlDocument.", e);
 			}
 		}
+
+		private static Document parse(InputStream is) throws SAXException, IOException, ParserConfigurationException {
+			DocumentBuilder builder = DOCUMENT_BUILDERS.poll();
+			if (builder == null) {
+				synchronized (DOCUMENT_BUILDER_FACTORY) {
+					builder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+				}
+			}
+			try {
+				return builder.parse(is);
+			} finally {
+				builder.reset();
+				if (DOCUMENT_BUILDERS.size() < MAX_POOLED_BUILDERS) {
+					DOCUMENT_BUILDERS.offer(builder);
+				}
+			}
+		}
 		
 		// Construct a Namespace from the default namespace declared in the document
 		private static Namespace constructDefaultNamespace(Document document, String defaultNamespacePrefix) {
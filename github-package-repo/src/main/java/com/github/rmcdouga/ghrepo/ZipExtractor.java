@@ -0,0 +1,130 @@
+package com.github.rmcdouga.ghrepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+// Unzips an archive as it is read (e.g. from the network), without writing the archive itself to disk.
+//
+// Entries have to be read one after another, but writing them need not be: entries of up to MAX_BUFFERED_ENTRY bytes are read
+// into memory and written on their own virtual threads while the next entries are read, at most MAX_PENDING_WRITES at once.
+// Larger entries are written as they are read.
+//
+// Entry names that would resolve outside the target directory (../ or absolute paths, aka "zip slip") fail the whole extraction,
+// whether or not the filter accepts them.
+final class ZipExtractor {
+	private static final int MAX_BUFFERED_ENTRY = 1024 * 1024;
+	private static final int MAX_PENDING_WRITES = 8;
+
+	private ZipExtractor() {
+	}
+
+	// Returns the files extracted, in the order they are in the archive.  The whole of in is read (so that a verifying stream
+	// checks its checksum) but it is not closed.
+	static List<Path> extract(InputStream in, Path dir, Predicate<String> filter, GithubPackages githubPackages) throws IOException {
+		Path root = dir.toAbsolutePath().normalize();
+		Files.createDirectories(root);
+		Semaphore pendingWrites = new Semaphore(MAX_PENDING_WRITES);
+		Map<Path, CompletableFuture<Void>> writes = new HashMap<>();
+		Set<Path> extracted = new LinkedHashSet<>();		// Names can appear more than once
+		boolean completed = false;
+		try {
+			ZipInputStream zip = new ZipInputStream(in);	// Not closed, as that would close in
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				Path target = resolve(root, entry.getName());
+				if (!filter.test(entry.getName())) {
+					continue;
+				}
+				if (entry.isDirectory()) {
+					Files.createDirectories(target);
+					continue;
+				}
+				CompletableFuture<Void> previous = writes.remove(target);
+				if (previous != null) {
+					join(previous);		// The same name twice, so the later entry has to be written last
+				}
+				byte[] start = zip.readNBytes(MAX_BUFFERED_ENTRY + 1);
+				if (start.length > MAX_BUFFERED_ENTRY) {
+					write(target, start, zip);
+				} else {
+					acquire(pendingWrites);
+					writes.put(target, githubPackages.background(()->{
+						write(target, start, InputStream.nullInputStream());
+						return (Void) null;
+					}).whenComplete((result, failure)->pendingWrites.release()));
+				}
+				extracted.add(target);
+			}
+			for (CompletableFuture<Void> write : writes.values()) {
+				join(write);
+			}
+			in.transferTo(OutputStream.nullOutputStream());		// The archive's central directory
+			completed = true;
+			return List.copyOf(extracted);
+		} finally {
+			if (!completed) {
+				// Don't leave writes running after we have failed, whatever became of them
+				writes.values().forEach(write->write.handle((result, failure)->null).join());
+			}
+		}
+	}
+
+	// Zip entry names are relative paths using '/', whatever the platform.
+	private static Path resolve(Path root, String name) throws ZipException {
+		Path target;
+		try {
+			target = root.resolve(name).normalize();
+		} catch (InvalidPathException e) {
+			throw new ZipException("Invalid entry name '%s'.".formatted(name));
+		}
+		if (!target.startsWith(root)) {
+			throw new ZipException("Entry '%s' is outside the directory being extracted to.".formatted(name));
+		}
+		return target;
+	}
+
+	private static void write(Path target, byte[] start, InputStream rest) throws IOException {
+		Files.createDirectories(target.getParent());
+		try (OutputStream out = Files.newOutputStream(target)) {
+			out.write(start);
+			rest.transferTo(out);
+		}
+	}
+
+	private static void acquire(Semaphore semaphore) throws InterruptedIOException {
+		try {
+			semaphore.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to write a zip entry.");
+		}
+	}
+
+	private static void join(CompletableFuture<Void> write) throws IOException {
+		try {
+			write.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IOException ioe) {
+				throw ioe;
+			}
+			throw e.getCause() instanceof RuntimeException re ? re : e;
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
+
+@ExtendWith(MockitoExtension.class)
+class ArtifactCacheTest {
+	private static final String FINAL_JAR_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1/watched-folder-poster-0.0.1.jar";
+	private static final String SNAPSHOT_METADATA_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1-SNAPSHOT/maven-metadata.xml";
+	private static final String RELEASE_METADATA_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/maven-metadata.xml";
+	private static final String CONTENTS = "Artifact Contents";
+	private static final String ETAG = "\"1234abcd\"";
+
+	@Mock RestClient mockRestClient;
+	@TempDir Path cacheDir;
+
+	@Test
+	void testGet_Release_ServedFromDisk() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(FINAL_JAR_LOCATION), Mockito.anyMap())).thenReturn(response(200, Map.of(), CONTENTS));
+		ArtifactCache underTest = ArtifactCache.at(cacheDir);
+
+		assertEquals(CONTENTS, read(underTest.get(FINAL_JAR_LOCATION, mockRestClient)));
+		assertEquals(CONTENTS, read(underTest.get(FINAL_JAR_LOCATION, mockRestClient)));
+
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(Mockito.eq(FINAL_JAR_LOCATION), Mockito.anyMap());
+		assertTrue(Files.exists(cacheDir.resolve(FINAL_JAR_LOCATION.substring(1))));
+	}
+
+	@Test
+	void testGet_Snapshot_Revalidated() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(SNAPSHOT_METADATA_LOCATION), Mockito.anyMap()))
+			   .thenReturn(response(200, Map.of("ETag", List.of(ETAG)), CONTENTS))
+			   .thenReturn(response(304, Map.of(), ""));
+		ArtifactCache underTest = ArtifactCache.at(cacheDir);
+
+		assertEquals(CONTENTS, read(underTest.get(SNAPSHOT_METADATA_LOCATION, mockRestClient)));
+		assertEquals(CONTENTS, read(underTest.get(SNAPSHOT_METADATA_LOCATION, mockRestClient)));
+
+		Mockito.verify(mockRestClient).get(SNAPSHOT_METADATA_LOCATION, Map.of());
+		Mockito.verify(mockRestClient).get(SNAPSHOT_METADATA_LOCATION, Map.of("If-None-Match", ETAG));
+	}
+
+	@Test
+	void testGet_Snapshot_Changed() throws Exception {
+		String newContents = "New Contents";
+		Mockito.when(mockRestClient.get(Mockito.eq(SNAPSHOT_METADATA_LOCATION), Mockito.anyMap()))
+			   .thenReturn(response(200, Map.of("ETag", List.of(ETAG)), CONTENTS))
+			   .thenReturn(response(200, Map.of("ETag", List.of("\"5678\"")), newContents));
+		ArtifactCache underTest = ArtifactCache.at(cacheDir);
+
+		assertEquals(CONTENTS, read(underTest.get(SNAPSHOT_METADATA_LOCATION, mockRestClient)));
+		assertEquals(newContents, read(underTest.get(SNAPSHOT_METADATA_LOCATION, mockRestClient)));
+	}
+
+	@DisplayName("Checksums of release metadata change along with it, so are revalidated too.")
+	@Test
+	void testGet_MetadataChecksum_Revalidated() throws Exception {
+		String checksumLocation = RELEASE_METADATA_LOCATION + ".sha1";
+		Mockito.when(mockRestClient.get(Mockito.eq(checksumLocation), Mockito.anyMap()))
+			   .thenReturn(response(200, Map.of("ETag", List.of(ETAG)), "1111"))
+			   .thenReturn(response(200, Map.of("ETag", List.of("\"5678\"")), "2222"));
+		ArtifactCache underTest = ArtifactCache.at(cacheDir);
+
+		assertEquals("1111", read(underTest.get(checksumLocation, mockRestClient)));
+		assertEquals("2222", read(underTest.get(checksumLocation, mockRestClient)));
+
+		Mockito.verify(mockRestClient).get(checksumLocation, Map.of("If-None-Match", ETAG));
+		assertEquals(OptionalLong.empty(), underTest.cachedLength(checksumLocation));
+	}
+
+	@Test
+	void testGet_ErrorNotCached() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(FINAL_JAR_LOCATION), Mockito.anyMap())).thenReturn(response(404, Map.of(), "Not Found"));
+		ArtifactCache underTest = ArtifactCache.at(cacheDir);
+
+		RestClientException ex = assertThrows(RestClientException.class, ()->underTest.get(FINAL_JAR_LOCATION, mockRestClient));
+
+		assertEquals(404, ex.status());
+		assertEquals(0, underTest.size());
+	}
+
+	@Test
+	void testGet_EvictsLeastRecentlyUsed() throws Exception {
+		String firstLocation = "/org/repo/group/artifact/1.0/artifact-1.0.jar";
+		String secondLocation = "/org/repo/group/artifact/2.0/artifact-2.0.jar";
+		Mockito.when(mockRestClient.get(Mockito.anyString(), Mockito.anyMap())).thenAnswer(i->response(200, Map.of(), CONTENTS));
+		ArtifactCache underTest = ArtifactCache.at(cacheDir).maxSize(CONTENTS.length() + 1);
+
+		read(underTest.get(firstLocation, mockRestClient));
+		read(underTest.get(secondLocation, mockRestClient));
+
+		assertFalse(Files.exists(cacheDir.resolve(firstLocation.substring(1))));
+		assertTrue(Files.exists(cacheDir.resolve(secondLocation.substring(1))));
+		assertEquals(CONTENTS.length(), underTest.size());
+	}
+
+	@DisplayName("Files that are being read are not evicted until their streams are closed.")
+	@Test
+	void testGet_OpenFilesNotEvicted() throws Exception {
+		String firstLocation = "/org/repo/group/artifact/1.0/artifact-1.0.jar";
+		String secondLocation = "/org/repo/group/artifact/2.0/artifact-2.0.jar";
+		String thirdLocation = "/org/repo/group/artifact/3.0/artifact-3.0.jar";
+		Mockito.when(mockRestClient.get(Mockito.anyString(), Mockito.anyMap())).thenAnswer(i->response(200, Map.of(), CONTENTS));
+		ArtifactCache underTest = ArtifactCache.at(cacheDir).maxSize(CONTENTS.length() + 1);
+
+		InputStream first = underTest.get(firstLocation, mockRestClient);
+		read(underTest.get(secondLocation, mockRestClient));
+
+		assertTrue(Files.exists(cacheDir.resolve(firstLocation.substring(1))), "Expected the file being read to be kept.");
+		assertEquals(CONTENTS, read(first));
+		read(underTest.get(thirdLocation, mockRestClient));
+		assertFalse(Files.exists(cacheDir.resolve(firstLocation.substring(1))), "Expected the file to be evicted once it was closed.");
+		assertFalse(Files.exists(cacheDir.resolve(secondLocation.substring(1))));
+	}
+
+	@DisplayName("A stream that fails part way through fails its reader and leaves nothing in the cache.")
+	@Test
+	void testStream_Failure() throws Exception {
+		InputStream failing = new SequenceInputStream(new ByteArrayInputStream(CONTENTS.getBytes(StandardCharsets.UTF_8)), new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("Connection reset");
+			}
+		});
+		Mockito.when(mockRestClient.get(Mockito.eq(FINAL_JAR_LOCATION), Mockito.anyMap())).thenReturn(new Response(200, Map.of(), failing));
+		ArtifactCache underTest = ArtifactCache.at(cacheDir);
+
+		ArtifactCache.Streamed streamed = underTest.stream(FINAL_JAR_LOCATION, mockRestClient, GithubPackagesListener.NONE, Runnable::run);
+
+		assertEquals(ArtifactCache.Source.UPSTREAM, streamed.source());
+		assertEquals(-1, streamed.length());
+		assertThrows(IOException.class, ()->read(streamed.body()));
+		assertEquals(0, underTest.size());
+		try (var files = Files.walk(cacheDir)) {
+			assertTrue(files.noneMatch(Files::isRegularFile), "Expected the temporary file to be deleted.");
+		}
+	}
+
+	@Test
+	void testGet_RejectsPathOutsideCache() {
+		ArtifactCache underTest = ArtifactCache.at(cacheDir);
+		assertThrows(IllegalArgumentException.class, ()->underTest.get("/../outside.jar", mockRestClient));
+	}
+
+	private static Response response(int status, Map<String, List<String>> headers, String body) {
+		return new Response(status, headers, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String read(InputStream is) throws Exception {
+		try (is) {
+			return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
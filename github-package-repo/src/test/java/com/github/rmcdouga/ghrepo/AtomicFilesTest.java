@@ -0,0 +1,82 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AtomicFilesTest {
+	private static final byte[] CONTENTS = "contents".getBytes(StandardCharsets.UTF_8);
+
+	@TempDir Path tempDir;
+
+	@Test
+	void testWrite() throws Exception {
+		Path target = tempDir.resolve("target.jar");
+		Files.writeString(target, "old contents");
+
+		long size = AtomicFiles.write(target, true, temp->{
+			assertEquals(target.getParent(), temp.getParent());
+			assertFalse(Files.exists(temp), "Expected the writer to create the temporary file.");
+			Files.write(temp, CONTENTS, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			return Files.size(temp);
+		});
+
+		assertEquals(CONTENTS.length, size);
+		assertArrayEquals(CONTENTS, Files.readAllBytes(target));
+		assertEquals(1, fileCount(), "Expected the temporary file to have been moved into place.");
+	}
+
+	@Test
+	void testWrite_Permissions() throws Exception {
+		Assumptions.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		Path target = tempDir.resolve("target.jar");
+		Path plain = Files.write(tempDir.resolve("plain.jar"), CONTENTS);
+
+		AtomicFiles.write(target, false, temp->Files.write(temp, CONTENTS, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+
+		assertEquals(Files.getPosixFilePermissions(plain), Files.getPosixFilePermissions(target), "Expected the same permissions as any other new file.");
+	}
+
+	@Test
+	void testWrite_Fails() throws Exception {
+		Path target = tempDir.resolve("target.jar");
+		Files.writeString(target, "old contents");
+		IOException expectedException = new IOException("Expected Exception");
+
+		IOException ex = assertThrows(IOException.class, ()->AtomicFiles.write(target, true, temp->{
+			Files.write(temp, CONTENTS, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			throw expectedException;
+		}));
+
+		assertSame(expectedException, ex);
+		assertEquals("old contents", Files.readString(target));
+		assertEquals(1, fileCount(), "Expected the temporary file to be deleted.");
+	}
+
+	@Test
+	void testWrite_Exists() throws Exception {
+		Path target = tempDir.resolve("target.jar");
+		Files.writeString(target, "old contents");
+
+		assertThrows(FileAlreadyExistsException.class, ()->AtomicFiles.write(target, false, temp->Files.write(temp, CONTENTS, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)));
+
+		assertEquals("old contents", Files.readString(target));
+		assertEquals(1, fileCount(), "Expected the temporary file to be deleted.");
+	}
+
+	private long fileCount() throws IOException {
+		try (var files = Files.list(tempDir)) {
+			return files.count();
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ByteChannelsTest {
+	private static final byte[] CONTENTS = randomBytes(200_000);
+
+	@DisplayName("Copies from a stream into a FileChannel, starting at the channel's position.")
+	@Test
+	void testTransfer_StreamToFile(@TempDir Path tempDir) throws Exception {
+		Path target = tempDir.resolve("target.bin");
+		try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			out.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+			assertEquals(CONTENTS.length, ByteChannels.transfer(ByteChannels.readable(new ByteArrayInputStream(CONTENTS)), out));
+			assertEquals(3 + CONTENTS.length, out.position());
+		}
+		byte[] written = Files.readAllBytes(target);
+		assertEquals(3 + CONTENTS.length, written.length);
+		assertArrayEquals(CONTENTS, Arrays.copyOfRange(written, 3, written.length));
+	}
+
+	@DisplayName("Copies from a file backed stream (as served by the ArtifactCache) into another channel.")
+	@Test
+	void testTransfer_FileToChannel(@TempDir Path tempDir) throws Exception {
+		Path source = Files.write(tempDir.resolve("source.bin"), CONTENTS);
+		InputStream in = ByteChannels.asInputStream(FileChannel.open(source));
+		assertInstanceOf(FileChannel.class, ByteChannels.readable(in));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (in) {
+			assertEquals(CONTENTS.length, ByteChannels.copy(in, Channels.newChannel(out)));
+		}
+		assertArrayEquals(CONTENTS, out.toByteArray());
+	}
+
+	@DisplayName("Writes at an absolute position without moving the FileChannel's position.")
+	@Test
+	void testTransfer_AtPosition(@TempDir Path tempDir) throws Exception {
+		Path target = tempDir.resolve("target.bin");
+		try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			out.write(ByteBuffer.allocate(1), 2L * CONTENTS.length - 1);	// Pre-sized, as for ranged downloads
+			assertEquals(CONTENTS.length, ByteChannels.transfer(bufferBody(CONTENTS, 1000), out, CONTENTS.length));
+			assertEquals(CONTENTS.length, ByteChannels.transfer(Channels.newChannel(new ByteArrayInputStream(CONTENTS)), out, 0));
+			assertEquals(0, out.position());
+		}
+		byte[] written = Files.readAllBytes(target);
+		assertArrayEquals(CONTENTS, Arrays.copyOfRange(written, 0, CONTENTS.length));
+		assertArrayEquals(CONTENTS, Arrays.copyOfRange(written, CONTENTS.length, written.length));
+	}
+
+	@DisplayName("ByteBufferBody can be read as an InputStream or a channel, or transferred without copying.")
+	@Test
+	void testByteBufferBody() throws Exception {
+		assertArrayEquals(CONTENTS, bufferBody(CONTENTS, 777).readAllBytes());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(CONTENTS.length, bufferBody(CONTENTS, 4096).transferTo(out));
+		assertArrayEquals(CONTENTS, out.toByteArray());
+
+		out.reset();
+		assertEquals(CONTENTS.length, ByteChannels.transfer(bufferBody(CONTENTS, 4096), Channels.newChannel(out)));
+		assertArrayEquals(CONTENTS, out.toByteArray());
+
+		ByteBufferBody body = bufferBody(new byte[] { (byte) 0xFF, 1 }, 1);
+		assertEquals(0xFF, body.read());
+		assertEquals(1, body.read());
+		assertEquals(-1, body.read());
+		assertEquals(-1, body.read(ByteBuffer.allocate(10)));
+	}
+
+	@DisplayName("ByteBufferBody only requests more data as it is read, and cancels the rest of the response when closed early.")
+	@Test
+	void testByteBufferBody_BackPressure() throws Exception {
+		AtomicLong requested = new AtomicLong();
+		AtomicBoolean cancelled = new AtomicBoolean();
+		ByteBufferBody body = new ByteBufferBody();
+		body.onSubscribe(new Flow.Subscription() {
+			@Override
+			public void request(long n) {
+				requested.addAndGet(n);
+			}
+
+			@Override
+			public void cancel() {
+				cancelled.set(true);
+			}
+		});
+		assertEquals(1, requested.get());
+		body.onNext(List.of(ByteBuffer.wrap(new byte[] { 1, 2 })));
+		assertEquals(1, body.read());
+		assertEquals(2, requested.get());
+
+		body.close();
+		assertTrue(cancelled.get());
+		assertFalse(body.isOpen());
+		assertThrows(ClosedChannelException.class, ()->body.read());
+	}
+
+	@DisplayName("ByteBufferBody reports a failed response as an IOException once the data received before the failure has been read.")
+	@Test
+	void testByteBufferBody_Failure() throws Exception {
+		ByteBufferBody body = new ByteBufferBody();
+		body.onSubscribe(new NoOpSubscription());
+		body.onNext(List.of(ByteBuffer.wrap(new byte[] { 1 })));
+		body.onError(new IOException("Connection reset"));
+
+		assertEquals(1, body.read());
+		IOException ex = assertThrows(IOException.class, ()->body.read());
+		assertEquals("Connection reset", ex.getMessage());
+	}
+
+	@DisplayName("Everything written through a digesting channel is added to the checksum.")
+	@Test
+	void testChecksumVerifier_DigestingChannel() throws Exception {
+		String expected = HexFormat.of().formatHex(ChecksumAlgorithm.SHA1.newDigest().digest(CONTENTS));
+		ChecksumVerifier verifier = new ChecksumVerifier(ChecksumAlgorithm.SHA1, "/test", CompletableFuture.completedFuture(expected));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteChannels.transfer(bufferBody(CONTENTS, 3000), verifier.digesting(Channels.newChannel(out)));
+		assertArrayEquals(CONTENTS, out.toByteArray());
+		verifier.verify();
+	}
+
+	// A body that has already received all of its content, split into buffers of the given size.  Also used by InstrumentedRestClientTest.
+	static ByteBufferBody bufferBody(byte[] contents, int bufferSize) {
+		ByteBufferBody body = new ByteBufferBody();
+		body.onSubscribe(new NoOpSubscription());
+		for (int offset = 0; offset < contents.length; offset += 2 * bufferSize) {
+			List<ByteBuffer> buffers = new ArrayList<>();
+			for (int start = offset; start < Math.min(offset + 2 * bufferSize, contents.length); start += bufferSize) {
+				buffers.add(ByteBuffer.wrap(contents, start, Math.min(bufferSize, contents.length - start)).slice());
+			}
+			body.onNext(buffers);
+		}
+		body.onComplete();
+		return body;
+	}
+
+	private static class NoOpSubscription implements Flow.Subscription {
+		@Override
+		public void request(long n) {
+		}
+
+		@Override
+		public void cancel() {
+		}
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(17).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,205 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingRestClientTest {
+	private static final String PATH = "/org/repo/group/artifact/1.0/artifact-1.0.jar";
+	private static final int THREADS = 20;
+
+	@Mock RestClient mockRestClient;
+	private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@DisplayName("Concurrent identical requests are sent once and every caller gets the whole body.")
+	@Test
+	void testGet_Coalesced() throws Exception {
+		byte[] contents = randomBytes(100_000);
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenAnswer(i->{
+			release.await();
+			return new Response(200, Map.of("ETag", List.of("\"abc\"")), new ByteArrayInputStream(contents));
+		});
+		CoalescingRestClient underTest = CoalescingRestClient.wrap(mockRestClient);
+
+		List<Future<Response>> results = startConcurrently(()->underTest.get(PATH, Map.of()));
+		waitForCallers(underTest);
+		release.countDown();
+
+		for (Future<Response> result : results) {
+			Response response = result.get(10, TimeUnit.SECONDS);
+			assertEquals(200, response.status());
+			assertEquals("\"abc\"", response.header("etag").orElseThrow());
+			try (InputStream body = response.body()) {
+				assertArrayEquals(contents, body.readAllBytes());
+			}
+		}
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(PATH, Map.of());
+		assertEquals(0, underTest.inFlightCallers());
+	}
+
+	@DisplayName("Large bodies are shared through a temporary file, which is deleted once every caller has closed its stream.")
+	@Test
+	void testGet_SpillsToFile(@TempDir Path tempDir) throws Exception {
+		byte[] contents = randomBytes(100_000);
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(mockRestClient.get(PATH)).thenAnswer(i->{
+			release.await();
+			return new ByteArrayInputStream(contents);
+		});
+		CoalescingRestClient underTest = CoalescingRestClient.wrap(mockRestClient).memoryThreshold(1024).tempDir(tempDir);
+
+		List<Future<InputStream>> results = startConcurrently(()->underTest.get(PATH));
+		waitForCallers(underTest);
+		release.countDown();
+
+		List<InputStream> bodies = new ArrayList<>();
+		for (Future<InputStream> result : results) {
+			bodies.add(result.get(10, TimeUnit.SECONDS));
+		}
+		assertEquals(1, fileCount(tempDir));
+		for (InputStream body : bodies) {
+			try (body) {
+				assertArrayEquals(contents, body.readAllBytes());
+			}
+		}
+		assertEquals(0, fileCount(tempDir), "Expected the temporary file to be deleted once all streams were closed.");
+	}
+
+	@DisplayName("Requests that do not overlap, or that have different headers, are not coalesced.")
+	@Test
+	void testGet_NotCoalesced() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(PATH), Mockito.anyMap()))
+			   .thenAnswer(i->new Response(200, Map.of(), new ByteArrayInputStream("contents".getBytes(StandardCharsets.UTF_8))));
+		CoalescingRestClient underTest = CoalescingRestClient.wrap(mockRestClient);
+
+		underTest.get(PATH, Map.of()).body().close();
+		underTest.get(PATH, Map.of()).body().close();
+		underTest.get(PATH, Map.of("Range", "bytes=0-3")).body().close();
+
+		Mockito.verify(mockRestClient, Mockito.times(2)).get(PATH, Map.of());
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(PATH, Map.of("Range", "bytes=0-3"));
+	}
+
+	@DisplayName("A failed request fails every caller that was waiting for it.")
+	@Test
+	void testHead_Failure() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		RuntimeException expectedException = new RuntimeException("Expected Exception");
+		Mockito.when(mockRestClient.head(PATH)).thenAnswer(i->{
+			release.await();
+			throw expectedException;
+		});
+		CoalescingRestClient underTest = CoalescingRestClient.wrap(mockRestClient);
+
+		List<Future<Response>> results = startConcurrently(()->underTest.head(PATH));
+		waitForCallers(underTest);
+		release.countDown();
+
+		for (Future<Response> result : results) {
+			ExecutionException ex = assertThrows(ExecutionException.class, ()->result.get(10, TimeUnit.SECONDS));
+			assertSame(expectedException, ex.getCause());
+		}
+		assertEquals(0, underTest.inFlightCallers());
+	}
+
+	@DisplayName("An Error in the request still ends it for every caller that was waiting for it.")
+	@Test
+	void testGet_Error() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Error expectedError = new Error("Expected Error");
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenAnswer(i->{
+			release.await();
+			throw expectedError;
+		});
+		CoalescingRestClient underTest = CoalescingRestClient.wrap(mockRestClient);
+
+		List<Future<Response>> results = startConcurrently(()->underTest.get(PATH, Map.of()));
+		waitForCallers(underTest);
+		release.countDown();
+
+		int errors = 0;
+		for (Future<Response> result : results) {
+			ExecutionException ex = assertThrows(ExecutionException.class, ()->result.get(10, TimeUnit.SECONDS));
+			if (ex.getCause() == expectedError) {
+				errors++;
+			} else {
+				assertInstanceOf(IllegalStateException.class, ex.getCause());
+			}
+		}
+		assertEquals(1, errors, "Expected the caller that sent the request to get the Error.");
+		assertEquals(0, underTest.inFlightCallers());
+	}
+
+	@DisplayName("A caller that nobody joins reads the body straight from the delegate.")
+	@Test
+	void testGet_NotShared() throws Exception {
+		InputStream delegateBody = new ByteArrayInputStream("contents".getBytes(StandardCharsets.UTF_8));
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenReturn(new Response(200, Map.of(), delegateBody));
+		CoalescingRestClient underTest = CoalescingRestClient.wrap(mockRestClient);
+
+		Response response = underTest.get(PATH, Map.of());
+
+		assertSame(delegateBody, response.body());
+		assertEquals(0, underTest.inFlightCallers());
+	}
+
+	private <T> List<Future<T>> startConcurrently(Callable<T> request) {
+		List<Future<T>> results = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			results.add(executor.submit(request));
+		}
+		return results;
+	}
+
+	// Waits until every thread is sharing the one request.
+	private static void waitForCallers(CoalescingRestClient underTest) throws InterruptedException {
+		while (underTest.inFlightCallers() < THREADS) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static long fileCount(Path dir) throws Exception {
+		try (var files = Files.list(dir)) {
+			return files.count();
+		}
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(42).nextBytes(bytes);
+		return bytes;
+	}
+}
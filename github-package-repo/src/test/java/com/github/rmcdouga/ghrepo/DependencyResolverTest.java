@@ -0,0 +1,191 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.rmcdouga.ghrepo.DependencyResolver.Resolution;
+import com.github.rmcdouga.ghrepo.DependencyResolver.Scope;
+
+@ExtendWith(MockitoExtension.class)
+class DependencyResolverTest {
+	private static final String USER_ORG = "org";
+	private static final String REPO = "repo";
+	private static final String GROUP_ID = "com.example";
+	private static final ArtifactCoordinates ROOT = ArtifactCoordinates.of(USER_ORG, REPO, GROUP_ID, "app", "1.0");
+
+	@Mock RestClient mockRestClient;
+	private final Map<String, String> poms = new HashMap<>();
+	private final Map<String, CountDownLatch> gates = new HashMap<>();	// Paths whose requests wait for each other
+	private DependencyResolver underTest;
+
+	@BeforeEach
+	void setUp() {
+		// app -> lib-a (managed lib-c version), lib-b (runtime, excludes lib-x), test-lib (test), commons (not in the repository)
+		// lib-a -> lib-c 1.0 (managed to 2.0), lib-d (optional), lib-e (provided)
+		// lib-b -> lib-x (excluded), lib-a 0.9 (further away than lib-a 1.0), lib-f
+		pom("app-parent", "1.0", null, """
+				<properties><lib.version>1.0</lib.version></properties>
+				<dependencyManagement><dependencies>
+					<dependency><groupId>com.example</groupId><artifactId>lib-c</artifactId><version>2.0</version></dependency>
+				</dependencies></dependencyManagement>
+				""");
+		pom("app", "1.0", "app-parent", """
+				<dependencies>
+					<dependency><groupId>com.example</groupId><artifactId>lib-a</artifactId><version>${lib.version}</version></dependency>
+					<dependency>
+						<groupId>com.example</groupId><artifactId>lib-b</artifactId><version>1.0</version><scope>runtime</scope>
+						<exclusions><exclusion><groupId>com.example</groupId><artifactId>lib-x</artifactId></exclusion></exclusions>
+					</dependency>
+					<dependency><groupId>com.example</groupId><artifactId>test-lib</artifactId><version>1.0</version><scope>test</scope></dependency>
+					<dependency><groupId>org.apache</groupId><artifactId>commons</artifactId><version>1.0</version></dependency>
+				</dependencies>
+				""");
+		pom("lib-a", "1.0", null, """
+				<dependencies>
+					<dependency><groupId>com.example</groupId><artifactId>lib-c</artifactId><version>1.0</version></dependency>
+					<dependency><groupId>com.example</groupId><artifactId>lib-d</artifactId><version>1.0</version><optional>true</optional></dependency>
+					<dependency><groupId>com.example</groupId><artifactId>lib-e</artifactId><version>1.0</version><scope>provided</scope></dependency>
+				</dependencies>
+				""");
+		pom("lib-b", "1.0", null, """
+				<dependencies>
+					<dependency><groupId>com.example</groupId><artifactId>lib-x</artifactId><version>1.0</version></dependency>
+					<dependency><groupId>com.example</groupId><artifactId>lib-a</artifactId><version>0.9</version></dependency>
+					<dependency><groupId>com.example</groupId><artifactId>lib-f</artifactId><version>1.0</version></dependency>
+				</dependencies>
+				""");
+		pom("lib-c", "2.0", null, "");
+		pom("lib-f", "1.0", null, "");
+		pom("test-lib", "1.0", null, "");
+		Mockito.lenient().when(mockRestClient.get(Mockito.anyString(), Mockito.anyMap())).thenAnswer(i->{
+			String path = i.getArgument(0);
+			CountDownLatch gate = gates.get(path);
+			if (gate != null) {
+				gate.countDown();
+				assertTrue(gate.await(10, TimeUnit.SECONDS), "Expected the requests for '%s' to be made in parallel.".formatted(gates.keySet()));
+			}
+			String pom = poms.get(path);
+			if (pom != null) {
+				return new RestClient.Response(200, Map.of(), new ByteArrayInputStream(pom.getBytes(StandardCharsets.UTF_8)));
+			}
+			if (path.endsWith(".jar")) {
+				return new RestClient.Response(200, Map.of(), new ByteArrayInputStream(path.getBytes(StandardCharsets.UTF_8)));
+			}
+			return new RestClient.Response(404, Map.of(), InputStream.nullInputStream());
+		});
+		underTest = new GithubPackages(mockRestClient).dependencyResolver();
+	}
+
+	@DisplayName("Nearest wins, the root's dependencyManagement applies throughout and optional, provided, test and excluded dependencies are left out.")
+	@Test
+	void testResolve() throws Exception {
+		Resolution resolution = underTest.resolve(ROOT);
+
+		assertEquals(List.of(ROOT, artifact("lib-a", "1.0"), artifact("lib-b", "1.0"), artifact("lib-c", "2.0"), artifact("lib-f", "1.0")), resolution.artifacts());
+		assertEquals(List.of(new ArtifactCoordinates(USER_ORG, REPO, "org.apache", "commons", "1.0", "jar")), resolution.missing());
+	}
+
+	@DisplayName("Other scopes can be included, but the dependencies of test dependencies are still only the ones they need at runtime.")
+	@Test
+	void testResolve_Scopes() throws Exception {
+		Resolution resolution = underTest.scopes(Scope.COMPILE).resolve(ROOT);
+		assertEquals(List.of(ROOT, artifact("lib-a", "1.0"), artifact("lib-c", "2.0")), resolution.artifacts());
+
+		Resolution withTests = underTest.scopes(Scope.COMPILE, Scope.RUNTIME, Scope.TEST).resolve(ROOT);
+		assertThat(withTests.artifacts(), hasItem(artifact("test-lib", "1.0")));
+	}
+
+	@DisplayName("The .poms on each level are fetched in parallel and each .pom is only fetched once.")
+	@Test
+	void testResolve_Parallel() throws Exception {
+		CountDownLatch firstLevel = new CountDownLatch(3);
+		List.of("lib-a", "lib-b").forEach(a->gates.put(pomPath(a, "1.0"), firstLevel));
+		gates.put("/org/repo/org/apache/commons/1.0/commons-1.0.pom", firstLevel);
+
+		Resolution first = underTest.resolve(ROOT);
+		gates.clear();
+		Resolution second = underTest.resolve(ROOT);
+
+		assertEquals(first, second);
+		for (String path : poms.keySet()) {
+			Mockito.verify(mockRestClient, Mockito.atMost(1)).get(Mockito.eq(path), Mockito.anyMap());
+		}
+	}
+
+	@DisplayName("Dependency versions may be ranges, which are resolved using the artifact's metadata.")
+	@Test
+	void testResolve_VersionRange() throws Exception {
+		pom("ranged", "1.0", null, """
+				<dependencies>
+					<dependency><groupId>com.example</groupId><artifactId>lib-f</artifactId><version>[1.0,2.0)</version></dependency>
+				</dependencies>
+				""");
+		poms.put("/org/repo/com/example/lib-f/maven-metadata.xml", """
+				<metadata><versioning><versions><version>0.9</version><version>1.0</version><version>2.0</version></versions></versioning></metadata>
+				""");
+
+		Resolution resolution = underTest.resolve(artifact("ranged", "1.0"));
+
+		assertEquals(List.of(artifact("ranged", "1.0"), artifact("lib-f", "1.0")), resolution.artifacts());
+	}
+
+	@DisplayName("download() downloads the whole classpath and reports missing dependencies as failures.")
+	@Test
+	void testDownload(@TempDir Path tempDir) throws Exception {
+		DownloadReport report = underTest.download(ROOT, tempDir);
+
+		assertEquals(5, report.successes().size());
+		assertEquals(1, report.failures().size());
+		assertEquals("commons", report.failures().get(0).coordinates().artifactId());
+		assertEquals("/org/repo/com/example/lib-c/2.0/lib-c-2.0.jar", Files.readString(tempDir.resolve("lib-c-2.0.jar")));
+	}
+
+	@DisplayName("The root artifact has to be there.")
+	@Test
+	void testResolve_RootMissing() {
+		RestClient.RestClientException ex = assertThrows(RestClient.RestClientException.class, ()->underTest.resolve(artifact("missing", "1.0")));
+		assertEquals(404, ex.status());
+	}
+
+	private void pom(String artifactId, String version, String parent, String body) {
+		String parentElement = parent == null ? "" : "<parent><groupId>com.example</groupId><artifactId>%s</artifactId><version>1.0</version></parent>".formatted(parent);
+		poms.put(pomPath(artifactId, version), """
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+					%s
+					<groupId>com.example</groupId>
+					<artifactId>%s</artifactId>
+					<version>%s</version>
+					%s
+				</project>
+				""".formatted(parentElement, artifactId, version, body));
+	}
+
+	private static String pomPath(String artifactId, String version) {
+		return "/org/repo/com/example/%s/%s/%s-%s.pom".formatted(artifactId, version, artifactId, version);
+	}
+
+	private static ArtifactCoordinates artifact(String artifactId, String version) {
+		return ArtifactCoordinates.of(USER_ORG, REPO, GROUP_ID, artifactId, version);
+	}
+}
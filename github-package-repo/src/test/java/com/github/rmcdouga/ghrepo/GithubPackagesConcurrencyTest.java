@@ -0,0 +1,146 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.rmcdouga.ghrepo.MavenSettings.Credentials;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+// Stress tests that share a single GithubPackages (and the objects it uses) between many threads.
+@WireMockTest
+class GithubPackagesConcurrencyTest {
+	private static final String USER_ORG_ID = "4PointSolutions";
+	private static final String REPO = "WatchedFolderUtils";
+	private static final String GROUP_ID = "com._4point.aem.watchedfolder";
+	private static final String ARTIFACT_ID = "watched-folder-poster";
+	private static final String SNAPSHOT_VERSION = "0.0.1-SNAPSHOT";
+	private static final String FINAL_VERSION = "0.0.1";
+	private static final String METADATA_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1-SNAPSHOT/maven-metadata.xml";
+	private static final String FINAL_JAR_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1/watched-folder-poster-0.0.1.jar";
+	private static final String JAR_FILENAME = "watched-folder-poster-0.0.1-20221221.221800-4.jar";
+	private static final int THREADS = 16;
+	private static final int ITERATIONS = 10;
+
+	private final GithubPackages underTest;
+	private final byte[] expectedJar;
+
+	GithubPackagesConcurrencyTest(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+		this.underTest = new GithubPackages(new RestClientJerseyImpl("http://localhost:%d".formatted(wmRuntimeInfo.getHttpPort()), "mock_github_token"));
+		this.expectedJar = Files.readAllBytes(TestUtils.RESOURCES_DIR.resolve("__files").resolve(JAR_FILENAME));
+	}
+
+	@BeforeEach
+	void setUp() throws Exception {
+		// The SNAPSHOT jar itself is served by the recorded mappings in src/test/resources/mappings
+		WireMock.stubFor(WireMock.get(WireMock.urlEqualTo(METADATA_LOCATION))
+								 .willReturn(WireMock.aResponse().withBody(Files.readAllBytes(TestUtils.SAMPLE_FILES_DIR.resolve("maven-metadata.xml")))));
+		WireMock.stubFor(WireMock.get(WireMock.urlEqualTo(FINAL_JAR_LOCATION))
+								 .willReturn(WireMock.aResponse().withHeader("ETag", "\"final-jar\"").withBodyFile(JAR_FILENAME)));
+	}
+
+	@DisplayName("Concurrent SNAPSHOT and release gets through one shared GithubPackages.")
+	@Test
+	void testGet() throws Exception {
+		runConcurrently(underTest, (ghp, thread, iteration)->{
+			String version = (thread + iteration) % 2 == 0 ? SNAPSHOT_VERSION : FINAL_VERSION;
+			try (var is = ghp.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, version)) {
+				assertArrayEquals(expectedJar, is.readAllBytes());
+			}
+		});
+	}
+
+	@DisplayName("Concurrent gets sharing a MetadataCache and an ArtifactCache.")
+	@Test
+	void testGet_SharedCaches(@TempDir Path cacheDir) throws Exception {
+		GithubPackages caching = underTest.metadataCache(MetadataCache.create())
+										  .artifactCache(ArtifactCache.at(cacheDir).maxSize(expectedJar.length * 2L));
+		runConcurrently(caching, (ghp, thread, iteration)->{
+			String version = (thread + iteration) % 2 == 0 ? SNAPSHOT_VERSION : FINAL_VERSION;
+			try (var is = ghp.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, version)) {
+				assertArrayEquals(expectedJar, is.readAllBytes());
+			}
+		});
+	}
+
+	@DisplayName("Concurrent copyTo() calls, including several threads copying to the same target.")
+	@Test
+	void testCopyTo(@TempDir Path tempDir) throws Exception {
+		runConcurrently(underTest, (ghp, thread, iteration)->{
+			Path target = tempDir.resolve("result-%d.jar".formatted(thread % 4));
+			ghp.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION).copyTo(target, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+			assertArrayEquals(expectedJar, Files.readAllBytes(target));
+		});
+	}
+
+	@DisplayName("Concurrent copyTo() calls out of a shared ArtifactCache, including several threads replacing the same target.")
+	@Test
+	void testCopyTo_SharedCache(@TempDir Path tempDir) throws Exception {
+		GithubPackages caching = underTest.artifactCache(ArtifactCache.at(tempDir.resolve("cache")));
+		Path targetDir = Files.createDirectories(tempDir.resolve("targets"));
+		runConcurrently(caching, (ghp, thread, iteration)->{
+			Path target = targetDir.resolve("result-%d.jar".formatted(thread % 4));
+			ghp.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION).copyTo(target, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+			assertArrayEquals(expectedJar, Files.readAllBytes(target));
+		});
+		try (var files = Files.list(targetDir)) {
+			assertEquals(4, files.count(), "Expected no temporary files to be left behind.");
+		}
+	}
+
+	@DisplayName("Concurrent queries against one shared MavenSettings (and therefore one XmlDocument).")
+	@Test
+	void testMavenSettings() throws Exception {
+		MavenSettings settings = MavenSettings.from(TestUtils.SAMPLE_FILES_DIR.resolve("settings_1_2_0.xml"));
+		runConcurrently(underTest, (ghp, thread, iteration)->{
+			Credentials credentials = settings.credentials("github");
+			assertEquals("users_name", credentials.username());
+			assertEquals("developer_token", credentials.password());
+		});
+	}
+
+	@FunctionalInterface
+	private interface Operation {
+		void run(GithubPackages ghp, int thread, int iteration) throws Exception;
+	}
+
+	// Runs the operation ITERATIONS times on each of THREADS threads, all starting at the same time.
+	private static void runConcurrently(GithubPackages ghp, Operation operation) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Void>> results = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				results.add(executor.submit((Callable<Void>)()->{
+					start.await();
+					for (int i = 0; i < ITERATIONS; i++) {
+						operation.run(ghp, thread, i);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<Void> result : results) {
+				result.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -1,14 +1,37 @@
 package com.github.rmcdouga.ghrepo;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -39,7 +62,22 @@ class GithubPackagesTest {
 	
 	private static final String EXPECTED_METADATA_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1-SNAPSHOT/" + METADATA_NAME;
 	private static final String EXPECTED_SNAPSHOT_JAR_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1-SNAPSHOT/watched-folder-poster-0.0.1-20221221.221800-4.jar";
+	private static final String EXPECTED_ARTIFACT_METADATA_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/" + METADATA_NAME;
+	private static final String ARTIFACT_METADATA = """
+			<metadata>
+				<groupId>com._4point.aem.watchedfolder</groupId>
+				<artifactId>watched-folder-poster</artifactId>
+				<versioning>
+					<versions>
+						<version>0.0.2</version>
+						<version>0.0.3-SNAPSHOT</version>
+						<version>0.0.1</version>
+					</versions>
+				</versioning>
+			</metadata>
+			""";
 	private static final String EXPECTED_FINAL_JAR_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1/watched-folder-poster-0.0.1.jar";
+	private static final String EXPECTED_FINAL_ZIP_LOCATION = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1/watched-folder-poster-0.0.1.zip";
 
 	@Mock InputStream expectedResult;
 	@Captor ArgumentCaptor<String> restEndpoint;
@@ -103,6 +141,375 @@ class GithubPackagesTest {
 				); 
 	}
 	
+	@DisplayName("Test GithinPackages.getAsync() method in all it's forms with final version.")
+	@ParameterizedTest
+	@MethodSource("testAsyncFns")
+	void testGetAsync(Function<GithubPackages, CompletableFuture<InputStream>> underTestFn) throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.endsWith(".jar"))).thenReturn(expectedResult);
+		InputStream result = underTestFn.apply(underTest).get();
+		assertSame(expectedResult, result);
+		Mockito.verify(mockRestClient).get(EXPECTED_FINAL_JAR_LOCATION);
+	}
+
+	// Iterate through all the fluent async functions.
+	static List<Function<GithubPackages, CompletableFuture<InputStream>>> testAsyncFns() {
+		return List.of(
+				(ghp)->ghp.getAsync(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, FINAL_VERSION),
+				(ghp)->ghp.repo(USER_ORG_ID, REPO).getAsync(GROUP_ID, ARTIFACT_ID, FINAL_VERSION),
+				(ghp)->ghp.repo(USER_ORG_ID, REPO).group(GROUP_ID).getAsync(ARTIFACT_ID, FINAL_VERSION),
+				(ghp)->ghp.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).getAsync(FINAL_VERSION),
+				(ghp)->ghp.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION).getAsync(),
+				(ghp)->ghp.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION).extension(JAR_EXTENSION).getAsync()
+				); 
+	}
+
+	@DisplayName("Test GithinPackages.copyToAsync() runs on the supplied executor and reports failures through the future.")
+	@Test
+	void testCopyToAsync_Failure(@TempDir Path tempDir) throws Exception {
+		IOException expectedException = new IOException("Expected Exception");
+		Mockito.when(mockRestClient.get(Mockito.endsWith(".jar"), Mockito.anyMap())).thenReturn(new RestClient.Response(200, Map.of(), expectedResult));
+		Mockito.when(expectedResult.transferTo(Mockito.any())).thenThrow(expectedException);
+		AtomicInteger executions = new AtomicInteger();
+		Executor countingExecutor = r->{ executions.incrementAndGet(); r.run(); };
+
+		CompletableFuture<Long> result = underTest.executor(countingExecutor)
+												  .repo(USER_ORG_ID, REPO)
+												  .group(GROUP_ID)
+												  .artifact(ARTIFACT_ID)
+												  .version(FINAL_VERSION)
+												  .copyToAsync(tempDir.resolve("result.jar"));
+
+		ExecutionException ex = assertThrows(ExecutionException.class, ()->result.get());
+		assertSame(expectedException, ex.getCause());
+		assertEquals(1, executions.get());
+	}
+
+	@DisplayName("Test GithinPackages.downloadAll() reports successes and failures without stopping at the first failure.")
+	@Test
+	void testDownloadAll(@TempDir Path tempDir) throws Exception {
+		byte[] contents = "Jar Contents".getBytes(StandardCharsets.UTF_8);
+		RuntimeException expectedException = new RuntimeException("Expected Exception");
+		Mockito.when(mockRestClient.get(Mockito.endsWith("-0.0.1.jar"), Mockito.anyMap())).thenThrow(expectedException);
+		Mockito.when(mockRestClient.get(Mockito.endsWith("-0.0.2.jar"), Mockito.anyMap())).thenReturn(new RestClient.Response(200, Map.of(), new ByteArrayInputStream(contents)));
+
+		DownloadReport report = underTest.repo(USER_ORG_ID, REPO)
+										 .downloadAll(List.of(GROUP_ID + ":" + ARTIFACT_ID + ":0.0.1", GROUP_ID + ":" + ARTIFACT_ID + ":0.0.2"), tempDir, 2);
+
+		assertEquals(2, report.results().size());
+		assertFalse(report.allSucceeded());
+		DownloadReport.Result failure = report.results().get(0);
+		assertSame(expectedException, failure.failure().orElseThrow());
+		DownloadReport.Result success = report.results().get(1);
+		assertEquals(tempDir.resolve(ARTIFACT_ID + "-0.0.2.jar"), success.target().orElseThrow());
+		assertEquals(contents.length, success.bytes());
+		assertArrayEquals(contents, Files.readAllBytes(success.target().orElseThrow()));
+	}
+
+	@DisplayName("Test GithinPackages.downloadAll() never exceeds the concurrency limit.")
+	@Test
+	void testDownloadAll_ConcurrencyLimit(@TempDir Path tempDir) throws Exception {
+		int maxConcurrency = 2;
+		AtomicInteger inProgress = new AtomicInteger();
+		AtomicInteger maxInProgress = new AtomicInteger();
+		Mockito.when(mockRestClient.get(Mockito.endsWith(".jar"), Mockito.anyMap())).thenAnswer(i->{
+			maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+			Thread.sleep(20);
+			inProgress.decrementAndGet();
+			return new RestClient.Response(200, Map.of(), new ByteArrayInputStream(new byte[10]));
+		});
+		List<ArtifactCoordinates> artifacts = IntStream.range(0, 8).mapToObj(i->ArtifactCoordinates.of(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, "1.0." + i)).toList();
+
+		DownloadReport report = underTest.downloadAll(artifacts, tempDir, maxConcurrency);
+
+		assertTrue(report.allSucceeded());
+		assertEquals(80, report.totalBytes());
+		assertThat(maxInProgress.get(), lessThanOrEqualTo(maxConcurrency));
+	}
+
+	@DisplayName("Test GithinPackages.downloadAll() with checksums doesn't deadlock on an executor with fewer threads than downloads.")
+	@Test
+	void testDownloadAll_BoundedExecutor(@TempDir Path tempDir) throws Exception {
+		byte[] contents = "Jar Contents".getBytes(StandardCharsets.UTF_8);
+		Mockito.when(mockRestClient.get(Mockito.endsWith(".jar"), Mockito.anyMap())).thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(contents)));
+		Mockito.when(mockRestClient.get(Mockito.endsWith(".jar.sha1"), Mockito.anyMap())).thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(sha1(contents).getBytes(StandardCharsets.US_ASCII))));
+		List<ArtifactCoordinates> artifacts = IntStream.range(0, 8).mapToObj(i->ArtifactCoordinates.of(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, "1.0." + i)).toList();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			GithubPackages boundedUnderTest = underTest.executor(executor).verifyChecksums(ChecksumAlgorithm.SHA1);
+
+			DownloadReport report = assertTimeoutPreemptively(Duration.ofSeconds(30), ()->boundedUnderTest.downloadAll(artifacts, tempDir, 4));
+
+			assertTrue(report.allSucceeded(), ()->report.results().toString());
+			assertEquals(8L * contents.length, report.totalBytes());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@DisplayName("Test that repeated SNAPSHOT gets only retrieve the metadata once when a MetadataCache is used.")
+	@Test
+	void testSnapshotGet_MetadataCache() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.endsWith(METADATA_NAME))).thenReturn(Files.newInputStream(TestUtils.SAMPLE_FILES_DIR.resolve(METADATA_NAME)));
+		Mockito.when(mockRestClient.get(Mockito.endsWith(".jar"))).thenReturn(expectedResult);
+		GithubPackages cachingUnderTest = underTest.metadataCache(MetadataCache.create());
+
+		assertSame(expectedResult, cachingUnderTest.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, SNAPSHOT_VERSION));
+		assertSame(expectedResult, cachingUnderTest.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, SNAPSHOT_VERSION));
+
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(EXPECTED_METADATA_LOCATION);
+		Mockito.verify(mockRestClient, Mockito.times(2)).get(EXPECTED_SNAPSHOT_JAR_LOCATION);
+	}
+
+	@DisplayName("Test that version ranges, LATEST and RELEASE are resolved using the artifact level metadata.")
+	@ParameterizedTest
+	@CsvSource({
+		"'[0.0.1,0.1.0)', 0.0.2",
+		"'(,0.0.2)', 0.0.1",
+		"LATEST, 0.0.3-SNAPSHOT",
+		"RELEASE, 0.0.2",
+	})
+	void testGet_VersionSpec(String versionSpec, String expectedVersion) throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_ARTIFACT_METADATA_LOCATION), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(ARTIFACT_METADATA.getBytes(StandardCharsets.UTF_8))));
+		var artifact = underTest.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID);
+
+		assertEquals(expectedVersion, artifact.resolveVersion(versionSpec));
+		assertEquals(List.of("0.0.1", "0.0.2", "0.0.3-SNAPSHOT"), artifact.versions());
+		assertEquals("1.0", artifact.resolveVersion("1.0"));
+	}
+
+	@DisplayName("Test that a version range is resolved before the artifact is retrieved and the artifact metadata is cached.")
+	@Test
+	void testGet_VersionRange_MetadataCache() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_ARTIFACT_METADATA_LOCATION), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(ARTIFACT_METADATA.getBytes(StandardCharsets.UTF_8))));
+		Mockito.when(mockRestClient.get(EXPECTED_FINAL_JAR_LOCATION)).thenReturn(expectedResult);
+		GithubPackages cachingUnderTest = underTest.metadataCache(MetadataCache.create());
+
+		assertSame(expectedResult, cachingUnderTest.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, "[0.0.1]"));
+		assertSame(expectedResult, cachingUnderTest.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, "[,0.0.2)"));
+
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(Mockito.eq(EXPECTED_ARTIFACT_METADATA_LOCATION), Mockito.anyMap());
+	}
+
+	@DisplayName("Test that a version range no version satisfies reports the versions that are available.")
+	@Test
+	void testGet_VersionRange_NoMatch() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_ARTIFACT_METADATA_LOCATION), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(ARTIFACT_METADATA.getBytes(StandardCharsets.UTF_8))));
+
+		NoSuchElementException ex = assertThrows(NoSuchElementException.class, ()->underTest.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, "[1.0,)"));
+		assertThat(ex.getMessage(), allOf(containsString("[1.0,)"), containsString(ARTIFACT_ID), containsString("0.0.3-SNAPSHOT")));
+	}
+
+	@DisplayName("Test GithinPackages.exists()/contentLength()/lastModified() use a HEAD request and resolve SNAPSHOT versions.")
+	@Test
+	void testProbe_Snapshot() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_METADATA_LOCATION), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), Files.newInputStream(TestUtils.SAMPLE_FILES_DIR.resolve(METADATA_NAME))));
+		Mockito.when(mockRestClient.head(EXPECTED_SNAPSHOT_JAR_LOCATION))
+			   .thenReturn(new RestClient.Response(200, Map.of("Content-Length", List.of("1234"), "Last-Modified", List.of("Wed, 21 Dec 2022 22:18:00 GMT")), InputStream.nullInputStream()));
+		var extension = underTest.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(SNAPSHOT_VERSION).extension(JAR_EXTENSION);
+
+		assertTrue(extension.exists());
+		assertEquals(OptionalLong.of(1234), extension.contentLength());
+		assertEquals(Optional.of(Instant.parse("2022-12-21T22:18:00Z")), extension.lastModified());
+		Mockito.verify(mockRestClient, Mockito.never()).get(Mockito.anyString());
+	}
+
+	@DisplayName("Test GithinPackages.exists() returns false for missing artifacts and missing SNAPSHOT metadata.")
+	@Test
+	void testExists_Missing() throws Exception {
+		Mockito.when(mockRestClient.head(EXPECTED_FINAL_JAR_LOCATION)).thenReturn(new RestClient.Response(404, Map.of(), InputStream.nullInputStream()));
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_METADATA_LOCATION), Mockito.anyMap())).thenReturn(new RestClient.Response(404, Map.of(), InputStream.nullInputStream()));
+
+		assertFalse(underTest.exists(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, FINAL_VERSION));
+		assertFalse(underTest.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(SNAPSHOT_VERSION).exists());
+		RestClient.RestClientException ex = assertThrows(RestClient.RestClientException.class, ()->underTest.contentLength(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, FINAL_VERSION));
+		assertEquals(404, ex.status());
+	}
+
+	@DisplayName("Test GithinPackages.contentLength() is empty when the server does not report a length.")
+	@Test
+	void testContentLength_NotReported() throws Exception {
+		Mockito.when(mockRestClient.head(EXPECTED_FINAL_JAR_LOCATION)).thenReturn(new RestClient.Response(200, Map.of(), InputStream.nullInputStream()));
+
+		assertEquals(OptionalLong.empty(), underTest.contentLength(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, FINAL_VERSION));
+		assertEquals(Optional.empty(), underTest.lastModified(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, FINAL_VERSION));
+	}
+
+	@DisplayName("Test GithinPackages.contentLength() is empty when the server reports a length that isn't a number.")
+	@Test
+	void testContentLength_Invalid() throws Exception {
+		Mockito.when(mockRestClient.head(EXPECTED_FINAL_JAR_LOCATION)).thenReturn(new RestClient.Response(200, Map.of("Content-Length", List.of("12a4")), InputStream.nullInputStream()));
+
+		assertEquals(OptionalLong.empty(), underTest.contentLength(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, FINAL_VERSION));
+	}
+
+	@DisplayName("Test GithinPackages.get() verifies the checksum when the end of the stream is reached.")
+	@Test
+	void testGet_VerifyChecksums() throws Exception {
+		byte[] contents = "Jar Contents".getBytes(StandardCharsets.UTF_8);
+		Mockito.when(mockRestClient.get(Mockito.endsWith(".jar"))).thenAnswer(i->new ByteArrayInputStream(contents));
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_JAR_LOCATION + ".sha1"), Mockito.anyMap()))
+			   .thenReturn(new RestClient.Response(200, Map.of(), new ByteArrayInputStream((sha1(contents) + "  watched-folder-poster-0.0.1.jar\n").getBytes(StandardCharsets.US_ASCII))))
+			   .thenReturn(new RestClient.Response(200, Map.of(), new ByteArrayInputStream(sha1("Other Contents".getBytes(StandardCharsets.UTF_8)).getBytes(StandardCharsets.US_ASCII))));
+		GithubPackages verifyingUnderTest = underTest.verifyChecksums(ChecksumAlgorithm.SHA1);
+
+		try (InputStream result = verifyingUnderTest.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, FINAL_VERSION)) {
+			assertArrayEquals(contents, result.readAllBytes());
+		}
+		try (InputStream result = verifyingUnderTest.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, FINAL_VERSION)) {
+			assertThrows(ChecksumAlgorithm.ChecksumException.class, ()->result.readAllBytes());
+		}
+	}
+
+	@DisplayName("Test GithinPackages.copyTo() leaves nothing behind when the checksum does not match.")
+	@Test
+	void testCopyTo_ChecksumMismatch(@TempDir Path tempDir) throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_JAR_LOCATION), Mockito.anyMap()))
+			   .thenReturn(new RestClient.Response(200, Map.of(), new ByteArrayInputStream("Jar Contents".getBytes(StandardCharsets.UTF_8))));
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_JAR_LOCATION + ".md5"), Mockito.anyMap()))
+			   .thenReturn(new RestClient.Response(200, Map.of(), new ByteArrayInputStream("d41d8cd98f00b204e9800998ecf8427e".getBytes(StandardCharsets.US_ASCII))));
+
+		var version = underTest.verifyChecksums(ChecksumAlgorithm.MD5).repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION);
+		assertThrows(ChecksumAlgorithm.ChecksumException.class, ()->version.copyTo(tempDir));
+
+		try (var files = Files.list(tempDir)) {
+			assertEquals(0, files.count(), "Expected no files to be left behind.");
+		}
+	}
+
+	@DisplayName("Test GithinPackages.copyTo() out of an ArtifactCache leaves an existing target alone when the checksum does not match.")
+	@Test
+	void testCopyTo_Cache_ChecksumMismatch(@TempDir Path tempDir) throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_JAR_LOCATION), Mockito.anyMap()))
+			   .thenReturn(new RestClient.Response(200, Map.of(), new ByteArrayInputStream("Jar Contents".getBytes(StandardCharsets.UTF_8))));
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_JAR_LOCATION + ".md5"), Mockito.anyMap()))
+			   .thenReturn(new RestClient.Response(200, Map.of(), new ByteArrayInputStream("d41d8cd98f00b204e9800998ecf8427e".getBytes(StandardCharsets.US_ASCII))));
+		Path targetDir = Files.createDirectories(tempDir.resolve("targets"));
+		Path target = Files.writeString(targetDir.resolve("result.jar"), "Previous Contents");
+
+		var version = underTest.verifyChecksums(ChecksumAlgorithm.MD5).artifactCache(ArtifactCache.at(tempDir.resolve("cache")))
+							   .repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION);
+		assertThrows(ChecksumAlgorithm.ChecksumException.class, ()->version.copyTo(target, StandardCopyOption.REPLACE_EXISTING));
+
+		assertEquals("Previous Contents", Files.readString(target));
+		try (var files = Files.list(targetDir)) {
+			assertEquals(1, files.count(), "Expected no temporary files to be left behind.");
+		}
+	}
+
+	@DisplayName("Test GithinPackages.copyTo() into a caller supplied channel, from the server and from an ArtifactCache.")
+	@Test
+	void testCopyTo_Channel(@TempDir Path tempDir) throws Exception {
+		byte[] contents = "Jar Contents".getBytes(StandardCharsets.UTF_8);
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_JAR_LOCATION), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(contents)));
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_JAR_LOCATION + ".sha1"), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(sha1(contents).getBytes(StandardCharsets.US_ASCII))));
+
+		for (GithubPackages ghp : List.of(underTest, underTest.verifyChecksums(ChecksumAlgorithm.SHA1).artifactCache(ArtifactCache.at(tempDir.resolve("cache"))))) {
+			for (int i = 0; i < 2; i++) {	// The second copy comes from the cache, if there is one
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				try (WritableByteChannel channel = Channels.newChannel(out)) {
+					assertEquals(contents.length, ghp.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION).copyTo(channel));
+				}
+				assertArrayEquals(contents, out.toByteArray());
+			}
+		}
+	}
+
+	@DisplayName("Test GithinPackages.copyTo() into a channel reports an error status rather than copying the error body.")
+	@Test
+	void testCopyTo_Channel_NotFound() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_JAR_LOCATION), Mockito.anyMap()))
+			   .thenReturn(new RestClient.Response(404, Map.of(), new ByteArrayInputStream("Not Found".getBytes(StandardCharsets.UTF_8))));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		var version = underTest.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION);
+		RestClient.RestClientException ex = assertThrows(RestClient.RestClientException.class, ()->version.copyTo(Channels.newChannel(out)));
+		assertEquals(404, ex.status());
+		assertEquals(0, out.size());
+	}
+
+	@DisplayName("Test GithinPackages.extractTo() unzips the artifact, from the server and through an ArtifactCache, verifying its checksum.")
+	@Test
+	void testExtractTo(@TempDir Path tempDir) throws Exception {
+		byte[] contents = ZipExtractorTest.zip(Map.of("jcr_root/page.html", "page".getBytes(StandardCharsets.UTF_8), "META-INF/MANIFEST.MF", new byte[10]));
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_ZIP_LOCATION), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(contents)));
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_ZIP_LOCATION + ".sha1"), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(sha1(contents).getBytes(StandardCharsets.US_ASCII))));
+
+		int run = 0;
+		for (GithubPackages ghp : List.of(underTest, underTest.verifyChecksums(ChecksumAlgorithm.SHA1).artifactCache(ArtifactCache.at(tempDir.resolve("cache"))))) {
+			Path dir = tempDir.resolve("extracted" + run++);
+			List<Path> result = ghp.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION).extension("zip")
+								   .extractTo(dir, name->name.startsWith("jcr_root/"));
+
+			assertEquals(List.of(dir.resolve("jcr_root/page.html")), result);
+			assertEquals("page", Files.readString(result.get(0)));
+		}
+	}
+
+	@Test
+	void testExtractTo_NotFound(@TempDir Path tempDir) throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(EXPECTED_FINAL_ZIP_LOCATION), Mockito.anyMap()))
+			   .thenReturn(new RestClient.Response(404, Map.of(), new ByteArrayInputStream("Not Found".getBytes(StandardCharsets.UTF_8))));
+
+		var extension = underTest.repo(USER_ORG_ID, REPO).group(GROUP_ID).artifact(ARTIFACT_ID).version(FINAL_VERSION).extension("zip");
+		RestClient.RestClientException ex = assertThrows(RestClient.RestClientException.class, ()->extension.extractTo(tempDir));
+		assertEquals(404, ex.status());
+	}
+
+	private static String sha1(byte[] contents) {
+		return HexFormat.of().formatHex(ChecksumAlgorithm.SHA1.newDigest().digest(contents));
+	}
+
+	@DisplayName("Test GithinPackages reports requests, metadata parsing and cache hits to its listener.")
+	@Test
+	void testListener() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.endsWith(METADATA_NAME), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), Files.newInputStream(TestUtils.SAMPLE_FILES_DIR.resolve(METADATA_NAME))));
+		Mockito.when(mockRestClient.get(Mockito.endsWith(".jar"), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(new byte[100])));
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		GithubPackages listeningUnderTest = underTest.metadataCache(MetadataCache.create()).listener(metrics);
+
+		for (int i = 0; i < 2; i++) {
+			try (InputStream result = listeningUnderTest.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, SNAPSHOT_VERSION)) {
+				result.readAllBytes();
+			}
+		}
+
+		assertEquals(3, metrics.requests());
+		assertEquals(Map.of(200, 3L), metrics.statuses());
+		assertEquals(3, metrics.requestDuration().count());
+		assertThat(metrics.bytes(), greaterThan(200L));
+		assertEquals(1, metrics.metadataParseTime().count());
+		assertEquals(1, metrics.cacheMisses(GithubPackagesListener.Cache.METADATA));
+		assertEquals(1, metrics.cacheHits(GithubPackagesListener.Cache.METADATA));
+	}
+
+	@DisplayName("Test a RestClient decorator can report to GithubPackages' listener.")
+	@Test
+	void testRestClient_Listener() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.endsWith(METADATA_NAME), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(503, Map.of(), InputStream.nullInputStream()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), Files.newInputStream(TestUtils.SAMPLE_FILES_DIR.resolve(METADATA_NAME))));
+		Mockito.when(mockRestClient.get(Mockito.endsWith(".jar"), Mockito.anyMap()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream(new byte[100])));
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		GithubPackages decoratedUnderTest = underTest.listener(metrics).restClient((client, listener)->RetryingRestClient.wrap(client).listener(listener).sleeper(d->{}));
+
+		try (InputStream result = decoratedUnderTest.get(USER_ORG_ID, REPO, GROUP_ID, ARTIFACT_ID, SNAPSHOT_VERSION)) {
+			result.readAllBytes();
+		}
+
+		assertEquals(1, metrics.retries());
+	}
+
 	// This test utilizes credentials from the user's .m2/settings.xml file which must
 	// have a "github" id with a suitable github personal access token.  That token must
 	// have access to the 4PointSolutions WatchedFolderUtils packages.
@@ -0,0 +1,71 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.rmcdouga.ghrepo.GithubPackagesListener.Cache;
+import com.github.rmcdouga.ghrepo.InMemoryMetrics.Histogram;
+
+class InMemoryMetricsTest {
+
+	@Test
+	void testHistogram_Percentiles() throws Exception {
+		Histogram underTest = new Histogram();
+		for (int millis = 1; millis <= 100; millis++) {
+			underTest.record(Duration.ofMillis(millis));
+		}
+
+		assertEquals(100, underTest.count());
+		assertEquals(Duration.ofMillis(100), underTest.max());
+		assertEquals(Duration.ofNanos(50_500_000), underTest.mean());
+		assertWithin(Duration.ofMillis(50), underTest.percentile(0.5));
+		assertWithin(Duration.ofMillis(99), underTest.percentile(0.99));
+		assertEquals(Duration.ofMillis(100), underTest.percentile(1.0));
+	}
+
+	@Test
+	void testHistogram_Extremes() throws Exception {
+		Histogram underTest = new Histogram();
+		assertEquals(Duration.ZERO, underTest.percentile(0.99));
+
+		underTest.record(Duration.ZERO);
+		underTest.record(Duration.ofDays(365 * 200));
+		assertEquals(Duration.ZERO, underTest.percentile(0.5));
+		assertEquals(Duration.ofDays(365 * 200), underTest.percentile(1.0));
+	}
+
+	@Test
+	void testEvents() throws Exception {
+		InMemoryMetrics underTest = new InMemoryMetrics();
+
+		underTest.requestStarted("GET", "/a");
+		underTest.responseReceived("GET", "/a", 200, Duration.ofMillis(5));
+		underTest.responseCompleted("GET", "/a", 1000, Duration.ofMillis(20));
+		underTest.requestStarted("GET", "/b");
+		underTest.responseReceived("GET", "/b", 404, Duration.ofMillis(5));
+		underTest.retrying("GET", "/b", 1, Duration.ofMillis(100));
+		underTest.cacheHit(Cache.ARTIFACT, "/a");
+		underTest.cacheMiss(Cache.METADATA, "/b");
+
+		assertEquals(2, underTest.requests());
+		assertEquals(Map.of(200, 1L, 404, 1L), underTest.statuses());
+		assertEquals(1000, underTest.bytes());
+		assertEquals(1, underTest.retries());
+		assertEquals(2, underTest.timeToFirstByte().count());
+		assertEquals(1, underTest.requestDuration().count());
+		assertEquals(1, underTest.cacheHits(Cache.ARTIFACT));
+		assertEquals(0, underTest.cacheHits(Cache.METADATA));
+		assertEquals(1, underTest.cacheMisses(Cache.METADATA));
+	}
+
+	// Buckets have a relative error of at most 1/8.
+	private static void assertWithin(Duration expected, Duration actual) {
+		assertThat(actual.toNanos(), allOf(greaterThanOrEqualTo(expected.toNanos()), lessThanOrEqualTo(expected.toNanos() + expected.toNanos() / 8)));
+	}
+}
@@ -0,0 +1,87 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedRestClientTest {
+	private static final String PATH = "/org/repo/group/artifact/1.0/artifact-1.0.jar";
+	private static final byte[] CONTENTS = randomBytes(100_000);
+
+	@Mock RestClient mockRestClient;
+	private final InMemoryMetrics metrics = new InMemoryMetrics();
+
+	@DisplayName("A body that can be transferred without copying still is, and what it transfers is counted.")
+	@Test
+	void testGet_Channel() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenReturn(new Response(200, Map.of(), ByteChannelsTest.bufferBody(CONTENTS, 4096)));
+		InstrumentedRestClient underTest = new InstrumentedRestClient(mockRestClient, metrics);
+		RecordingChannel out = new RecordingChannel();
+
+		assertEquals(CONTENTS.length, ByteChannels.transfer(underTest.get(PATH, Map.of()).channel(), out));
+
+		assertFalse(out.written.isEmpty());
+		assertTrue(out.written.stream().allMatch(b->b.hasArray() && b.array() == CONTENTS), "Expected the body's own buffers to be written.");
+		assertEquals(1, metrics.requests());
+		assertEquals(CONTENTS.length, metrics.bytes());
+	}
+
+	@Test
+	void testGet_Stream() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenReturn(new Response(200, Map.of(), new ByteArrayInputStream(CONTENTS)));
+		InstrumentedRestClient underTest = new InstrumentedRestClient(mockRestClient, metrics);
+
+		try (InputStream body = underTest.get(PATH)) {
+			assertEquals(0, body.read(new byte[10], 0, 0));
+			assertArrayEquals(CONTENTS, body.readAllBytes());
+		}
+
+		assertEquals(1, metrics.requests());
+		assertEquals(CONTENTS.length, metrics.bytes());
+	}
+
+	// Keeps every buffer it is given, without copying it.
+	private static class RecordingChannel implements WritableByteChannel {
+		private final List<ByteBuffer> written = new ArrayList<>();
+
+		@Override
+		public int write(ByteBuffer src) {
+			written.add(src);
+			int length = src.remaining();
+			src.position(src.limit());
+			return length;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(42).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -6,12 +6,16 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import com.github.rmcdouga.ghrepo.XmlDocument.XmlDocumentException;
+
 class MavenMetadataTest {
 	private static final String ARTIFACT_ID = "watched-folder-poster";
 	private static final String ARTIFACT_EXTENSION_JAR = "jar";
@@ -71,4 +75,98 @@ class MavenMetadataTest {
 		assertNotNull(msg);
 		assertThat(msg, allOf(containsString(sampleXml), containsString(ARTIFACT_ID), containsString("Unable to locate snapshot name")));
 	}
+
+	@Test
+	void testVersioning() throws Exception {
+		var underTest = MavenMetadata.parse(Files.readAllBytes(TestUtils.SAMPLE_FILES_DIR.resolve("maven-metadata_2.xml")));
+
+		assertEquals(Optional.of("0.0.1-SNAPSHOT"), underTest.latest());
+		assertEquals(Optional.empty(), underTest.release());
+		assertEquals(List.of("0.0.1-SNAPSHOT"), underTest.versions());
+		assertEquals(Optional.of("20221221221814"), underTest.lastUpdated());
+	}
+
+	@Test
+	void testVersioning_Release() {
+		String sampleXml = """
+				<metadata>
+					<versioning>
+						<latest>1.1-SNAPSHOT</latest>
+						<release>1.0</release>
+						<versions>
+							<version>0.9</version>
+							<version>1.0</version>
+							<version>1.1-SNAPSHOT</version>
+						</versions>
+					</versioning>
+				</metadata>
+				""";
+		var underTest = MavenMetadata.parse(sampleXml.getBytes());
+
+		assertEquals(Optional.of("1.0"), underTest.release());
+		assertEquals(List.of("0.9", "1.0", "1.1-SNAPSHOT"), underTest.versions());
+		assertEquals(Optional.empty(), underTest.lastUpdated());
+	}
+
+	@Test
+	void testSnapshotVersions() {
+		String sampleXml = """
+				<metadata>
+					<versioning>
+						<snapshotVersions>
+							<snapshotVersion><classifier>sources</classifier><extension>jar</extension><value>1.0-20240101.120000-2</value></snapshotVersion>
+							<snapshotVersion><extension>jar</extension><value>1.0-20240101.120000-1</value></snapshotVersion>
+						</snapshotVersions>
+					</versioning>
+				</metadata>
+				""";
+		var underTest = MavenMetadata.from(sampleXml.getBytes(), ARTIFACT_EXTENSION_JAR);
+
+		assertEquals(List.of(new MavenMetadata.SnapshotVersion(Optional.of("sources"), "jar", "1.0-20240101.120000-2"),
+							 new MavenMetadata.SnapshotVersion(Optional.empty(), "jar", "1.0-20240101.120000-1")),
+					 underTest.snapshotVersions());
+		assertEquals("lib-1.0-20240101.120000-2-sources.jar", underTest.snapshotVersions().get(0).fileName("lib"));
+		assertEquals("lib-1.0-20240101.120000-1.jar", underTest.getLatestArtifactName("lib"), "Classified files should not be used for the main artifact.");
+	}
+
+	@Test
+	void testSnapshot() throws Exception {
+		var underTest = MavenMetadata.from(Files.readAllBytes(TestUtils.SAMPLE_FILES_DIR.resolve("maven-metadata_zip.xml")), "zip");
+
+		MavenMetadata.Snapshot snapshot = underTest.snapshot().orElseThrow();
+		assertEquals(new MavenMetadata.Snapshot("20230616.134656", 11), snapshot);
+		assertEquals("1.0.0-20230616.134656-11", snapshot.version("1.0.0-SNAPSHOT"));
+		assertEquals(Optional.empty(), MavenMetadata.parse(Files.readAllBytes(TestUtils.SAMPLE_FILES_DIR.resolve("maven-metadata_2.xml"))).snapshot());
+	}
+
+	@Test
+	void testForExtension() throws Exception {
+		var underTest = MavenMetadata.from(Files.readAllBytes(TestUtils.SAMPLE_FILES_DIR.resolve("maven-metadata.xml")), ARTIFACT_EXTENSION_JAR);
+		assertEquals(ARTIFACT_ID + "-0.0.1-20221221.221800-4.pom", underTest.forExtension("pom").getLatestArtifactName(ARTIFACT_ID));
+		assertEquals(ARTIFACT_ID + "-0.0.1-20221221.221800-4.jar.sha1", underTest.forExtension("jar.sha1").getLatestArtifactName(ARTIFACT_ID));
+	}
+
+	@Test
+	void testGetLatestArtifactName_Namespaced() {
+		String sampleXml = """
+				<metadata xmlns="http://maven.apache.org/METADATA/1.1.0" modelVersion="1.1.0">
+				  <version>1.0.0-SNAPSHOT</version>
+				  <versioning>
+				    <snapshotVersions>
+				      <snapshotVersion><extension>jar</extension><value>1.0.0-20230101.000000-1</value></snapshotVersion>
+				      <snapshotVersion><extension>jar</extension><value>1.0.0-20230102.000000-2</value></snapshotVersion>
+				      <snapshotVersion><extension>pom</extension><value>1.0.0-20230103.000000-3</value></snapshotVersion>
+				    </snapshotVersions>
+				  </versioning>
+				</metadata>
+				""";
+		var underTest = MavenMetadata.from(sampleXml.getBytes(), ARTIFACT_EXTENSION_JAR);
+		assertEquals(ARTIFACT_ID + "-1.0.0-20230102.000000-2.jar", underTest.getLatestArtifactName(ARTIFACT_ID));
+		assertEquals(ARTIFACT_ID + "-1.0.0-SNAPSHOT.jar", underTest.getSnapshotName(ARTIFACT_ID));
+	}
+
+	@Test
+	void testFrom_InvalidXml() {
+		assertThrows(XmlDocumentException.class, ()->MavenMetadata.from("<metadata><version>".getBytes(), ARTIFACT_EXTENSION_JAR));
+	}
 }
@@ -0,0 +1,58 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class MavenVersionTest {
+
+	@ParameterizedTest
+	@CsvSource({
+		"1.0, 1.1",
+		"1.9, 1.10",
+		"1.0-alpha-1, 1.0-beta",
+		"1.0-beta, 1.0-rc1",
+		"1.0-rc1, 1.0-SNAPSHOT",
+		"1.0-SNAPSHOT, 1.0",
+		"1.0, 1.0-sp1",
+		"1.0, 1.0.1",
+		"1.0-RC1, 1.0-rc2",
+		"1.0.0-M1, 1.0.0-RC1",
+		"1.0-sp1, 1.0-xyz",
+		"1.0-xyz, 1.0.1",
+		"0.0.1-SNAPSHOT, 0.0.1",
+	})
+	void testCompareTo_Older(String older, String newer) {
+		assertTrue(MavenVersion.of(older).compareTo(MavenVersion.of(newer)) < 0, "Expected " + older + " < " + newer);
+		assertTrue(MavenVersion.of(newer).compareTo(MavenVersion.of(older)) > 0, "Expected " + newer + " > " + older);
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"1, 1.0.0",
+		"1.0, 1.0-ga",
+		"1.0-final, 1.0.RELEASE",
+		"1.0-alpha1, 1.0-a1",
+		"1.0-CR2, 1.0-rc-2",
+	})
+	void testCompareTo_Equal(String version, String equivalent) {
+		assertEquals(0, MavenVersion.of(version).compareTo(MavenVersion.of(equivalent)));
+		assertEquals(MavenVersion.of(version), MavenVersion.of(equivalent));
+		assertEquals(MavenVersion.of(version).hashCode(), MavenVersion.of(equivalent).hashCode());
+	}
+
+	@Test
+	void testNewest() {
+		List<String> versions = List.of("1.10", "1.2", "1.9", "2.0-SNAPSHOT", "2.0-rc1");
+
+		assertEquals(Optional.of("2.0-SNAPSHOT"), MavenVersion.newest(versions, v->true));
+		assertEquals(Optional.of("2.0-rc1"), MavenVersion.newest(versions, v->!MavenVersion.isSnapshot(v)));
+		assertEquals(Optional.empty(), MavenVersion.newest(versions, v->false));
+		assertEquals(List.of("1.2", "1.9", "1.10", "2.0-rc1", "2.0-SNAPSHOT"), MavenVersion.sorted(versions));
+	}
+}
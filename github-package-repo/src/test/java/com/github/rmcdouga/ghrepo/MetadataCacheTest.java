@@ -0,0 +1,156 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.rmcdouga.ghrepo.MetadataCache.Key;
+
+class MetadataCacheTest {
+	private static final Key KEY_1 = new Key("4PointSolutions", "WatchedFolderUtils", "com._4point.aem.watchedfolder", "watched-folder-poster", "0.0.1-SNAPSHOT");
+	private static final Key KEY_2 = new Key("4PointSolutions", "WatchedFolderUtils", "com._4point.aem.watchedfolder", "watched-folder-poster", "0.0.2-SNAPSHOT");
+	private static final Duration TTL = Duration.ofSeconds(30);
+
+	private final MutableClock clock = new MutableClock();
+	private final AtomicInteger loadCount = new AtomicInteger();
+
+	@Test
+	void testGet_WithinTtl() throws Exception {
+		MetadataCache underTest = MetadataCache.create(TTL, 10, clock);
+
+		assertEquals("1", get(underTest, KEY_1));
+		clock.advance(TTL.minusSeconds(1));
+		assertEquals("1", get(underTest, KEY_1));
+
+		assertEquals(1, loadCount.get());
+	}
+
+	@DisplayName("Concurrent misses for the same key wait for a single load.")
+	@Test
+	void testGet_Concurrent() throws Exception {
+		MetadataCache underTest = MetadataCache.create(TTL, 10, clock);
+		CountDownLatch release = new CountDownLatch(1);
+		List<String> results = new CopyOnWriteArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Thread thread = new Thread(()->{
+				try {
+					results.add(get(underTest, KEY_1, release));
+				} catch (Exception e) {
+					results.add(e.toString());
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		// Once every thread is either loading or waiting for the load
+		for (Thread thread : threads) {
+			while (thread.getState() != Thread.State.WAITING) {
+				Thread.sleep(10);
+			}
+		}
+		release.countDown();
+		for (Thread thread : threads) {
+			thread.join(10_000);
+		}
+
+		assertEquals(List.of("1", "1", "1", "1", "1"), results);
+		assertEquals(1, loadCount.get());
+	}
+
+	@Test
+	void testGet_Failure() throws Exception {
+		MetadataCache underTest = MetadataCache.create(TTL, 10, clock);
+		IOException expectedException = new IOException("Expected Exception");
+
+		assertSame(expectedException, assertThrows(IOException.class, ()->underTest.get(KEY_1, ()->{ throw expectedException; })));
+		assertEquals("1", get(underTest, KEY_1));		// Not kept
+	}
+
+	@Test
+	void testGet_Expired() throws Exception {
+		MetadataCache underTest = MetadataCache.create(TTL, 10, clock);
+
+		assertEquals("1", get(underTest, KEY_1));
+		clock.advance(TTL);
+		assertEquals("2", get(underTest, KEY_1));
+	}
+
+	@Test
+	void testGet_MaxEntries() throws Exception {
+		MetadataCache underTest = MetadataCache.create(TTL, 1, clock);
+
+		assertEquals("1", get(underTest, KEY_1));
+		assertEquals("2", get(underTest, KEY_2));
+		assertEquals(1, underTest.size());
+		assertEquals("3", get(underTest, KEY_1));
+	}
+
+	@Test
+	void testInvalidate() throws Exception {
+		MetadataCache underTest = MetadataCache.create(TTL, 10, clock);
+
+		assertEquals("1", get(underTest, KEY_1));
+		underTest.invalidate(KEY_1.userOrg(), KEY_1.repo(), KEY_1.groupId(), KEY_1.artifactId(), KEY_1.version());
+		assertEquals("2", get(underTest, KEY_1));
+		underTest.invalidateAll();
+		assertEquals(0, underTest.size());
+	}
+
+	// Each load returns metadata with a new version number, which is then returned as the result.
+	private String get(MetadataCache underTest, Key key) throws Exception {
+		return get(underTest, key, new CountDownLatch(0));
+	}
+
+	// As above, with loads that wait for the latch.
+	private String get(MetadataCache underTest, Key key, CountDownLatch release) throws Exception {
+		MavenMetadata metadata = underTest.get(key, ()->{
+			int version = loadCount.incrementAndGet();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException();
+			}
+			return MavenMetadata.parse("<metadata><version>%d</version></metadata>".formatted(version).getBytes(StandardCharsets.UTF_8));
+		});
+		return metadata.forExtension("jar").getSnapshotName("artifact").replace("artifact-", "").replace(".jar", "");
+	}
+
+	private static class MutableClock extends Clock {
+		private Instant now = Instant.parse("2022-12-21T22:18:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MirrorSyncTest {
+	private static final String LIB_DIR = "/org/repo/com/example/lib/";
+	private static final String BOM_DIR = "/org/repo/com/example/bom/";
+	private static final String SNAPSHOT_DIR = LIB_DIR + "1.1-SNAPSHOT/";
+
+	@Mock RestClient mockRestClient;
+	@TempDir Path localDir;
+	private final Map<String, String> remoteFiles = new ConcurrentHashMap<>();
+	private GithubPackages.Repo underTest;
+
+	@BeforeEach
+	void setUp() {
+		remoteFiles.put(LIB_DIR + "maven-metadata.xml", artifactMetadata("20240101120000", "1.0", "1.1-SNAPSHOT"));
+		remoteFiles.put(LIB_DIR + "1.0/lib-1.0.pom", pom("jar"));
+		remoteFiles.put(LIB_DIR + "1.0/lib-1.0.jar", "lib 1.0");
+		remoteFiles.put(LIB_DIR + "1.0/lib-1.0.jar.sha1", "lib 1.0 sha1");
+		remoteFiles.put(LIB_DIR + "1.0/lib-1.0.jar.md5", "lib 1.0 md5");
+		remoteFiles.put(LIB_DIR + "1.0/lib-1.0.pom.sha1", "lib 1.0 pom sha1");
+		remoteFiles.put(SNAPSHOT_DIR + "maven-metadata.xml", snapshotMetadata("20240101120000", "1.1-20240101.120000-1"));
+		remoteFiles.put(SNAPSHOT_DIR + "lib-1.1-20240101.120000-1.pom", pom("jar"));
+		remoteFiles.put(SNAPSHOT_DIR + "lib-1.1-20240101.120000-1.jar", "lib 1.1 build 1");
+		remoteFiles.put(SNAPSHOT_DIR + "lib-1.1-20240101.120000-1.jar.sha1", "lib 1.1 build 1 sha1");
+		remoteFiles.put(SNAPSHOT_DIR + "lib-1.1-20240101.120000-1-sources.jar", "lib 1.1 build 1 sources");
+		remoteFiles.put(BOM_DIR + "maven-metadata.xml", artifactMetadata("20240101120000", "1.0"));
+		remoteFiles.put(BOM_DIR + "1.0/bom-1.0.pom", pom("pom"));
+		Mockito.lenient().when(mockRestClient.get(Mockito.anyString(), Mockito.anyMap())).thenAnswer(i->{
+			String contents = remoteFiles.get(i.getArgument(0, String.class));
+			return contents != null ? new RestClient.Response(200, Map.of(), new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)))
+									: new RestClient.Response(404, Map.of(), InputStream.nullInputStream());
+		});
+		underTest = new GithubPackages(mockRestClient).repo("org", "repo");
+	}
+
+	@DisplayName("The first sync mirrors every version in the Maven repository layout.")
+	@Test
+	void testSync() throws Exception {
+		SyncReport report = underTest.sync(List.of("com.example:lib", "com.example:bom"), localDir, 4);
+
+		assertTrue(report.allSucceeded(), ()->report.failures().toString());
+		assertEquals(List.of(), report.upToDate());
+		assertEquals(remoteFiles.keySet().stream().sorted().toList(), report.transferred().stream().map(SyncReport.Transfer::path).toList());
+		for (Map.Entry<String, String> file : remoteFiles.entrySet()) {
+			assertEquals(file.getValue(), Files.readString(localDir.resolve(file.getKey().substring("/org/repo/".length()))));
+		}
+	}
+
+	@DisplayName("Nothing but the artifact metadata is fetched again when it has not changed.")
+	@Test
+	void testSync_UpToDate() throws Exception {
+		underTest.sync(List.of("com.example:lib", "com.example:bom"), localDir, 4);
+		Mockito.clearInvocations(mockRestClient);
+
+		SyncReport report = underTest.sync(List.of("com.example:lib", "com.example:bom"), localDir, 4);
+
+		assertEquals(List.of(), report.transferred());
+		assertEquals(List.of("com.example:bom", "com.example:lib"), report.upToDate());
+		Mockito.verify(mockRestClient, Mockito.times(2)).get(Mockito.anyString(), Mockito.anyMap());
+	}
+
+	@DisplayName("Only new versions and new SNAPSHOT builds are transferred when the metadata has changed.")
+	@Test
+	void testSync_Incremental() throws Exception {
+		underTest.sync(List.of("com.example:lib"), localDir, 4);
+		remoteFiles.put(LIB_DIR + "maven-metadata.xml", artifactMetadata("20240202120000", "1.0", "1.1-SNAPSHOT", "1.2"));
+		remoteFiles.put(LIB_DIR + "1.2/lib-1.2.pom", pom("jar"));
+		remoteFiles.put(LIB_DIR + "1.2/lib-1.2.jar", "lib 1.2");
+		remoteFiles.put(SNAPSHOT_DIR + "maven-metadata.xml", snapshotMetadata("20240202120000", "1.1-20240202.120000-2"));
+		remoteFiles.put(SNAPSHOT_DIR + "lib-1.1-20240202.120000-2.pom", pom("jar"));
+		remoteFiles.put(SNAPSHOT_DIR + "lib-1.1-20240202.120000-2.jar", "lib 1.1 build 2");
+		remoteFiles.put(SNAPSHOT_DIR + "lib-1.1-20240202.120000-2-sources.jar", "lib 1.1 build 2 sources");
+
+		SyncReport report = underTest.sync(List.of("com.example:lib"), localDir, 4);
+
+		assertTrue(report.allSucceeded(), ()->report.failures().toString());
+		assertEquals(List.of(LIB_DIR + "1.2/lib-1.2.jar", LIB_DIR + "1.2/lib-1.2.pom", SNAPSHOT_DIR + "lib-1.1-20240202.120000-2-sources.jar",
+							 SNAPSHOT_DIR + "lib-1.1-20240202.120000-2.jar", SNAPSHOT_DIR + "lib-1.1-20240202.120000-2.pom",
+							 SNAPSHOT_DIR + "maven-metadata.xml", LIB_DIR + "maven-metadata.xml").stream().sorted().toList(),
+					 report.transferred().stream().map(SyncReport.Transfer::path).toList());
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(Mockito.eq(LIB_DIR + "1.0/lib-1.0.jar"), Mockito.anyMap());
+	}
+
+	@DisplayName("A failed transfer is reported and the metadata is not updated, so the next sync tries again.")
+	@Test
+	void testSync_Failure() throws Exception {
+		String jar = remoteFiles.remove(LIB_DIR + "1.0/lib-1.0.jar");
+
+		SyncReport failed = underTest.sync(List.of("com.example:lib"), localDir, 4);
+
+		assertFalse(failed.allSucceeded());
+		assertEquals(List.of(LIB_DIR + "1.0/lib-1.0.jar"), failed.failures().stream().map(SyncReport.Failure::path).toList());
+		assertThat(failed.failures().get(0).failure(), instanceOf(RestClient.RestClientException.class));
+		assertFalse(Files.exists(localDir.resolve("com/example/lib/maven-metadata.xml")));
+		assertFalse(Files.exists(localDir.resolve("com/example/lib/1.0/lib-1.0.pom")));
+
+		remoteFiles.put(LIB_DIR + "1.0/lib-1.0.jar", jar);
+		SyncReport retried = underTest.sync(List.of("com.example:lib"), localDir, 4);
+
+		assertTrue(retried.allSucceeded(), ()->retried.failures().toString());
+		assertEquals("lib 1.0", Files.readString(localDir.resolve("com/example/lib/1.0/lib-1.0.jar")));
+		assertEquals(List.of("com.example:lib:1.1-SNAPSHOT"), retried.upToDate());
+	}
+
+	@DisplayName("Syncs into the same directory at the same time don't share temporary files, and leave none behind.")
+	@Test
+	void testSync_Concurrent() throws Exception {
+		List<CompletableFuture<SyncReport>> syncs = IntStream.range(0, 4)
+															 .mapToObj(i->CompletableFuture.supplyAsync(()->{
+																 try {
+																	 return underTest.sync(List.of("com.example:lib", "com.example:bom"), localDir, 4);
+																 } catch (Exception e) {
+																	 throw new CompletionException(e);
+																 }
+															 }))
+															 .toList();
+
+		for (CompletableFuture<SyncReport> sync : syncs) {
+			SyncReport report = sync.join();
+			assertTrue(report.allSucceeded(), ()->report.failures().toString());
+		}
+		try (Stream<Path> files = Files.walk(localDir)) {
+			assertEquals(List.of(), files.filter(f->f.getFileName().toString().endsWith(".tmp")).toList());
+		}
+	}
+
+	@DisplayName("Artifacts are synced on the GithubPackages executor.")
+	@Test
+	void testSync_Executor() throws Exception {
+		AtomicInteger tasks = new AtomicInteger();
+		Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+		GithubPackages.Repo executorUnderTest = new GithubPackages(mockRestClient).executor(task->{
+			tasks.incrementAndGet();
+			executor.execute(task);
+		}).repo("org", "repo");
+
+		SyncReport report = executorUnderTest.sync(List.of("com.example:lib", "com.example:bom"), localDir, 4);
+
+		assertTrue(report.allSucceeded(), ()->report.failures().toString());
+		assertEquals(2, tasks.get());		// The artifacts, the work they wait for runs on its own threads
+	}
+
+	@DisplayName("A checksum file that fails to transfer (other than by not being there) fails its version, so it is tried again.")
+	@Test
+	void testSync_ChecksumFailure() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(LIB_DIR + "1.0/lib-1.0.jar.md5"), Mockito.anyMap()))
+			   .thenReturn(new RestClient.Response(500, Map.of(), InputStream.nullInputStream()))
+			   .thenAnswer(i->new RestClient.Response(200, Map.of(), new ByteArrayInputStream("lib 1.0 md5".getBytes(StandardCharsets.UTF_8))));
+
+		SyncReport failed = underTest.sync(List.of("com.example:lib"), localDir, 4);
+
+		assertEquals(List.of(LIB_DIR + "1.0/lib-1.0.jar.md5"), failed.failures().stream().map(SyncReport.Failure::path).toList());
+		assertFalse(Files.exists(localDir.resolve("com/example/lib/1.0/lib-1.0.jar")));
+
+		SyncReport retried = underTest.sync(List.of("com.example:lib"), localDir, 4);
+
+		assertTrue(retried.allSucceeded(), ()->retried.failures().toString());
+		assertEquals("lib 1.0 md5", Files.readString(localDir.resolve("com/example/lib/1.0/lib-1.0.jar.md5")));
+		assertEquals("lib 1.0", Files.readString(localDir.resolve("com/example/lib/1.0/lib-1.0.jar")));
+	}
+
+	@Test
+	void testSync_InvalidArtifact() {
+		assertThrows(IllegalArgumentException.class, ()->underTest.sync(List.of("com.example:lib:1.0"), localDir, 4));
+		assertThrows(IllegalArgumentException.class, ()->underTest.sync(List.of("com.example:lib"), localDir, 0));
+	}
+
+	private static String artifactMetadata(String lastUpdated, String... versions) {
+		StringBuilder versionElements = new StringBuilder();
+		for (String version : versions) {
+			versionElements.append("<version>").append(version).append("</version>");
+		}
+		return "<metadata><versioning><versions>%s</versions><lastUpdated>%s</lastUpdated></versioning></metadata>".formatted(versionElements, lastUpdated);
+	}
+
+	private static String snapshotMetadata(String lastUpdated, String value) {
+		return """
+				<metadata>
+					<version>1.1-SNAPSHOT</version>
+					<versioning>
+						<lastUpdated>%s</lastUpdated>
+						<snapshotVersions>
+							<snapshotVersion><extension>jar</extension><value>%s</value></snapshotVersion>
+							<snapshotVersion><classifier>sources</classifier><extension>jar</extension><value>%s</value></snapshotVersion>
+							<snapshotVersion><extension>pom</extension><value>%s</value></snapshotVersion>
+						</snapshotVersions>
+					</versioning>
+				</metadata>
+				""".formatted(lastUpdated, value, value, value);
+	}
+
+	private static String pom(String packaging) {
+		return "<project><packaging>%s</packaging></project>".formatted(packaging);
+	}
+}
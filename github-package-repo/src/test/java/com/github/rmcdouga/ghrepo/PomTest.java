@@ -0,0 +1,153 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.rmcdouga.ghrepo.Pom.Coordinates;
+import com.github.rmcdouga.ghrepo.Pom.Dependency;
+import com.github.rmcdouga.ghrepo.Pom.Exclusion;
+import com.github.rmcdouga.ghrepo.XmlDocument.XmlDocumentException;
+
+class PomTest {
+	private static final String PARENT_POM = """
+			<project xmlns="http://maven.apache.org/POM/4.0.0">
+				<groupId>com.example</groupId>
+				<artifactId>parent</artifactId>
+				<version>2.0</version>
+				<packaging>pom</packaging>
+				<properties>
+					<lib.version>1.5</lib.version>
+					<other.version>3.0</other.version>
+				</properties>
+				<dependencyManagement>
+					<dependencies>
+						<dependency>
+							<groupId>com.example</groupId>
+							<artifactId>managed</artifactId>
+							<version>${other.version}</version>
+							<scope>runtime</scope>
+						</dependency>
+					</dependencies>
+				</dependencyManagement>
+				<dependencies>
+					<dependency>
+						<groupId>com.example</groupId>
+						<artifactId>inherited</artifactId>
+						<version>1.0</version>
+					</dependency>
+				</dependencies>
+			</project>
+			""";
+	private static final String CHILD_POM = """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<project xmlns="http://maven.apache.org/POM/4.0.0">
+				<parent>
+					<groupId>com.example</groupId>
+					<artifactId>parent</artifactId>
+					<version>2.0</version>
+				</parent>
+				<artifactId>child</artifactId>
+				<properties>
+					<other.version>3.1</other.version>
+				</properties>
+				<dependencies>
+					<dependency>
+						<groupId>${project.groupId}</groupId>
+						<artifactId>sibling</artifactId>
+						<version>${project.version}</version>
+						<exclusions>
+							<exclusion>
+								<groupId>org.unwanted</groupId>
+								<artifactId>*</artifactId>
+							</exclusion>
+						</exclusions>
+					</dependency>
+					<dependency>
+						<groupId>com.example</groupId>
+						<artifactId>library</artifactId>
+						<version>${lib.version}</version>
+						<classifier>linux</classifier>
+						<optional>true</optional>
+					</dependency>
+					<dependency>
+						<groupId>com.example</groupId>
+						<artifactId>managed</artifactId>
+					</dependency>
+				</dependencies>
+				<build>
+					<plugins>
+						<plugin>
+							<artifactId>maven-something-plugin</artifactId>
+							<dependencies>
+								<dependency>
+									<groupId>com.example</groupId>
+									<artifactId>plugin-only</artifactId>
+									<version>1.0</version>
+								</dependency>
+							</dependencies>
+						</plugin>
+					</plugins>
+				</build>
+			</project>
+			""";
+
+	@Test
+	void testParse() {
+		Pom underTest = Pom.parse(CHILD_POM.getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(new Coordinates(null, "child", null), underTest.coordinates());
+		assertEquals(Optional.of(new Coordinates("com.example", "parent", "2.0")), underTest.parent());
+		assertEquals(Map.of("other.version", "3.1"), underTest.properties());
+		assertEquals(List.of(new Dependency("${project.groupId}", "sibling", "${project.version}", null, null, null, false, List.of(new Exclusion("org.unwanted", "*"))),
+							 new Dependency("com.example", "library", "${lib.version}", null, "linux", null, true, List.of()),
+							 new Dependency("com.example", "managed", null, null, null, null, false, List.of())),
+					 underTest.dependencies());
+		assertEquals(List.of(), underTest.dependencyManagement());
+	}
+
+	@Test
+	void testEffective() {
+		Pom parent = Pom.parse(PARENT_POM.getBytes(StandardCharsets.UTF_8));
+		Pom underTest = Pom.parse(CHILD_POM.getBytes(StandardCharsets.UTF_8)).inherit(parent).interpolate().manage();
+
+		assertEquals(new Coordinates("com.example", "child", "2.0"), underTest.coordinates());
+		assertEquals(List.of(new Dependency("com.example", "sibling", "2.0", null, null, null, false, List.of(new Exclusion("org.unwanted", "*"))),
+							 new Dependency("com.example", "library", "1.5", null, "linux", null, true, List.of()),
+							 new Dependency("com.example", "managed", "3.1", null, null, "runtime", false, List.of()),	// The child's property overrides the parent's
+							 new Dependency("com.example", "inherited", "1.0", null, null, null, false, List.of())),
+					 underTest.dependencies());
+	}
+
+	@Test
+	void testImportManaged() {
+		Dependency own = new Dependency("com.example", "a", "1.0", null, null, null, false, List.of());
+		Dependency imported = new Dependency("com.example", "a", "2.0", null, null, null, false, List.of());
+		Dependency other = new Dependency("com.example", "b", "2.0", null, null, "runtime", false, List.of());
+		Pom underTest = Pom.parse("""
+				<project>
+					<dependencyManagement><dependencies>
+						<dependency><groupId>com.example</groupId><artifactId>a</artifactId><version>1.0</version></dependency>
+					</dependencies></dependencyManagement>
+					<dependencies>
+						<dependency><groupId>com.example</groupId><artifactId>b</artifactId></dependency>
+					</dependencies>
+				</project>
+				""".getBytes(StandardCharsets.UTF_8));
+
+		Pom result = underTest.importManaged(List.of(imported, other)).manage();
+
+		assertEquals(List.of(own, other), result.dependencyManagement());
+		assertEquals(List.of(other), result.dependencies());
+	}
+
+	@Test
+	void testParse_Failure() {
+		assertThrows(XmlDocumentException.class, ()->Pom.parse("<project>".getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -0,0 +1,189 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+import com.github.rmcdouga.ghrepo.RestClient.RestClientException;
+
+class RangedDownloadsTest {
+	private static final String PATH = "/org/repo/group/artifact/1.0/artifact-1.0.zip";
+	private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+	private static final byte[] CONTENTS = new byte[1000];
+	static {
+		new Random(42).nextBytes(CONTENTS);
+	}
+
+	@TempDir Path tempDir;
+
+	@Test
+	void testCopy_Ranges() throws Exception {
+		RangeServingRestClient restClient = new RangeServingRestClient(true);
+		Path target = tempDir.resolve("artifact-1.0.zip");
+
+		long result = new RangedDownloads(4, 100).copy(restClient, PATH, target, Executors.newVirtualThreadPerTaskExecutor());
+
+		assertEquals(CONTENTS.length, result);
+		assertArrayEquals(CONTENTS, Files.readAllBytes(target));
+		assertEquals(4, restClient.ranges.size());
+		assertEquals("bytes=0-99", restClient.ranges.get(0));
+	}
+
+	@Test
+	void testCopy_SmallFile() throws Exception {
+		RangeServingRestClient restClient = new RangeServingRestClient(true);
+		Path target = tempDir.resolve("artifact-1.0.zip");
+
+		long result = new RangedDownloads(4, 2000).copy(restClient, PATH, target, Runnable::run);
+
+		assertEquals(CONTENTS.length, result);
+		assertArrayEquals(CONTENTS, Files.readAllBytes(target));
+		assertEquals(1, restClient.ranges.size());
+	}
+
+	@Test
+	void testCopy_RangesNotSupported() throws Exception {
+		RangeServingRestClient restClient = new RangeServingRestClient(false);
+		Path target = tempDir.resolve("artifact-1.0.zip");
+
+		long result = new RangedDownloads(4, 100).copy(restClient, PATH, target, Runnable::run);
+
+		assertEquals(CONTENTS.length, result);
+		assertArrayEquals(CONTENTS, Files.readAllBytes(target));
+		assertEquals(1, restClient.ranges.size());
+	}
+
+	@Test
+	void testCopy_TargetExists() throws Exception {
+		RangeServingRestClient restClient = new RangeServingRestClient(true);
+		Path target = Files.writeString(tempDir.resolve("artifact-1.0.zip"), "Existing Contents");
+		RangedDownloads underTest = new RangedDownloads(4, 100);
+
+		assertThrows(FileAlreadyExistsException.class, ()->underTest.copy(restClient, PATH, target, Runnable::run));
+		underTest.copy(restClient, PATH, target, Runnable::run, StandardCopyOption.REPLACE_EXISTING);
+
+		assertArrayEquals(CONTENTS, Files.readAllBytes(target));
+		try (var files = Files.list(tempDir)) {
+			assertEquals(1, files.count(), "Expected no temporary files to be left behind.");
+		}
+	}
+
+	@DisplayName("When one range fails the others are stopped (rather than waited for) and the failure is reported.")
+	@Test
+	void testCopy_RangeFails() throws Exception {
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch closed = new CountDownLatch(1);
+		InputStream blockedBody = new InputStream() {
+			@Override
+			public int read() throws IOException {
+				reading.countDown();
+				try {
+					closed.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw new IOException("Stream closed.");
+			}
+
+			@Override
+			public void close() {
+				closed.countDown();
+			}
+		};
+		RangeServingRestClient restClient = new RangeServingRestClient(true) {
+			@Override
+			public Response get(String path, Map<String, String> headers) {
+				return switch (headers.get("Range")) {
+					case "bytes=100-399" -> new Response(206, Map.of("Content-Range", List.of("bytes 100-399/1000")), blockedBody);
+					case "bytes=400-699" -> {
+						await(reading);		// So that the failure comes while the other range is being read
+						yield new Response(500, Map.of(), InputStream.nullInputStream());
+					}
+					default -> super.get(path, headers);
+				};
+			}
+		};
+		Path target = tempDir.resolve("artifact-1.0.zip");
+
+		// Platform threads, as the blocked read is inside Channels.newChannel()'s synchronized block, which would pin a virtual
+		// thread's carrier (and there may be only one)
+		ExecutorService executor = Executors.newCachedThreadPool();
+		RestClientException ex;
+		try {
+			ex = assertTimeoutPreemptively(Duration.ofSeconds(10), ()->assertThrows(RestClientException.class, ()->new RangedDownloads(4, 100).copy(restClient, PATH, target, executor)));
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(500, ex.status());
+		assertEquals(0, closed.getCount(), "Expected the body of the range being read to be closed.");
+		try (var files = Files.list(tempDir)) {
+			assertEquals(0, files.count(), "Expected no temporary files to be left behind.");
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// Serves CONTENTS, honouring Range headers if supportsRanges is true.
+	private static class RangeServingRestClient implements RestClient {
+		private final boolean supportsRanges;
+		private final List<String> ranges = new CopyOnWriteArrayList<>();
+
+		private RangeServingRestClient(boolean supportsRanges) {
+			this.supportsRanges = supportsRanges;
+		}
+
+		@Override
+		public InputStream get(String path) {
+			throw new UnsupportedOperationException("Ranged downloads should not use get(path).");
+		}
+
+		@Override
+		public Response get(String path, Map<String, String> headers) {
+			String range = headers.get("Range");
+			ranges.add(range);
+			Matcher matcher = RANGE.matcher(range == null ? "" : range);
+			if (!supportsRanges || !matcher.matches()) {
+				return new Response(200, Map.of(), new ByteArrayInputStream(CONTENTS));
+			}
+			int start = Integer.parseInt(matcher.group(1));
+			int end = Math.min(Integer.parseInt(matcher.group(2)), CONTENTS.length - 1);
+			return new Response(206,
+								Map.of("Content-Range", List.of("bytes %d-%d/%d".formatted(start, end, CONTENTS.length)), "ETag", List.of("\"etag\"")),
+								new ByteArrayInputStream(CONTENTS, start, end - start + 1)
+								);
+		}
+
+		@Override
+		public Response head(String path) {
+			throw new UnsupportedOperationException("Ranged downloads should not use head(path).");
+		}
+	}
+}
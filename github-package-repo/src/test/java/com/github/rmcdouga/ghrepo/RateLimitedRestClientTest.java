@@ -0,0 +1,50 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitedRestClientTest {
+	private static final String PATH = "/org/repo/group/artifact/1.0/maven-metadata.xml";
+
+	@Mock RestClient mockRestClient;
+	private final AtomicLong nanoTime = new AtomicLong();
+	private final RateLimiter rateLimiter = RateLimiter.create(10, 10, nanoTime::get, Clock.systemUTC(), nanoTime::addAndGet);
+
+	@Test
+	void testGet_ResendsRateLimited() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of()))
+			   .thenReturn(new Response(429, Map.of("Retry-After", List.of("60")), InputStream.nullInputStream()))
+			   .thenReturn(new Response(200, Map.of(), new ByteArrayInputStream("<metadata/>".getBytes(StandardCharsets.UTF_8))));
+
+		InputStream result = RateLimitedRestClient.wrap(mockRestClient, rateLimiter).get(PATH);
+
+		assertEquals("<metadata/>", new String(result.readAllBytes(), StandardCharsets.UTF_8), "Expected the rate limit rejection to be hidden from the caller.");
+		assertTrue(nanoTime.get() >= 60_000_000_000L, "Expected to wait for the Retry-After before resending.");
+		Mockito.verify(mockRestClient, Mockito.times(2)).get(PATH, Map.of());
+	}
+
+	@Test
+	void testHead_GivesUp() throws Exception {
+		Mockito.when(mockRestClient.head(PATH)).thenAnswer(i->new Response(429, Map.of(), InputStream.nullInputStream()));
+
+		assertEquals(429, RateLimitedRestClient.wrap(mockRestClient, rateLimiter).head(PATH).status());
+
+		Mockito.verify(mockRestClient, Mockito.times(4)).head(PATH);
+	}
+}
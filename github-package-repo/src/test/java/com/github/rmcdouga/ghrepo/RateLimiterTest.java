@@ -0,0 +1,82 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+
+class RateLimiterTest {
+	private static final Instant NOW = Instant.parse("2022-12-21T22:18:00Z");
+
+	private final AtomicLong nanoTime = new AtomicLong();
+	private final List<Duration> waits = new CopyOnWriteArrayList<>();
+	// Sleeping just moves the fake time on.
+	private final RateLimiter underTest = RateLimiter.create(2, 1, nanoTime::get, Clock.fixed(NOW, ZoneOffset.UTC), nanos->{
+		waits.add(Duration.ofNanos(nanos));
+		nanoTime.addAndGet(nanos);
+	});
+
+	@Test
+	void testAcquire_Burst() throws Exception {
+		underTest.acquire();
+		underTest.acquire();
+		assertEquals(List.of(), waits, "Expected the burst to go straight through.");
+
+		underTest.acquire();
+		underTest.acquire();
+		assertEquals(List.of(Duration.ofSeconds(1), Duration.ofSeconds(1)), waits, "Expected requests to be spaced at the refill rate.");
+	}
+
+	@Test
+	void testAcquire_Queued() throws Exception {
+		RateLimiter noSleep = RateLimiter.create(1, 1, nanoTime::get, Clock.fixed(NOW, ZoneOffset.UTC), nanos->waits.add(Duration.ofNanos(nanos)));
+		for (int i = 0; i < 4; i++) {
+			noSleep.acquire();		// Simulates 4 concurrent callers, all arriving at the same moment
+		}
+		assertEquals(List.of(Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(3)), waits, "Expected each queued request to wait its turn.");
+	}
+
+	@Test
+	void testUpdate_RetryAfter() throws Exception {
+		assertTrue(underTest.update(response(429, Map.of("Retry-After", List.of("5")))));
+
+		underTest.acquire();
+		assertEquals(List.of(Duration.ofSeconds(6)), waits, "Expected to wait out the Retry-After and then for a token.");
+	}
+
+	@Test
+	void testUpdate_LimitExhausted() throws Exception {
+		long reset = NOW.plusSeconds(30).getEpochSecond();
+		assertFalse(underTest.update(response(200, Map.of("X-RateLimit-Remaining", List.of("0"), "X-RateLimit-Reset", List.of(Long.toString(reset))))));
+
+		underTest.acquire();
+		assertEquals(List.of(Duration.ofSeconds(31)), waits, "Expected to wait until the limit resets.");
+	}
+
+	@Test
+	void testUpdate_SecondaryLimit() throws Exception {
+		assertTrue(underTest.update(response(403, Map.of("X-RateLimit-Remaining", List.of("0")))));
+		assertFalse(underTest.update(response(403, Map.of())), "A 403 without rate limit headers is a permissions problem.");
+	}
+
+	@Test
+	void testForToken() throws Exception {
+		assertSame(RateLimiter.forToken("token_1"), RateLimiter.forToken("token_1"));
+		assertNotSame(RateLimiter.forToken("token_1"), RateLimiter.forToken("token_2"));
+	}
+
+	private static Response response(int status, Map<String, List<String>> headers) {
+		return new Response(status, headers, InputStream.nullInputStream());
+	}
+}
@@ -0,0 +1,259 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryProxyTest {
+	private static final String LIB_DIR = "/org/repo/com/example/lib/";
+	private static final String RELEASE_JAR = LIB_DIR + "1.0/lib-1.0.jar";
+	private static final String SNAPSHOT_DIR = LIB_DIR + "1.1-SNAPSHOT/";
+	private static final String CONTENTS = "lib 1.0";
+
+	@Mock RestClient mockRestClient;
+	@TempDir Path cacheDir;
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+	private RepositoryProxy underTest;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		underTest = RepositoryProxy.start(new GithubPackages(mockRestClient), ArtifactCache.at(cacheDir), 0);
+	}
+
+	@AfterEach
+	void tearDown() {
+		underTest.close();
+		httpClient.close();
+	}
+
+	@DisplayName("A file is downloaded the first time it is requested and served from the cache after that.")
+	@Test
+	void testGet_MissThenHit() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(RELEASE_JAR), Mockito.anyMap())).thenAnswer(i->response(200, CONTENTS));
+
+		assertEquals(CONTENTS, get(RELEASE_JAR).body());
+		HttpResponse<String> second = get(RELEASE_JAR);
+		assertEquals(200, second.statusCode());
+		assertEquals(CONTENTS, second.body());
+		assertEquals("application/java-archive", second.headers().firstValue("Content-Type").orElseThrow());
+
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(Mockito.eq(RELEASE_JAR), Mockito.anyMap());
+		RepositoryProxy.Stats stats = underTest.stats();
+		assertEquals(new RepositoryProxy.Stats(2, 1, 1, 0, 0, 0, 2L * CONTENTS.length()), stats);
+		assertEquals(0.5, stats.hitRatio());
+	}
+
+	@DisplayName("A file is streamed to clients while it downloads, and a second client reads along with the same download.")
+	@Test
+	void testGet_StreamsWhileDownloading() throws Exception {
+		byte[] start = randomBytes(100_000);
+		byte[] rest = randomBytes(50_000);
+		CountDownLatch release = new CountDownLatch(1);
+		InputStream gated = new InputStream() {
+			private InputStream remaining;
+
+			@Override
+			public int read() throws IOException {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if (remaining == null) {
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new IOException(e);
+					}
+					remaining = new ByteArrayInputStream(rest);
+				}
+				return remaining.read(b, off, len);
+			}
+		};
+		// No Content-Length, so the proxy does not know how big the file is until it has all arrived
+		Mockito.when(mockRestClient.get(Mockito.eq(RELEASE_JAR), Mockito.anyMap()))
+			   .thenReturn(new Response(200, Map.of(), new SequenceInputStream(new ByteArrayInputStream(start), gated)));
+
+		InputStream first = getStream(RELEASE_JAR).body();
+		assertArrayEquals(start, first.readNBytes(start.length), "Expected the start of the file before the download completed.");
+		HttpResponse<InputStream> second = getStream(RELEASE_JAR);
+		release.countDown();
+
+		byte[] expected = concat(start, rest);
+		try (first; InputStream body = second.body()) {
+			assertArrayEquals(rest, first.readAllBytes());
+			assertArrayEquals(expected, body.readAllBytes());
+		}
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(Mockito.eq(RELEASE_JAR), Mockito.anyMap());
+		assertEquals(1, underTest.stats().cacheMisses());
+		assertEquals(1, underTest.stats().inFlightJoins());
+		assertArrayEquals(expected, getBytes(RELEASE_JAR));		// Now from the cache
+	}
+
+	@DisplayName("Non-timestamped SNAPSHOT file names are resolved to the latest build.")
+	@Test
+	void testGet_Snapshot() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(SNAPSHOT_DIR + "maven-metadata.xml"), Mockito.anyMap())).thenAnswer(i->response(200, snapshotMetadata()));
+		Mockito.when(mockRestClient.get(Mockito.eq(SNAPSHOT_DIR + "lib-1.1-20240101.120000-2.jar"), Mockito.anyMap())).thenAnswer(i->response(200, "build 2"));
+
+		assertEquals("build 2", get(SNAPSHOT_DIR + "lib-1.1-SNAPSHOT.jar").body());
+	}
+
+	@DisplayName("SNAPSHOT file names with a classifier are resolved using the metadata entry for that classifier.")
+	@Test
+	void testGet_Snapshot_Classifier() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(SNAPSHOT_DIR + "maven-metadata.xml"), Mockito.anyMap())).thenAnswer(i->response(200, snapshotMetadata()));
+		Mockito.when(mockRestClient.get(Mockito.eq(SNAPSHOT_DIR + "lib-1.1-20240101.120000-1-sources.jar"), Mockito.anyMap())).thenAnswer(i->response(200, "sources 1"));
+
+		assertEquals("sources 1", get(SNAPSHOT_DIR + "lib-1.1-SNAPSHOT-sources.jar").body());
+	}
+
+	@DisplayName("Checksums of non-timestamped SNAPSHOT files are resolved to the checksum of the latest build.")
+	@Test
+	void testGet_Snapshot_Checksum() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(SNAPSHOT_DIR + "maven-metadata.xml"), Mockito.anyMap())).thenAnswer(i->response(200, snapshotMetadata()));
+		Mockito.when(mockRestClient.get(Mockito.eq(SNAPSHOT_DIR + "lib-1.1-20240101.120000-2.jar.sha1"), Mockito.anyMap())).thenAnswer(i->response(200, "jar sha1"));
+		Mockito.when(mockRestClient.get(Mockito.eq(SNAPSHOT_DIR + "lib-1.1-20240101.120000-1-sources.jar.md5"), Mockito.anyMap())).thenAnswer(i->response(200, "sources md5"));
+
+		assertEquals("jar sha1", get(SNAPSHOT_DIR + "lib-1.1-SNAPSHOT.jar.sha1").body());
+		assertEquals("sources md5", get(SNAPSHOT_DIR + "lib-1.1-SNAPSHOT-sources.jar.md5").body());
+	}
+
+	@Test
+	void testGet_NotFound() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(RELEASE_JAR), Mockito.anyMap())).thenAnswer(i->response(404, "Not Found"));
+
+		assertEquals(404, get(RELEASE_JAR).statusCode());
+		assertEquals(1, underTest.stats().notFound());
+	}
+
+	@DisplayName("A HEAD request for a file that isn't cached is passed on as a HEAD request, not a download.")
+	@Test
+	void testHead_NotCached() throws Exception {
+		Mockito.when(mockRestClient.head(RELEASE_JAR)).thenReturn(new Response(200, Map.of("Content-Length", List.of("1234")), InputStream.nullInputStream()));
+
+		HttpResponse<Void> response = head(RELEASE_JAR);
+
+		assertEquals(200, response.statusCode());
+		assertEquals(1234, response.headers().firstValueAsLong("Content-Length").orElseThrow());
+		assertEquals("application/java-archive", response.headers().firstValue("Content-Type").orElseThrow());
+		Mockito.verify(mockRestClient, Mockito.never()).get(Mockito.anyString(), Mockito.anyMap());
+	}
+
+	@DisplayName("A HEAD request for a cached file is answered from the cache.")
+	@Test
+	void testHead_Cached() throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.eq(RELEASE_JAR), Mockito.anyMap())).thenAnswer(i->response(200, CONTENTS));
+		assertEquals(CONTENTS, get(RELEASE_JAR).body());
+
+		HttpResponse<Void> response = head(RELEASE_JAR);
+
+		assertEquals(200, response.statusCode());
+		assertEquals(CONTENTS.length(), response.headers().firstValueAsLong("Content-Length").orElseThrow());
+		Mockito.verify(mockRestClient, Mockito.never()).head(Mockito.anyString());
+	}
+
+	@Test
+	void testHead_NotFound() throws Exception {
+		Mockito.when(mockRestClient.head(RELEASE_JAR)).thenReturn(new Response(404, Map.of(), InputStream.nullInputStream()));
+
+		assertEquals(404, head(RELEASE_JAR).statusCode());
+		assertEquals(1, underTest.stats().notFound());
+	}
+
+	@Test
+	void testPut_NotAllowed() throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(uri(RELEASE_JAR)).PUT(HttpRequest.BodyPublishers.ofString(CONTENTS)).build();
+
+		HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+		assertEquals(405, response.statusCode());
+		assertEquals("GET, HEAD", response.headers().firstValue("Allow").orElseThrow());
+		Mockito.verifyNoInteractions(mockRestClient);
+	}
+
+	@Test
+	void testUri() {
+		assertEquals("http://%s:%d/org/repo".formatted(underTest.address().getHostString(), underTest.address().getPort()), underTest.uri("org", "repo").toString());
+	}
+
+	private HttpResponse<String> get(String path) throws Exception {
+		return httpClient.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<Void> head(String path) throws Exception {
+		return httpClient.send(HttpRequest.newBuilder(uri(path)).method("HEAD", HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.discarding());
+	}
+
+	private HttpResponse<InputStream> getStream(String path) throws Exception {
+		return httpClient.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofInputStream());
+	}
+
+	private byte[] getBytes(String path) throws Exception {
+		return httpClient.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofByteArray()).body();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:%d%s".formatted(underTest.address().getPort(), path));
+	}
+
+	private static Response response(int status, String body) {
+		return new Response(status, Map.of(), new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String snapshotMetadata() {
+		return """
+				<metadata>
+					<version>1.1-SNAPSHOT</version>
+					<versioning>
+						<snapshot><timestamp>20240101.120000</timestamp><buildNumber>2</buildNumber></snapshot>
+						<lastUpdated>20240101120000</lastUpdated>
+						<snapshotVersions>
+							<snapshotVersion><classifier>sources</classifier><extension>jar</extension><value>1.1-20240101.120000-1</value></snapshotVersion>
+							<snapshotVersion><extension>jar</extension><value>1.1-20240101.120000-2</value></snapshotVersion>
+							<snapshotVersion><extension>pom</extension><value>1.1-20240101.120000-2</value></snapshotVersion>
+						</snapshotVersions>
+					</versioning>
+				</metadata>
+				""";
+	}
+
+	private static byte[] concat(byte[] a, byte[] b) {
+		byte[] result = new byte[a.length + b.length];
+		System.arraycopy(a, 0, result, 0, a.length);
+		System.arraycopy(b, 0, result, a.length, b.length);
+		return result;
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,117 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+@WireMockTest
+class RestClientJdkImplTest {
+	private static final String TARGET_URL = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1-SNAPSHOT/watched-folder-poster-0.0.1-20221221.221800-4.jar";
+	private static final String REDIRECTED_JAR_URL = "/mock_redirect/58db1000-817d-11ed-896c-a539e6ee4bc7";
+	private static final String MOCK_GITHUB_TOKEN = "mock_github_token";
+	private final RestClient underTest;
+
+	private RestClientJdkImplTest(WireMockRuntimeInfo wmRuntimeInfo) {
+		underTest = new RestClientJdkImpl("http://localhost:%d".formatted(wmRuntimeInfo.getHttpPort()), MOCK_GITHUB_TOKEN);
+	}
+
+	@Test
+	void testGet() throws Exception {
+		InputStream resultStream = underTest.get(TARGET_URL);
+
+		assertNotNull(resultStream);
+		assertTrue(isArchive(resultStream.readAllBytes()), "Expected response to be a .zip/.jar but is was not.");
+
+		WireMock.verify(WireMock.getRequestedFor(WireMock.urlEqualTo(TARGET_URL))
+				.withHeader("Authorization", WireMock.equalTo("Bearer " + MOCK_GITHUB_TOKEN))
+				);
+		// Same host, so the token is still sent after the redirect.
+		WireMock.verify(WireMock.getRequestedFor(WireMock.urlEqualTo(REDIRECTED_JAR_URL))
+				.withHeader("Authorization", WireMock.equalTo("Bearer " + MOCK_GITHUB_TOKEN))
+				);
+	}
+
+	@Test
+	void testGet_WithHeaders() throws Exception {
+		RestClient.Response response = underTest.get(TARGET_URL, Map.of("If-None-Match", "\"etag\""));
+
+		assertEquals(200, response.status());
+		assertEquals("application/java-archive", response.header("content-type").orElseThrow());
+		assertTrue(isArchive(response.body().readAllBytes()), "Expected response to be a .zip/.jar but is was not.");
+
+		WireMock.verify(WireMock.getRequestedFor(WireMock.urlEqualTo(REDIRECTED_JAR_URL))
+				.withHeader("If-None-Match", WireMock.equalTo("\"etag\""))
+				);
+	}
+
+	@Test
+	void testGet_RedirectToOtherHost(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+		// localhost and 127.0.0.1 reach the same WireMock server but are different hosts as far as the client is concerned.
+		WireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/other_host"))
+								 .willReturn(WireMock.temporaryRedirect("http://127.0.0.1:%d%s".formatted(wmRuntimeInfo.getHttpPort(), REDIRECTED_JAR_URL))));
+
+		assertTrue(isArchive(underTest.get("/other_host").readAllBytes()), "Expected response to be a .zip/.jar but is was not.");
+
+		WireMock.verify(WireMock.getRequestedFor(WireMock.urlEqualTo(REDIRECTED_JAR_URL))
+				.withoutHeader("Authorization")
+				);
+	}
+
+	@Test
+	void testGet_Channel() throws Exception {
+		RestClient.Response response = underTest.get(TARGET_URL, Map.of());
+
+		// The body is read straight from the HttpClient's buffers rather than through a wrapper.
+		assertSame(response.body(), response.channel());
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (var channel = response.channel()) {
+			ByteChannels.transfer(channel, Channels.newChannel(bytes));
+		}
+		assertTrue(isArchive(bytes.toByteArray()), "Expected response to be a .zip/.jar but is was not.");
+	}
+
+	@Test
+	void testHead() throws Exception {
+		// The recorded mappings only cover GETs.
+		WireMock.stubFor(WireMock.head(WireMock.urlEqualTo(TARGET_URL)).willReturn(WireMock.temporaryRedirect(REDIRECTED_JAR_URL)));
+		WireMock.stubFor(WireMock.head(WireMock.urlEqualTo(REDIRECTED_JAR_URL))
+								 .willReturn(WireMock.ok().withHeader("Content-Type", "application/java-archive").withHeader("Last-Modified", "Wed, 21 Dec 2022 22:18:00 GMT")));
+
+		RestClient.Response response = underTest.head(TARGET_URL);
+
+		assertEquals(200, response.status());
+		assertEquals("Wed, 21 Dec 2022 22:18:00 GMT", response.header("last-modified").orElseThrow());
+		assertEquals(0, response.body().readAllBytes().length);
+		WireMock.verify(WireMock.headRequestedFor(WireMock.urlEqualTo(TARGET_URL))
+				.withHeader("Authorization", WireMock.equalTo("Bearer " + MOCK_GITHUB_TOKEN))
+				);
+	}
+
+	@Test
+	void testGet_NotFound() throws Exception {
+		RestClient.Response response = underTest.get("/not_there", Map.of());
+
+		assertEquals(404, response.status());
+	}
+
+	@Test
+	void testFactory() throws Exception {
+		assertInstanceOf(RestClientJdkImpl.class, RestClientFactory.create(RestClientFactory.Type.JDK, "https://maven.pkg.github.com", MOCK_GITHUB_TOKEN));
+		assertInstanceOf(RestClientJerseyImpl.class, RestClientFactory.create(RestClientFactory.Type.JERSEY, "https://maven.pkg.github.com", MOCK_GITHUB_TOKEN));
+	}
+
+	private static boolean isArchive(byte[] bytes) {
+		int fileSignature = ByteBuffer.wrap(bytes).getInt();
+		return fileSignature == 0x504B0304 || fileSignature == 0x504B0506 || fileSignature == 0x504B0708;
+	}
+}
@@ -7,6 +7,7 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +24,7 @@ import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 class RestClientJerseyImplTest {
 
 private static final String TARGET_URL = "/4PointSolutions/WatchedFolderUtils/com/_4point/aem/watchedfolder/watched-folder-poster/0.0.1-SNAPSHOT/watched-folder-poster-0.0.1-20221221.221800-4.jar";
+	private static final String REDIRECTED_JAR_URL = "/mock_redirect/58db1000-817d-11ed-896c-a539e6ee4bc7";
 	private static final String MOCK_GITHUB_TOKEN = "mock_github_token";
 	private static final boolean WIREMOCK_RECORDING = false;	// true tells WIREMOCK to call AEM and record the result
 	private static final boolean SAVE_RESULTS = false;			// true saves the resuts in the actualResults directory
@@ -73,6 +75,37 @@ private static final String TARGET_URL = "/4PointSolutions/WatchedFolderUtils/co
 		        );
 	}
 	
+	@Test
+	void testGet_WithHeaders() throws Exception {
+		RestClient.Response response = underTest.get(TARGET_URL, Map.of("If-None-Match", "\"etag\""));
+
+		assertEquals(200, response.status());
+		assertEquals("application/java-archive", response.header("content-type").orElseThrow());
+		assertTrue(isArchive(response.body().readAllBytes()), "Expected response to be a .zip/.jar but is was not.");
+
+		WireMock.verify(WireMock.getRequestedFor(WireMock.urlEqualTo(TARGET_URL))
+		        .withHeader("Authorization", WireMock.equalTo("Bearer " + MOCK_GITHUB_TOKEN))
+		        .withHeader("If-None-Match", WireMock.equalTo("\"etag\""))
+		        );
+	}
+
+	@Test
+	void testHead() throws Exception {
+		// The recorded mappings only cover GETs.
+		WireMock.stubFor(WireMock.head(WireMock.urlEqualTo(TARGET_URL)).willReturn(WireMock.temporaryRedirect(REDIRECTED_JAR_URL)));
+		WireMock.stubFor(WireMock.head(WireMock.urlEqualTo(REDIRECTED_JAR_URL))
+								 .willReturn(WireMock.ok().withHeader("Content-Type", "application/java-archive").withHeader("Last-Modified", "Wed, 21 Dec 2022 22:18:00 GMT")));
+
+		RestClient.Response response = underTest.head(TARGET_URL);
+
+		assertEquals(200, response.status());
+		assertEquals("Wed, 21 Dec 2022 22:18:00 GMT", response.header("last-modified").orElseThrow());
+		assertEquals(0, response.body().readAllBytes().length);
+		WireMock.verify(WireMock.headRequestedFor(WireMock.urlEqualTo(TARGET_URL))
+				.withHeader("Authorization", WireMock.equalTo("Bearer " + MOCK_GITHUB_TOKEN))
+				);
+	}
+
 	private static boolean isArchive(byte[] bytes) {
 	    int fileSignature = ByteBuffer.wrap(bytes).getInt();
 	    return fileSignature == 0x504B0304 || fileSignature == 0x504B0506 || fileSignature == 0x504B0708;
@@ -0,0 +1,62 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+
+class RestClientTest {
+	private static final String PATH = "/org/repo/group/artifact/1.0/artifact-1.0.jar";
+	private static final String CONTENTS = "artifact 1.0";
+
+	@Test
+	void testHead_Default() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		RestClient underTest = new RestClient() {
+			@Override
+			public InputStream get(String path) {
+				throw new AssertionError("Expected get(path, headers) to be used.");
+			}
+
+			@Override
+			public Response get(String path, Map<String, String> headers) {
+				return new Response(200, Map.of(), new ByteArrayInputStream(CONTENTS.getBytes(StandardCharsets.UTF_8)) {
+					@Override
+					public void close() {
+						closed.set(true);
+					}
+				});
+			}
+		};
+
+		Response response = underTest.head(PATH);
+
+		assertEquals(200, response.status());
+		assertEquals(0, response.body().readAllBytes().length);
+		assertTrue(closed.get(), "Expected the GET body to be closed.");
+	}
+
+	@Test
+	void testHead_DefaultUsesGetWithHeaders() throws Exception {
+		RestClient underTest = new RestClient() {
+			@Override
+			public InputStream get(String path) {
+				throw new AssertionError("Expected get(path, headers) to be used.");
+			}
+
+			@Override
+			public Response get(String path, Map<String, String> headers) {
+				return new Response(404, Map.of(), InputStream.nullInputStream());
+			}
+		};
+
+		assertEquals(404, underTest.head(PATH).status());
+	}
+}
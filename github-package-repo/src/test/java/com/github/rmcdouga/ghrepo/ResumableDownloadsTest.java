@@ -0,0 +1,151 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.rmcdouga.ghrepo.ChecksumAlgorithm.ChecksumException;
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableDownloadsTest {
+	private static final String PATH = "/org/repo/group/artifact/1.0/artifact-1.0.zip";
+	private static final String CONTENTS = "0123456789abcdefghij";
+	private static final String ETAG = "\"etag-1\"";
+	private static final int FAIL_AFTER = 8;
+
+	@Mock RestClient mockRestClient;
+	@TempDir Path tempDir;
+
+	@Test
+	void testCopy() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenReturn(response(200, CONTENTS, Map.of("ETag", List.of(ETAG))));
+		Path target = tempDir.resolve("artifact-1.0.zip");
+
+		assertEquals(CONTENTS.length(), ResumableDownloads.copy(mockRestClient, PATH, target));
+
+		assertEquals(CONTENTS, Files.readString(target));
+		assertNoSidecars();
+	}
+
+	@Test
+	void testCopy_ResumesAfterFailure() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenReturn(failingResponse(Map.of("ETag", List.of(ETAG))));
+		Mockito.when(mockRestClient.get(PATH, Map.of("Range", "bytes=%d-".formatted(FAIL_AFTER), "If-Range", ETAG)))
+			   .thenReturn(response(206, CONTENTS.substring(FAIL_AFTER), Map.of("Content-Range", List.of("bytes %d-%d/%d".formatted(FAIL_AFTER, CONTENTS.length() - 1, CONTENTS.length())))));
+		Path target = tempDir.resolve("artifact-1.0.zip");
+
+		assertThrows(IOException.class, ()->ResumableDownloads.copy(mockRestClient, PATH, target));
+		assertFalse(Files.exists(target));
+		assertEquals(FAIL_AFTER, Files.size(tempDir.resolve("artifact-1.0.zip" + ResumableDownloads.PART_SUFFIX)));
+
+		assertEquals(CONTENTS.length(), ResumableDownloads.copy(mockRestClient, PATH, target));
+
+		assertEquals(CONTENTS, Files.readString(target));
+		assertNoSidecars();
+	}
+
+	@Test
+	void testCopy_RemoteChanged() throws Exception {
+		String newContents = "The artifact has changed";
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenReturn(failingResponse(Map.of("ETag", List.of(ETAG))));
+		Mockito.when(mockRestClient.get(PATH, Map.of("Range", "bytes=%d-".formatted(FAIL_AFTER), "If-Range", ETAG)))
+			   .thenReturn(response(200, newContents, Map.of("ETag", List.of("\"etag-2\""))));
+		Path target = tempDir.resolve("artifact-1.0.zip");
+
+		assertThrows(IOException.class, ()->ResumableDownloads.copy(mockRestClient, PATH, target));
+		assertEquals(newContents.length(), ResumableDownloads.copy(mockRestClient, PATH, target));
+
+		assertEquals(newContents, Files.readString(target));
+	}
+
+	@Test
+	void testCopy_Verified_AfterResume() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenReturn(failingResponse(Map.of("ETag", List.of(ETAG))));
+		Mockito.when(mockRestClient.get(PATH, Map.of("Range", "bytes=%d-".formatted(FAIL_AFTER), "If-Range", ETAG)))
+			   .thenReturn(response(206, CONTENTS.substring(FAIL_AFTER), Map.of("Content-Range", List.of("bytes %d-%d/%d".formatted(FAIL_AFTER, CONTENTS.length() - 1, CONTENTS.length())))));
+		Path target = tempDir.resolve("artifact-1.0.zip");
+
+		assertThrows(IOException.class, ()->ResumableDownloads.copy(mockRestClient, PATH, target, verifier(sha1(CONTENTS))));
+		assertEquals(CONTENTS.length(), ResumableDownloads.copy(mockRestClient, PATH, target, verifier(sha1(CONTENTS))));
+
+		assertEquals(CONTENTS, Files.readString(target));
+		assertNoSidecars();
+	}
+
+	@Test
+	void testCopy_ChecksumMismatch() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenReturn(response(200, CONTENTS, Map.of("ETag", List.of(ETAG))));
+		Path target = tempDir.resolve("artifact-1.0.zip");
+
+		assertThrows(ChecksumException.class, ()->ResumableDownloads.copy(mockRestClient, PATH, target, verifier(sha1("Something else"))));
+
+		assertFalse(Files.exists(target));
+		try (var files = Files.list(tempDir)) {
+			assertEquals(0, files.count(), "Expected the .part files to be removed.");
+		}
+	}
+
+	@Test
+	void testCopy_TargetExists() throws Exception {
+		Path target = Files.writeString(tempDir.resolve("artifact-1.0.zip"), "Existing Contents");
+
+		assertThrows(FileAlreadyExistsException.class, ()->ResumableDownloads.copy(mockRestClient, PATH, target));
+
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenReturn(response(200, CONTENTS, Map.of()));
+		ResumableDownloads.copy(mockRestClient, PATH, target, StandardCopyOption.REPLACE_EXISTING);
+		assertEquals(CONTENTS, Files.readString(target));
+	}
+
+	private void assertNoSidecars() throws IOException {
+		try (var files = Files.list(tempDir)) {
+			assertEquals(1, files.count(), "Expected no .part files to be left behind.");
+		}
+	}
+
+	private static ChecksumVerifier verifier(String sha1) {
+		return new ChecksumVerifier(ChecksumAlgorithm.SHA1, PATH, CompletableFuture.completedFuture(sha1));
+	}
+
+	private static String sha1(String contents) {
+		return HexFormat.of().formatHex(ChecksumAlgorithm.SHA1.newDigest().digest(contents.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static Response response(int status, String body, Map<String, List<String>> headers) {
+		return new Response(status, headers, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	// Returns the first FAIL_AFTER bytes and then fails, like a connection reset.
+	private static Response failingResponse(Map<String, List<String>> headers) {
+		InputStream body = new InputStream() {
+			private int position = 0;
+
+			@Override
+			public int read() throws IOException {
+				if (position >= FAIL_AFTER) {
+					throw new IOException("Connection reset");
+				}
+				return CONTENTS.charAt(position++);
+			}
+		};
+		return new Response(200, headers, body);
+	}
+}
@@ -0,0 +1,164 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+
+@ExtendWith(MockitoExtension.class)
+class RetryingRestClientTest {
+	private static final String PATH = "/org/repo/group/artifact/1.0/artifact-1.0.jar";
+
+	@Mock RestClient mockRestClient;
+	private final List<Long> sleeps = new CopyOnWriteArrayList<>();
+
+	@Test
+	void testGet_RetriesUnavailable() throws Exception {
+		AtomicBoolean firstClosed = new AtomicBoolean();
+		Mockito.when(mockRestClient.get(PATH, Map.of()))
+			   .thenReturn(new Response(503, Map.of("Retry-After", List.of("2")), closeTracking(firstClosed)))
+			   .thenReturn(response(502))
+			   .thenReturn(response(200));
+
+		Response result = retrying().get(PATH, Map.of());
+
+		assertEquals(200, result.status());
+		assertTrue(firstClosed.get(), "Expected the failed response to be closed.");
+		assertEquals(2, sleeps.size());
+		assertEquals(2000, sleeps.get(0), "Expected Retry-After to be honoured.");
+		Mockito.verify(mockRestClient, Mockito.times(3)).get(PATH, Map.of());
+	}
+
+	@Test
+	void testGet_LongRetryAfter() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of()))
+			   .thenReturn(new Response(429, Map.of("Retry-After", List.of("30")), InputStream.nullInputStream()))
+			   .thenReturn(response(200));
+
+		assertEquals(200, retrying().get(PATH, Map.of()).status());
+
+		assertEquals(List.of(30_000L), sleeps, "Expected Retry-After not to be limited by the maximum backoff.");
+	}
+
+	@Test
+	void testGet_RetryAfterTooLong() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of()))
+			   .thenReturn(new Response(503, Map.of("Retry-After", List.of("30")), InputStream.nullInputStream()));
+
+		Response result = retrying().maxRetryAfter(Duration.ofSeconds(20)).get(PATH, Map.of());
+
+		assertEquals(503, result.status());
+		assertEquals("30", result.header("Retry-After").orElseThrow());
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(PATH, Map.of());
+		assertEquals(0, sleeps.size());
+	}
+
+	@Test
+	void testGet_GivesUp() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenAnswer(i->response(500));
+		InMemoryMetrics metrics = new InMemoryMetrics();
+
+		assertEquals(500, retrying().listener(metrics).get(PATH, Map.of()).status());
+		assertEquals(2, metrics.retries());
+
+		Mockito.verify(mockRestClient, Mockito.times(3)).get(PATH, Map.of());
+		assertEquals(2, sleeps.size());
+	}
+
+	@Test
+	void testGet_NotRetryable() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenAnswer(i->response(404));
+
+		assertEquals(404, retrying().get(PATH, Map.of()).status());
+
+		Mockito.verify(mockRestClient, Mockito.times(1)).get(PATH, Map.of());
+		assertEquals(0, sleeps.size());
+	}
+
+	@Test
+	void testGet_RetriesExceptions() throws Exception {
+		UncheckedIOException expected = new UncheckedIOException(new IOException("Connection reset"));
+		InputStream expectedStream = InputStream.nullInputStream();
+		Mockito.when(mockRestClient.get(PATH)).thenThrow(expected).thenReturn(expectedStream);
+
+		assertSame(expectedStream, retrying().get(PATH));
+
+		Mockito.when(mockRestClient.head(PATH)).thenThrow(expected);
+		assertSame(expected, assertThrows(UncheckedIOException.class, ()->retrying().maxAttempts(2).head(PATH)));
+	}
+
+	@Test
+	void testBackoff_Bounded() throws Exception {
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenAnswer(i->response(503));
+
+		retrying().maxAttempts(6).backoff(Duration.ofMillis(100), Duration.ofMillis(300)).get(PATH, Map.of());
+
+		assertEquals(5, sleeps.size());
+		assertTrue(sleeps.stream().allMatch(s->s >= 0 && s <= 300), "Expected jittered delays no longer than the maximum but were " + sleeps);
+	}
+
+	@Test
+	void testHedging() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch releaseSlow = new CountDownLatch(1);
+		AtomicBoolean slowClosed = new AtomicBoolean();
+		Mockito.when(mockRestClient.get(PATH, Map.of())).thenAnswer(i->{
+			if (calls.incrementAndGet() == 21) {
+				// The first request after the warm up is stuck until the hedged request has completed.
+				releaseSlow.await(10, TimeUnit.SECONDS);
+				return new Response(200, Map.of(), closeTracking(slowClosed));
+			}
+			return response(200);
+		});
+		RestClient underTest = retrying().hedging(true);
+		for (int i = 0; i < 20; i++) {
+			underTest.get(PATH, Map.of());		// Build up a latency history
+		}
+
+		Response result = underTest.get(PATH, Map.of());
+		releaseSlow.countDown();
+
+		assertEquals("OK", new String(result.body().readAllBytes(), StandardCharsets.UTF_8));
+		assertEquals(22, calls.get());
+		for (int i = 0; i < 100 && !slowClosed.get(); i++) {
+			Thread.sleep(20);
+		}
+		assertTrue(slowClosed.get(), "Expected the losing response to be closed.");
+	}
+
+	private RetryingRestClient retrying() {
+		return RetryingRestClient.wrap(mockRestClient).sleeper(sleeps::add);
+	}
+
+	private static Response response(int status) {
+		return new Response(status, Map.of(), new ByteArrayInputStream("OK".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static InputStream closeTracking(AtomicBoolean closed) {
+		return new ByteArrayInputStream("Slow".getBytes(StandardCharsets.UTF_8)) {
+			@Override
+			public void close() throws IOException {
+				closed.set(true);
+			}
+		};
+	}
+}
@@ -0,0 +1,183 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.rmcdouga.ghrepo.MavenMetadata.Snapshot;
+import com.github.rmcdouga.ghrepo.RestClient.Response;
+import com.github.rmcdouga.ghrepo.SnapshotWatcher.Build;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotWatcherTest {
+	private static final String SNAPSHOT_DIR = "/org/repo/com/example/lib/1.1-SNAPSHOT/";
+	private static final String METADATA_LOCATION = SNAPSHOT_DIR + "maven-metadata.xml";
+	private static final ArtifactCoordinates ARTIFACT = ArtifactCoordinates.of("org", "repo", "com.example", "lib", "1.1-SNAPSHOT");
+	private static final Duration INTERVAL = Duration.ofMillis(20);
+	private static final long TIMEOUT_MS = 5_000;
+
+	@Mock RestClient mockRestClient;
+	private final AtomicInteger buildNumber = new AtomicInteger(1);
+	private final AtomicInteger failuresToReturn = new AtomicInteger(0);
+	private final BlockingQueue<Build> builds = new LinkedBlockingQueue<>();
+	private SnapshotWatcher underTest;
+
+	@BeforeEach
+	void setUp() {
+		// The current build's metadata, or a 304 if the request has the current build's ETag
+		Mockito.lenient().when(mockRestClient.get(Mockito.eq(METADATA_LOCATION), Mockito.anyMap())).thenAnswer(i->{
+			if (failuresToReturn.getAndUpdate(n->Math.max(0, n - 1)) > 0) {
+				return new Response(500, Map.of(), InputStream.nullInputStream());
+			}
+			String etag = "\"build-%d\"".formatted(buildNumber.get());
+			if (etag.equals(i.<Map<String, String>>getArgument(1).get("If-None-Match"))) {
+				return new Response(304, Map.of(), InputStream.nullInputStream());
+			}
+			return response(Map.of("ETag", List.of(etag)), metadata(buildNumber.get()));
+		});
+		underTest = new GithubPackages(mockRestClient).snapshotWatcher(INTERVAL);
+	}
+
+	@AfterEach
+	void tearDown() {
+		underTest.close();
+	}
+
+	@DisplayName("The listener is called for the current build and then only when a new build is deployed.")
+	@Test
+	void testWatch_NewBuilds() throws Exception {
+		SnapshotWatcher.Watch watch = underTest.watch(ARTIFACT, builds::add);
+
+		Build first = builds.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		assertEquals(new Build(ARTIFACT, new Snapshot("20240101.120000", 1), "lib-1.1-20240101.120000-1.jar"), first);
+		// Unchanged, so the next polls are conditional and don't call the listener
+		Mockito.verify(mockRestClient, Mockito.timeout(TIMEOUT_MS).atLeast(3)).get(METADATA_LOCATION, Map.of("If-None-Match", "\"build-1\""));
+		assertTrue(builds.isEmpty());
+
+		buildNumber.set(2);
+		Build second = builds.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		assertEquals(new Snapshot("20240101.120000", 2), second.snapshot());
+		assertEquals("lib-1.1-20240101.120000-2.jar", second.fileName());
+		assertEquals(second, watch.lastBuild().orElseThrow());
+
+		watch.close();
+		assertNull(builds.poll(10 * INTERVAL.toMillis(), TimeUnit.MILLISECONDS));
+	}
+
+	@DisplayName("Each new build is downloaded to the target before the listener is called.")
+	@Test
+	void testWatch_DownloadsToTarget(@TempDir Path targetDir) throws Exception {
+		Mockito.when(mockRestClient.get(Mockito.startsWith(SNAPSHOT_DIR + "lib-1.1-"), Mockito.anyMap())).thenAnswer(i->{
+			String path = i.getArgument(0, String.class);
+			return response(Map.of(), "contents of " + path.substring(SNAPSHOT_DIR.length()));
+		});
+		Path target = targetDir.resolve("lib.jar");
+		BlockingQueue<String> contents = new LinkedBlockingQueue<>();
+		underTest.watch(ARTIFACT, target, build->contents.add(Files.readString(target)));
+
+		assertEquals("contents of lib-1.1-20240101.120000-1.jar", contents.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		buildNumber.set(2);
+		assertEquals("contents of lib-1.1-20240101.120000-2.jar", contents.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+		try (var files = Files.list(targetDir)) {
+			assertEquals(List.of(target), files.toList(), "Expected no temporary files to be left behind.");
+		}
+	}
+
+	@DisplayName("Failed polls are reported to the listener and retried.")
+	@Test
+	void testWatch_FailureRetried() throws Exception {
+		failuresToReturn.set(2);
+		BlockingQueue<Throwable> failures = new LinkedBlockingQueue<>();
+		underTest.watch(ARTIFACT, new SnapshotWatcher.Listener() {
+			@Override
+			public void newBuild(Build build) {
+				builds.add(build);
+			}
+
+			@Override
+			public void failed(ArtifactCoordinates artifact, Throwable failure) {
+				failures.add(failure);
+			}
+		});
+
+		assertEquals(1, builds.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS).snapshot().buildNumber());
+		assertEquals(2, failures.size());
+		assertEquals(500, assertInstanceOf(RestClient.RestClientException.class, failures.peek()).status());
+	}
+
+	@DisplayName("lastBuild() is the build the listener is being called for, and a build the listener fails on is retried.")
+	@Test
+	void testWatch_ListenerFailureRetried() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		BlockingQueue<Throwable> failures = new LinkedBlockingQueue<>();
+		SnapshotWatcher.Watch[] watch = new SnapshotWatcher.Watch[1];
+		watch[0] = underTest.watch(ARTIFACT, new SnapshotWatcher.Listener() {
+			@Override
+			public void newBuild(Build build) throws IOException {
+				while (watch[0] == null) {
+					Thread.onSpinWait();
+				}
+				assertEquals(Optional.of(build), watch[0].lastBuild());
+				if (calls.incrementAndGet() == 1) {
+					throw new IOException("Expected Exception");
+				}
+				builds.add(build);
+			}
+
+			@Override
+			public void failed(ArtifactCoordinates artifact, Throwable failure) {
+				failures.add(failure);
+			}
+		});
+
+		assertEquals(1, builds.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS).snapshot().buildNumber());
+		assertEquals(2, calls.get());
+		assertEquals("Expected Exception", failures.poll().getMessage());
+	}
+
+	@Test
+	void testWatch_Release() {
+		assertThrows(IllegalArgumentException.class, ()->underTest.watch(ArtifactCoordinates.of("org", "repo", "com.example", "lib", "1.0"), builds::add));
+	}
+
+	private static Response response(Map<String, List<String>> headers, String body) {
+		return new Response(200, headers, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String metadata(int buildNumber) {
+		return """
+				<metadata>
+					<version>1.1-SNAPSHOT</version>
+					<versioning>
+						<snapshot><timestamp>20240101.120000</timestamp><buildNumber>%d</buildNumber></snapshot>
+						<snapshotVersions>
+							<snapshotVersion><extension>jar</extension><value>1.1-20240101.120000-%d</value></snapshotVersion>
+						</snapshotVersions>
+					</versioning>
+				</metadata>
+				""".formatted(buildNumber, buildNumber);
+	}
+}
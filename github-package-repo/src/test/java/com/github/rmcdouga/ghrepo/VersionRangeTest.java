@@ -0,0 +1,71 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class VersionRangeTest {
+	private static final List<String> VERSIONS = List.of("0.9", "1.0", "1.1", "1.5-SNAPSHOT", "1.5", "2.0", "2.1-SNAPSHOT");
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', value = {
+		"[1.0,2.0)     | 1.5",
+		"[1.0,2.0]     | 2.0",
+		"(,1.0]        | 1.0",
+		"(,1.0)        | 0.9",
+		"[1.1,)        | 2.0",
+		"[1.0]         | 1.0",
+		"(1.0,1.1]     | 1.1",
+		"[0.9],[1.1]   | 1.1",
+		"(,1.0],[1.2,1.9] | 1.5",
+		"[1.5-SNAPSHOT,2.0) | 1.5",
+		"[2.0,2.1-SNAPSHOT] | 2.1-SNAPSHOT",
+		"[1.0-SNAPSHOT,3.0) | 2.1-SNAPSHOT",
+	})
+	void testNewest(String spec, String expected) {
+		assertEquals(Optional.of(expected), VersionRange.parse(spec).newest(VERSIONS));
+	}
+
+	@DisplayName("A SNAPSHOT lower bound allows SNAPSHOTs, not just a SNAPSHOT upper bound.")
+	@Test
+	void testNewest_SnapshotLowerBound() {
+		assertEquals(Optional.of("1.1-SNAPSHOT"), VersionRange.parse("[1.0-SNAPSHOT,2.0)").newest(List.of("1.0-SNAPSHOT", "1.0", "1.1-SNAPSHOT")));
+		assertEquals(Optional.of("1.0"), VersionRange.parse("[1.0,2.0)").newest(List.of("1.0-SNAPSHOT", "1.0", "1.1-SNAPSHOT")));
+	}
+
+	@Test
+	void testNewest_NoMatch() {
+		assertEquals(Optional.empty(), VersionRange.parse("[3.0,)").newest(VERSIONS));
+		assertEquals(Optional.empty(), VersionRange.parse("(1.0,1.1)").newest(VERSIONS));
+	}
+
+	@Test
+	void testContains() {
+		VersionRange underTest = VersionRange.parse("[1.0,2.0)");
+
+		assertTrue(underTest.contains("1.0"));
+		assertTrue(underTest.contains("1.9.9"));
+		assertFalse(underTest.contains("2.0"));
+		assertFalse(underTest.contains("0.9"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"1.0", "LATEST", "RELEASE", "1.0-SNAPSHOT"})
+	void testIsRange_NotARange(String spec) {
+		assertFalse(VersionRange.isRange(spec));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"[1.0", "[1.0,2.0", "[2.0,1.0]", "(1.0)", "[1.0,2.0,3.0]", "[1.0],", "[]"})
+	void testParse_Invalid(String spec) {
+		IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, ()->VersionRange.parse(spec));
+		assertEquals("Invalid version range '%s'.".formatted(spec), ex.getMessage());
+	}
+}
@@ -65,4 +65,29 @@ class XmlDocumentTest {
 				);
 	}
 
+	@Test
+	void testGetString_Repeated() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(JOB_LOG_DOCUMENT_CONTENTS, underTest.getString("/ToPdfAResult/JobLog"));
+			assertEquals(2, underTest.getStrings("/ToPdfAResult/PdfADocument").size());
+		}
+	}
+
+	@Test
+	void testGetString_SameExpressionDifferentNamespaces() throws Exception {
+		String expression = "/ns:root/ns:value/text()";
+		XmlDocument doc1 = XmlDocument.builder("<root xmlns=\"urn:one\"><value>one</value></root>".getBytes(StandardCharsets.UTF_8)).defaultNsPrefix("ns").build();
+		XmlDocument doc2 = XmlDocument.builder("<root xmlns=\"urn:two\"><value>two</value></root>".getBytes(StandardCharsets.UTF_8)).defaultNsPrefix("ns").build();
+
+		assertEquals("one", doc1.getString(expression));
+		assertEquals("two", doc2.getString(expression));
+		assertEquals("one", doc1.getString(expression));
+	}
+
+	@Test
+	void testBuild_InvalidXml() throws Exception {
+		assertThrows(XmlDocumentException.class, ()->XmlDocument.create("<ToPdfAResult>".getBytes(StandardCharsets.UTF_8)));
+		// The pooled builder must still be usable after a failure.
+		assertEquals("value", XmlDocument.create("<root>value</root>".getBytes(StandardCharsets.UTF_8)).getString("/root"));
+	}
 }
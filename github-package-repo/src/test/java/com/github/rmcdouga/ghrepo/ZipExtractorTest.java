@@ -0,0 +1,115 @@
+package com.github.rmcdouga.ghrepo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ZipExtractorTest {
+	@Mock RestClient mockRestClient;
+	@TempDir Path tempDir;
+
+	@DisplayName("Small entries (written in parallel) and large ones (written as they are read) are all extracted, including into directories that have no entry of their own.")
+	@Test
+	void testExtract() throws Exception {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		entries.put("META-INF/", new byte[0]);
+		entries.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8));
+		for (int i = 0; i < 20; i++) {
+			entries.put("content/page%d.html".formatted(i), randomBytes(10_000 + i));
+		}
+		entries.put("content/assets/large.bin", randomBytes(3 * 1024 * 1024));
+		entries.put("empty.txt", new byte[0]);
+		Path dir = tempDir.resolve("extracted");
+
+		List<Path> result = extract(zip(entries), dir, name->true);
+
+		List<String> expectedFiles = entries.keySet().stream().filter(name->!name.endsWith("/")).toList();
+		assertEquals(expectedFiles.stream().map(dir::resolve).toList(), result);
+		for (String name : expectedFiles) {
+			assertArrayEquals(entries.get(name), Files.readAllBytes(dir.resolve(name)), name);
+		}
+	}
+
+	@Test
+	void testExtract_Filter() throws Exception {
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		entries.put("jcr_root/apps/page.html", "page".getBytes(StandardCharsets.UTF_8));
+		entries.put("META-INF/vault/filter.xml", "<filter/>".getBytes(StandardCharsets.UTF_8));
+
+		List<Path> result = extract(zip(entries), tempDir, name->name.startsWith("jcr_root/"));
+
+		assertEquals(List.of(tempDir.resolve("jcr_root/apps/page.html")), result);
+		assertFalse(Files.exists(tempDir.resolve("META-INF")));
+	}
+
+	@DisplayName("An entry that would be written outside the directory fails the extraction, even if the filter would skip it.")
+	@Test
+	void testExtract_PathTraversal() throws Exception {
+		Path dir = tempDir.resolve("extracted");
+		for (String name : List.of("../evil.txt", "content/../../evil.txt", tempDir.resolve("evil.txt").toString())) {
+			byte[] zip = zip(Map.of(name, "evil".getBytes(StandardCharsets.UTF_8)));
+
+			ZipException ex = assertThrows(ZipException.class, ()->extract(zip, dir, n->true));
+			assertTrue(ex.getMessage().contains(name), ex.getMessage());
+			assertThrows(ZipException.class, ()->extract(zip, dir, n->false));
+			assertFalse(Files.exists(tempDir.resolve("evil.txt")));
+		}
+	}
+
+	@DisplayName("The whole stream is read, so that a verifying stream gets to check its checksum.")
+	@Test
+	void testExtract_ReadsToEnd() throws Exception {
+		byte[] zip = zip(Map.of("a.txt", "a".getBytes(StandardCharsets.UTF_8)));
+		InputStream in = new ByteArrayInputStream(zip);
+
+		ZipExtractor.extract(in, tempDir, name->true, new GithubPackages(mockRestClient));
+
+		assertEquals(-1, in.read());
+	}
+
+	private List<Path> extract(byte[] zip, Path dir, Predicate<String> filter) throws IOException {
+		try (InputStream in = new ByteArrayInputStream(zip)) {
+			return ZipExtractor.extract(in, dir, filter, new GithubPackages(mockRestClient));
+		}
+	}
+
+	static byte[] zip(Map<String, byte[]> entries) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(out)) {
+			for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				zip.putNextEntry(new ZipEntry(entry.getKey()));
+				zip.write(entry.getValue());
+				zip.closeEntry();
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+}